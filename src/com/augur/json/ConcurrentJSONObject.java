@@ -0,0 +1,216 @@
+package com.augur.json;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * A ConcurrentJSONObject is a JSONObject that many threads may read and
+ * change at once, e.g. a live document of counters and stats updated from
+ * every request thread.  Its entries are kept in a ConcurrentHashMap, and its
+ * read-modify-write methods (increment(), add(), accumulate(), append(),
+ * putIfAbsent() and compute()) are atomic, where those of a JSONObject are a
+ * get and then a put, which lose updates when threads race.
+ * <p>
+ * A counter made by increment() or add() is a LongAdder, whose cells are
+ * striped across threads, so a hot key does not contend: once the counter
+ * exists, incrementing it never locks or writes to the map.  A LongAdder is
+ * a Number, so getLong() and getInt() return its sum, and it is written as a
+ * plain number; copying or freezing the object (see JSONObject.freeze())
+ * replaces it by its sum as a Long.  The array that accumulate() or append()
+ * makes is frozen, and each call puts a new version of it, so a thread
+ * reading the array never sees it change.  The versions share the elements
+ * (see JSONFrozenList), so each call costs amortized constant time, and
+ * holds the lock on its key only that long; but the array only grows, and
+ * holds its numbers boxed, so a key that is appended to without end should
+ * be replaced, or removed, from time to time.
+ * <p>
+ * Iterating the keys, or writing the text of the object, while other threads
+ * change it, sees some of their changes and not others, but never fails.
+ * Only the entries of this object are thread-safe: a nested value changed by
+ * many threads should be a ConcurrentJSONObject too, or frozen.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+public class ConcurrentJSONObject extends JSONObject
+{
+	private static final long serialVersionUID = 1;
+
+	/** The same map as the JSONObject's, for the atomic methods. */
+	private final JSONConcurrentMap map;
+
+
+	/**
+	 * Construct an empty ConcurrentJSONObject.
+	 */
+	public ConcurrentJSONObject()
+	{
+		this(new JSONConcurrentMap());
+	}
+
+
+	private ConcurrentJSONObject(JSONConcurrentMap map)
+	{
+		super(map);
+		this.map = map;
+	}
+
+
+	/**
+	 * Construct a ConcurrentJSONObject from a source JSON text.
+	 * @param source A string beginning with '{' and ending with '}'.
+	 * @throws JSONException If there is a syntax error.
+	 */
+	public ConcurrentJSONObject(String source) throws JSONException
+	{
+		this();
+		parse(source);
+	}
+
+
+	/** @return The value, after testValidity(). */
+	private static Object valid(Object value)
+	{
+		testValidity(value);
+		return value;
+	}
+
+
+	private static String checkKey(String key)
+	{
+		if (key == null) { throw new NullPointerException("Null key."); }
+		return key;
+	}
+
+
+	/**
+	 * Put a key/value pair, if the key is not already present; atomically.
+	 * @param key   A key string.
+	 * @param value An object which is the value, as for put().
+	 * @return The value the key already had, or null if it had none (and now has this value) or had null.
+	 * @throws NullPointerException If the key is null.
+	 * @throws IllegalArgumentException If the value is a non-finite number.
+	 */
+	public Object putIfAbsent(String key, Object value)
+	{
+		testValidity(value);
+		return this.map.putIfAbsent(checkKey(key), value);
+	}
+
+
+	/**
+	 * Compute the value of a key from its current value, atomically, as
+	 * ConcurrentHashMap.compute() does: other changes to the key wait until
+	 * the function returns, so it should be short, and must not change this
+	 * object itself.
+	 * @param key      A key string.
+	 * @param function Given the key and its current value (or null if it has
+	 *  none), returns its new value; or null to remove the key.
+	 * @return The new value, or null if the key was removed.
+	 * @throws NullPointerException If the key is null.
+	 * @throws IllegalArgumentException If the new value is a non-finite number.
+	 */
+	public Object compute(String key, BiFunction<String,Object,Object> function)
+	{
+		return this.map.compute(checkKey(key), (k, old) -> valid(function.apply(k, old)));
+	}
+
+
+	/**
+	 * Increment a counter, atomically.  If there is no such property, a
+	 * counter is created with a value of 1.  See add().
+	 * @param key A key string.
+	 * @return this.
+	 * @throws IllegalArgumentException If there is already a property with
+	 *  this name that is not a number.
+	 */
+	@Override public ConcurrentJSONObject increment(String key) throws IllegalArgumentException
+	{
+		return add(key, 1);
+	}
+
+
+	/**
+	 * Add to a counter, atomically.  If there is no such property, a
+	 * LongAdder counter is created with the value of the delta; if there is
+	 * an Integer or Long, it is replaced by a counter with its value plus the
+	 * delta; and if a Double or Float, by that number plus the delta, which
+	 * must be finite.
+	 * Adding to a counter that exists is lock-free, and does not write to the map.
+	 * @param key   A key string.
+	 * @param delta The amount to add.
+	 * @return this.
+	 * @throws IllegalArgumentException If there is already a property with
+	 *  this name that is not a number, or the sum is not finite.
+	 * @throws NullPointerException If the key is null.
+	 */
+	public ConcurrentJSONObject add(String key, long delta) throws IllegalArgumentException
+	{
+		Object value = this.map.get(checkKey(key));
+		if (!(value instanceof LongAdder))
+		{
+			value = this.map.compute(key, (k, old) ->
+			{
+				if (old == null || old instanceof LongAdder) { return old == null ? new LongAdder() : old; }
+				if (old instanceof Integer || old instanceof Long)
+				{
+					LongAdder counter = new LongAdder();
+					counter.add(((Number)old).longValue());
+					return counter;
+				}
+				if (old instanceof Double d) { return valid(d + delta); }
+				if (old instanceof Float f) { return valid(f + delta); }
+				throw new IllegalArgumentException("Unable to increment [" + quote(key) + "].");
+			});
+		}
+		if (value instanceof LongAdder counter) { counter.add(delta); }
+		return this;
+	}
+
+
+	/**
+	 * Accumulate values under a key, atomically, as JSONObject.accumulate()
+	 * does; but a JSONArray of accumulated values is frozen, and each value
+	 * accumulated puts a new version of it, which shares its elements.
+	 * @param key   A key string.
+	 * @param value An object to be accumulated under the key.
+	 * @return this.
+	 * @throws IllegalArgumentException If the value is an invalid number.
+	 * @throws NullPointerException If the key is null.
+	 */
+	@Override public ConcurrentJSONObject accumulate(String key, Object value)
+	{
+		testValidity(value);
+		if (value == null && this.map.putIfAbsent(checkKey(key), null) == null) { return this; } // compute() cannot put a null
+		this.map.compute(checkKey(key), (k, old) ->
+		{
+			if (old == null) { return value instanceof JSONArray ? new JSONArray().put(value).freeze() : value; }
+			if (old instanceof JSONArray a) { return a.appended(value); }
+			return new JSONArray().put(old).put(value).freeze();
+		});
+		return this;
+	}
+
+
+	/**
+	 * Append values to the array under a key, atomically, as
+	 * JSONObject.append() does; but the JSONArray is frozen, and each value
+	 * appended puts a new version of it, which shares its elements.
+	 * @param key   A key string.
+	 * @param value An object to be appended under the key.
+	 * @return this.
+	 * @throws IllegalArgumentException If the current value associated with the key is not a JSONArray.
+	 * @throws NullPointerException If the key is null.
+	 */
+	@Override public ConcurrentJSONObject append(String key, Object value)
+	{
+		testValidity(value);
+		this.map.compute(checkKey(key), (k, old) ->
+		{
+			if (old == null) { return new JSONArray().put(value).freeze(); }
+			if (old instanceof JSONArray a) { return a.appended(value); }
+			throw new IllegalArgumentException("Value in ["+quote(key)+"] is not a JSONArray: "+old.getClass());
+		});
+		return this;
+	}
+
+}
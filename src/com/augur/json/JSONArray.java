@@ -25,7 +25,6 @@ SOFTWARE.
 */
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Writer;
@@ -86,21 +85,26 @@ import java.util.Map;
  * @version 2010-12-28
  * @version 2025-04-18 Simplify '#' code, now supporting comment starting anywhere in line;
  *          replaced deprecated primitive param constructors with valueOf() equivalents
+ * @version 2026-10-17 Hold the elements of an array of numbers as primitives
+ * @version 2026-10-17 Add freeze() and with(), for immutable arrays that share their unchanged elements
  */
 public class JSONArray {
 
 
     /**
-     * The arrayList where the JSONArray's properties are kept.
+     * The list where the JSONArray's properties are kept: an ArrayList; a
+     * JSONNumberList, which an empty array switches to when a number is
+     * added, and which holds numbers as primitives; a JSONLazyList for a
+     * JSONArray made by newLazy(); or a JSONFrozenList for a frozen one.
      */
-    private ArrayList myArrayList;
+    private List<Object> myArrayList;
 
 
     /**
      * Construct an empty JSONArray.
      */
     public JSONArray() {
-        this.myArrayList = new ArrayList();
+        this.myArrayList = new ArrayList<>();
     }
 
     /**
@@ -110,34 +114,200 @@ public class JSONArray {
      */
     public JSONArray(JSONTokener x) throws JSONException {
         this();
+        parse(x);
+    }
+
+
+    /**
+     * Parse a JSON array text from a JSONTokener, appending its elements to
+     * this JSONArray; e.g. to reuse one JSONArray, after clear(), for many texts.
+     * @param x A JSONTokener positioned at the array
+     * @throws JSONException If there is a syntax error.
+     */
+    public final void parse(JSONTokener x) throws JSONException {
         char c;
         c = x.nextClean();  
         if (c != '[' && c>0) { throw x.syntaxError("A JSONArray must start with '[' but found '"+JSONTokener.toString(c)+"'"); }
-        c = x.nextClean();  
-        if (c != ']') {
-	        x.back();
-	        for (;;) {
+        x.enter();
+        try {
             c = x.nextClean();
-            switch (c) {
-              case 0: throw x.syntaxError("A JSONArray must end with ']', but reached EOF"); // EOF
-              case ',': { this.myArrayList.add(null); continue; }
-              default: { x.back(); this.myArrayList.add(x.nextValue()); }
-            }
-            switch (x.nextClean()) {
-            case ';':
-            case ',':
-                if (x.nextClean() == ']') {
-                    return;
-                }
+            if (c != ']') {
                 x.back();
-                break;
-            case ']':
-              return;
-            default:
-                throw x.syntaxError("Expected a ',' or ']' but found '"+JSONTokener.toString(c)+"'"); 
+                for (;;) {
+                    c = x.nextClean();
+                    switch (c) {
+                      case 0: throw x.syntaxError("A JSONArray must end with ']', but reached EOF"); // EOF
+                      case ',': {
+                        if (x.isStrict()) { throw x.syntaxError("Missing value"); }
+                        this.myArrayList.add(null); // an elided element
+                        continue;
+                      }
+                      default: { x.back(); put(x.nextValue()); }
+                    }
+                    if (x.nextSeparator(']') == ']') {
+                        return;
+                    }
+                }
             }
-	        }
+        } finally {
+            x.exit();
+        }
+    }
+
+
+    /**
+     * Make a completely independent deep copy of the given JSONArray.
+     * The nested JSONObjects and JSONArrays are copied in turn, but the
+     * immutable values within them (String, Number, Boolean, and null)
+     * are shared, as is any other object that has been put.
+     * @param src The JSONArray to be copied
+     */
+    public JSONArray(JSONArray src) {
+        JSONNumberList numbers = src.primitives();
+        if (numbers != null) {
+            this.myArrayList = numbers.copy();
+        } else {
+            int length = src.length();
+            ArrayList<Object> list = new ArrayList<>(Math.max(10, length));
+            for (int i = 0; i < length; i += 1) {
+                list.add(JSONObject.copy(src.myArrayList.get(i)));
+            }
+            this.myArrayList = list;
+        }
+    }
+
+
+    /**
+     * Construct a frozen JSONArray over a JSONFrozenList.
+     */
+    JSONArray(JSONFrozenList list) {
+        this.myArrayList = list;
+    }
+
+
+    /**
+     * Make a frozen copy of this JSONArray, which can never change: its
+     * nested objects and arrays are frozen too, and put() or remove() on any
+     * of them throws an UnsupportedOperationException.  New versions of it
+     * are made by with(), which shares every element but the one put.  A
+     * frozen JSONArray is thread-safe, as a frozen JSONObject is (see
+     * JSONObject.freeze()).
+     * @return A frozen copy of this JSONArray; or this one, if it is already frozen.
+     */
+    public JSONArray freeze() {
+        if (this.myArrayList instanceof JSONFrozenList) {
+            return this;
+        }
+        JSONNumberList numbers = primitives();
+        if (numbers != null) {
+            return new JSONArray(new JSONFrozenList(numbers.copy()));
+        }
+        int length = length();
+        ArrayList<Object> list = new ArrayList<>(length);
+        for (int i = 0; i < length; i += 1) {
+            list.add(JSONObject.freeze(this.myArrayList.get(i)));
+        }
+        return new JSONArray(new JSONFrozenList(list));
+    }
+
+
+    /**
+     * @return True if this JSONArray was made by freeze() or with(), so can never change.
+     */
+    public boolean isFrozen() {
+        return this.myArrayList instanceof JSONFrozenList;
+    }
+
+
+    /**
+     * Make a new version of this frozen JSONArray with an element put, as
+     * put(int, Object) would (freezing this one first, if it is not).  This
+     * JSONArray is not changed, and the new one shares every other element
+     * with it; only the list of them is copied, except that appending (at
+     * the length) to an array not held as primitive numbers takes amortized
+     * constant time.  A JSONObject or JSONArray value is frozen first.
+     * @param index The subscript, which may be the length, to append the value.
+     * @param value The value to put into the array.
+     * @return A frozen JSONArray with the element put.
+     * @throws JSONException If the index is negative or if the the value is
+     *  an invalid number.
+     */
+    public JSONArray with(int index, Object value) throws JSONException {
+        JSONObject.testValidity(value);
+        if (index < 0) {
+            throw new JSONException("JSONArray[" + index + "] not found.");
+        }
+        JSONArray frozen = freeze();
+        JSONFrozenList list = (JSONFrozenList)frozen.myArrayList;
+        JSONNumberList numbers = frozen.primitives();
+        if (index == list.size() && numbers == null && !(list.isEmpty() && JSONNumberList.holds(value))) {
+            return frozen.appended(value);
+        }
+        JSONArray copy = new JSONArray();
+        if (numbers != null) {
+            copy.myArrayList = numbers.copy(); // without boxing them
+        } else {
+            copy.putEach(list);
         }
+        copy.put(index, JSONObject.freeze(value));
+        return new JSONArray(new JSONFrozenList(copy.myArrayList));
+    }
+
+
+    /**
+     * Make a new version of this frozen JSONArray with an element appended,
+     * in amortized constant time (see JSONFrozenList), even where with()
+     * would copy the array to keep its numbers as primitives.
+     * @param value The value to append, which is frozen first.
+     * @return A frozen JSONArray with the element appended.
+     */
+    JSONArray appended(Object value) {
+        JSONObject.testValidity(value);
+        return new JSONArray(((JSONFrozenList)freeze().myArrayList).appended(JSONObject.freeze(value)));
+    }
+
+
+    /**
+     * Construct a lazy view of an array node of a JSONIndex.
+     */
+    JSONArray(JSONIndex index, int node) {
+        this.myArrayList = new JSONLazyList(index, node);
+    }
+
+
+    /**
+     * Make a lazy JSONArray from a source JSON text.  The text is scanned
+     * once, to check its syntax and index where each element starts and
+     * ends, but no element is decoded until it is first used, so a large
+     * array of which only a few elements are read is much cheaper than with
+     * the JSONArray(String) constructor.  Nested objects and arrays are lazy too.
+     * The first change to the array (or to a nested object or array) copies
+     * its elements into the usual ArrayList.
+     * <p>
+     * A lazy JSONArray is not thread-safe, even if it is only read, because
+     * reading an element decodes and keeps it.
+     * @param source A string that begins with '['
+     * @return A new lazy JSONArray.
+     * @throws JSONException If there is a syntax error.
+     */
+    public static JSONArray newLazy(String source) throws JSONException {
+        return newLazy(source, null);
+    }
+
+
+    /**
+     * Make a lazy JSONArray from a source JSON text, as newLazy(String) does,
+     * but parsed with the given options: in strict mode, and within the
+     * limits, such as the nesting depth, that they set.
+     * @param source A string that begins with '['
+     * @param options The JSONParserOptions, or null for the defaults
+     * @return A new lazy JSONArray.
+     * @throws JSONException If there is a syntax error, or a limit of the options is exceeded.
+     */
+    public static JSONArray newLazy(String source, JSONParserOptions options) throws JSONException {
+        JSONIndex index = new JSONIndex(source.toCharArray(), options);
+        if (index.kind(0) != JSONIndex.ARRAY) { throw new JSONException("A JSONArray text must begin with '['"); }
+        return new JSONArray(index, 0);
     }
 
 
@@ -158,7 +328,7 @@ public class JSONArray {
      * @param collection     A Collection.
      */
     public JSONArray(Collection collection) {
-		this.myArrayList = new ArrayList();
+		this.myArrayList = new ArrayList<>();
 		if (collection != null) {
 			Iterator iter = collection.iterator();
 			while (iter.hasNext()) {
@@ -201,6 +371,8 @@ public class JSONArray {
     
 		/**
 		 * Constructs the JSONArray by reading the given file.
+		 * A UTF-8 file is parsed directly from memory-mapped bytes (see JSONMappedTokener), and a file in
+		 * another Charset is streamed through a Reader.  Either way, the file is closed.
 		 * @param file The File to load the JSON text
 		 * @param charset The Charset to decode text from the binary stream
 		 * for example StandardCharsets.ISO_8859_1 (for HTTP POST) or StandardCharsets.UTF_8.
@@ -209,7 +381,8 @@ public class JSONArray {
 		 */
 		public JSONArray(File file, Charset charset) throws JSONException, IOException
 		{
-			this(new FileInputStream(file), charset);
+			this();
+			JSONMappedTokener.parse(file, charset, this::parse);
 		}
 
 		
@@ -262,6 +435,10 @@ public class JSONArray {
      *  be converted to a number.
      */
     public double getDouble(int index) throws JSONException {
+        JSONNumberList numbers = primitives();
+        if (numbers != null && index >= 0 && index < numbers.size()) {
+            return numbers.getDouble(index);
+        }
         Object object = get(index);
         try {
             return object instanceof Number ?
@@ -282,6 +459,10 @@ public class JSONArray {
      * @throws   JSONException If the key is not found or if the value is not a number.
      */
     public int getInt(int index) throws JSONException {
+        JSONNumberList numbers = primitives();
+        if (numbers != null && index >= 0 && index < numbers.size()) {
+            return numbers.getInt(index);
+        }
         Object object = get(index);
         try {
             return object instanceof Number ?
@@ -337,6 +518,10 @@ public class JSONArray {
      *  be converted to a number.
      */
     public long getLong(int index) throws JSONException {
+        JSONNumberList numbers = primitives();
+        if (numbers != null && index >= 0 && index < numbers.size()) {
+            return numbers.getLong(index);
+        }
         Object object = get(index);
         try {
             return object instanceof Number ?
@@ -378,12 +563,22 @@ public class JSONArray {
             if (i > 0) {
                 sb.append(separator);
             }
-            sb.append(JSONObject.valueToString(this.myArrayList.get(i)));
+            sb.append(valueToString(i));
         }
         return sb.toString();
     }
 
 
+    /**
+     * @return The JSON text of an element, without boxing a number held as a primitive.
+     */
+    private String valueToString(int index) throws JSONException {
+        JSONNumberList numbers = primitives();
+        return numbers != null ? numbers.numberToString(index) :
+            JSONObject.valueToString(this.myArrayList.get(index));
+    }
+
+
     /**
      * Get the number of elements in the JSONArray, included nulls.
      *
@@ -639,6 +834,10 @@ public class JSONArray {
      * @return this.
      */
     public JSONArray put(double value) throws JSONException {
+        JSONNumberList numbers = numbers();
+        if (numbers != null && Double.isFinite(value) && numbers.setDouble(numbers.size(), value)) {
+            return this;
+        }
         Double d = Double.valueOf(value);
         JSONObject.testValidity(d);
         put(d);
@@ -653,7 +852,10 @@ public class JSONArray {
      * @return this.
      */
     public JSONArray put(int value) {
-        put(Integer.valueOf(value));
+        JSONNumberList numbers = numbers();
+        if (numbers == null || !numbers.setInt(numbers.size(), value)) {
+            put(Integer.valueOf(value));
+        }
         return this;
     }
 
@@ -665,11 +867,109 @@ public class JSONArray {
      * @return this.
      */
     public JSONArray put(long value) {
-        put(Long.valueOf(value));
+        JSONNumberList numbers = numbers();
+        if (numbers == null || !numbers.setLong(numbers.size(), value)) {
+            put(Long.valueOf(value));
+        }
         return this;
     }
 
 
+    /**
+     * Append all the values of a double array, held as primitives where
+     * the array's other elements allow it (see toDoubleArray()).
+     *
+     * @param values The values.
+     * @throws JSONException if a value is not finite.
+     * @return this.
+     */
+    public JSONArray putAll(double[] values) throws JSONException {
+        reserve(values.length);
+        for (double value : values) {
+            put(value);
+        }
+        return this;
+    }
+
+
+    /**
+     * Append all the values of a long array, held as primitives where
+     * the array's other elements allow it (see toLongArray()).
+     *
+     * @param values The values.
+     * @return this.
+     */
+    public JSONArray putAll(long[] values) {
+        reserve(values.length);
+        for (long value : values) {
+            put(value);
+        }
+        return this;
+    }
+
+
+    /**
+     * Append all the values of an int array, held as primitives where
+     * the array's other elements allow it (see toIntArray()).
+     *
+     * @param values The values.
+     * @return this.
+     */
+    public JSONArray putAll(int[] values) {
+        reserve(values.length);
+        for (int value : values) {
+            put(value);
+        }
+        return this;
+    }
+
+
+    /**
+     * Make room to append the given count of elements.
+     */
+    private void reserve(int count) {
+        JSONNumberList numbers = numbers();
+        if (numbers != null) {
+            numbers.ensureCapacity(numbers.size() + count);
+        } else if (this.myArrayList instanceof ArrayList<Object> list) {
+            list.ensureCapacity(list.size() + count);
+        }
+    }
+
+
+    /**
+     * @return The JSONNumberList to add a number to, which an empty array
+     * switches to; or null if the elements are not all held as primitives.
+     */
+    private JSONNumberList numbers() {
+        if (this.myArrayList instanceof ArrayList && this.myArrayList.isEmpty()) {
+            this.myArrayList = new JSONNumberList();
+        }
+        return this.myArrayList instanceof JSONNumberList numbers && numbers.isPrimitive() ? numbers : null;
+    }
+
+
+    /**
+     * @return The JSONNumberList holding the elements as primitives, or
+     * null; for a frozen JSONArray, the one its JSONFrozenList wraps, which
+     * must only be read.
+     */
+    private JSONNumberList primitives() {
+        if (this.myArrayList instanceof JSONFrozenList frozen) {
+            return frozen.numbers();
+        }
+        return this.myArrayList instanceof JSONNumberList numbers && numbers.isPrimitive() ? numbers : null;
+    }
+
+
+    /**
+     * @return True if the elements are all numbers, held as primitives.
+     */
+    boolean isNumeric() {
+        return primitives() != null;
+    }
+
+
     /**
      * Put a value in the JSONArray, where the value will be a
      * JSONObject which is produced from a Map.
@@ -690,6 +990,9 @@ public class JSONArray {
      * @return this.
      */
     public final JSONArray put(Object value) {
+        if (JSONNumberList.holds(value)) {
+            numbers(); // an empty array switches to holding numbers as primitives
+        }
         this.myArrayList.add(value);
         return this;
     }
@@ -834,7 +1137,7 @@ public class JSONArray {
 		 * @return A copy of the underlying JSONArray as a List. 
 		 * @author Added by Augur on 24nov2016
 		 */ 
-		public List toList() { return new ArrayList(this.myArrayList); }
+		public List toList() { return new ArrayList<>(this.myArrayList); }
 
     /**
      * Produce a JSONObject by combining a JSONArray of names with the values
@@ -910,10 +1213,11 @@ public class JSONArray {
             return "[]";
         }
         int i;
+        JSONNumberList numbers = primitives();
         StringBuilder sb = new StringBuilder("[");
         if (len == 1) {
-            sb.append(JSONObject.valueToString(this.myArrayList.get(0),
-                    indentFactor, indent));
+            sb.append(numbers != null ? numbers.numberToString(0) :
+                JSONObject.valueToString(this.myArrayList.get(0), indentFactor, indent));
         } else {
             int newindent = indent + indentFactor;
             sb.append('\n');
@@ -924,8 +1228,8 @@ public class JSONArray {
                 for (int j = 0; j < newindent; j += 1) {
                     sb.append(' ');
                 }
-                sb.append(JSONObject.valueToString(this.myArrayList.get(i),
-                        indentFactor, newindent));
+                sb.append(numbers != null ? numbers.numberToString(i) :
+                    JSONObject.valueToString(this.myArrayList.get(i), indentFactor, newindent));
             }
             sb.append('\n');
             for (i = 0; i < indent; i += 1) {
@@ -937,9 +1241,68 @@ public class JSONArray {
     }
 
 
-    /** @return The actual backing ArrayList for this JSONArray */
-    public ArrayList toArrayList() { return myArrayList; }
+    /** @return The actual backing ArrayList for this JSONArray (for a lazy JSONArray, all elements are decoded into it first; for a frozen one, a copy of it) */
+    public ArrayList toArrayList() {
+        if (this.myArrayList instanceof JSONFrozenList) { return new ArrayList<>(this.myArrayList); }
+        if (this.myArrayList instanceof JSONLazyList) { this.myArrayList = ((JSONLazyList)this.myArrayList).inflate(); }
+        if (this.myArrayList instanceof JSONNumberList) { this.myArrayList = ((JSONNumberList)this.myArrayList).inflate(); }
+        return (ArrayList<Object>)this.myArrayList;
+    }
     
+    /**
+     * @return A new double[] of the elements, without boxing them if they are
+     *  held as primitives.
+     * @throws JSONException If an element is not a number.
+     */
+    public double[] toDoubleArray() throws JSONException {
+        JSONNumberList numbers = primitives();
+        if (numbers != null) {
+            return numbers.toDoubleArray();
+        }
+        double[] a = new double[length()];
+        for (int i = 0; i < a.length; i += 1) {
+            a[i] = getDouble(i);
+        }
+        return a;
+    }
+
+
+    /**
+     * @return A new long[] of the elements, without boxing them if they are
+     *  held as primitives.
+     * @throws JSONException If an element is not a number.
+     */
+    public long[] toLongArray() throws JSONException {
+        JSONNumberList numbers = primitives();
+        if (numbers != null) {
+            return numbers.toLongArray();
+        }
+        long[] a = new long[length()];
+        for (int i = 0; i < a.length; i += 1) {
+            a[i] = getLong(i);
+        }
+        return a;
+    }
+
+
+    /**
+     * @return A new int[] of the elements, without boxing them if they are
+     *  held as primitives.
+     * @throws JSONException If an element is not a number.
+     */
+    public int[] toIntArray() throws JSONException {
+        JSONNumberList numbers = primitives();
+        if (numbers != null) {
+            return numbers.toIntArray();
+        }
+        int[] a = new int[length()];
+        for (int i = 0; i < a.length; i += 1) {
+            a[i] = getInt(i);
+        }
+        return a;
+    }
+
+
     /** @return a new String[] containing the toString() result of each JSONArray member */
     public String[] toStringArray()
     {
@@ -963,6 +1326,7 @@ public class JSONArray {
         try {
             boolean b = false;
             int     len = length();
+            JSONNumberList numbers = primitives();
 
             writer.write('[');
 
@@ -970,6 +1334,11 @@ public class JSONArray {
                 if (b) {
                     writer.write(',');
                 }
+                if (numbers != null) {
+                    writer.write(numbers.numberToString(i));
+                    b = true;
+                    continue;
+                }
                 Object v = this.myArrayList.get(i);
                 if (v instanceof JSONObject) {
                     ((JSONObject)v).write(writer);
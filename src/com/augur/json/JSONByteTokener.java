@@ -0,0 +1,250 @@
+package com.augur.json;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A JSONTokener that reads UTF-8 encoded JSON text directly from a byte[] or
+ * ByteBuffer (heap or direct), without first decoding the whole text through
+ * an InputStreamReader.  ASCII bytes, which make up all of the JSON syntax,
+ * are used as-is; multi-byte sequences are decoded only where they occur,
+ * which is normally inside string literals.
+ * <p>
+ * The result is the same as parsing the decoded text, including the lenient
+ * syntax and '#' comments, so it can be passed to any constructor that takes
+ * a JSONTokener; for example:
+ * <pre>JSONObject jo = new JSONObject(new JSONByteTokener(body));</pre>
+ * A leading byte order mark is skipped.  Malformed UTF-8 sequences are
+ * decoded as U+FFFD, as an InputStreamReader would.
+ * <p>
+ * The bytes are not copied, so they must not be modified while the tokener is
+ * in use.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+public class JSONByteTokener extends JSONTokener
+{
+	private static final char REPLACEMENT = '\uFFFD';
+
+	/** The source bytes, or null when reading from a ByteBuffer without an accessible array. */
+	private final byte[] bytes;
+	/** The source buffer, used only when there is no accessible array. */
+	private final ByteBuffer direct;
+	/** The offset of the next unread byte. */
+	private int position;
+	/** The offset just past the last byte of the source text. */
+	private final int limit;
+	/** The low surrogate still owed after a 4-byte sequence was returned as its high surrogate; or 0. */
+	private char pending;
+
+	private int markPosition;
+	private char markPending;
+
+
+	/**
+	 * Construct a JSONByteTokener that reads the whole byte array.
+	 * @param bytes UTF-8 encoded JSON text
+	 */
+	public JSONByteTokener(byte[] bytes)
+	{
+		this(bytes, 0, bytes.length);
+	}
+
+
+	/**
+	 * Construct a JSONByteTokener that reads a range of the byte array.
+	 * @param bytes The array holding UTF-8 encoded JSON text
+	 * @param offset The index of the first byte of the text
+	 * @param length The number of bytes in the text
+	 * @throws IndexOutOfBoundsException if the range is not within the array.
+	 */
+	public JSONByteTokener(byte[] bytes, int offset, int length)
+	{
+		super();
+		if (offset < 0 || length < 0 || offset > bytes.length - length)
+		{
+			throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + "+" + length + ") out of bounds for length " + bytes.length);
+		}
+		this.bytes = bytes;
+		this.direct = null;
+		this.position = offset;
+		this.limit = offset + length;
+		skipByteOrderMark();
+	}
+
+
+	/**
+	 * Construct a JSONByteTokener that reads the remaining bytes of the buffer,
+	 * from its position to its limit.  The buffer's position is not changed.
+	 * @param buffer A heap or direct ByteBuffer holding UTF-8 encoded JSON text
+	 */
+	public JSONByteTokener(ByteBuffer buffer)
+	{
+		super();
+		if (buffer.hasArray())
+		{
+			this.bytes = buffer.array();
+			this.direct = null;
+			this.position = buffer.arrayOffset() + buffer.position();
+			this.limit = buffer.arrayOffset() + buffer.limit();
+		}
+		else
+		{
+			this.bytes = null;
+			this.direct = buffer;
+			this.position = buffer.position();
+			this.limit = buffer.limit();
+		}
+		skipByteOrderMark();
+	}
+
+
+	private void skipByteOrderMark()
+	{
+		if (this.limit - this.position >= 3 && byteAt(this.position) == (byte)0xEF &&
+			byteAt(this.position + 1) == (byte)0xBB && byteAt(this.position + 2) == (byte)0xBF)
+		{
+			this.position += 3;
+		}
+	}
+
+
+	private byte byteAt(int i)
+	{
+		return this.bytes != null ? this.bytes[i] : this.direct.get(i);
+	}
+
+
+	/**
+	 * Decode the next char from the UTF-8 bytes.
+	 * @return The next char, or -1 if past the end of the bytes.
+	 */
+	@Override
+	protected int read()
+	{
+		if (this.pending != 0)
+		{
+			char c = this.pending;
+			this.pending = 0;
+			return c;
+		}
+		if (this.position >= this.limit) { return -1; }
+		int b = byteAt(this.position++);
+		if (b >= 0) { return b; } // ASCII
+		return decode(b);
+	}
+
+
+	/**
+	 * Decode the rest of a multi-byte sequence whose lead byte has been consumed.
+	 * As an InputStreamReader does, a malformed sequence is replaced by one
+	 * U+FFFD for its longest start that could begin a well-formed sequence, or
+	 * for its lead byte alone; so an overlong form or a code point past U+10FFFF
+	 * is rejected by the range of its second byte.  An encoded surrogate is
+	 * replaced by one U+FFFD for all three of its bytes, again as the JDK does.
+	 * @param b The lead byte (negative, as a signed byte)
+	 * @return The decoded char; the high surrogate for a supplementary code point
+	 */
+	private int decode(int b)
+	{
+		int lead = b & 0xFF, need, cp, lower = 0x80, upper = 0xBF;
+		if (lead >= 0xC2 && lead <= 0xDF) { need = 1; cp = lead & 0x1F; }
+		else if (lead >= 0xE0 && lead <= 0xEF)
+		{
+			need = 2;
+			cp = lead & 0x0F;
+			if (lead == 0xE0) { lower = 0xA0; } // below is overlong
+		}
+		else if (lead >= 0xF0 && lead <= 0xF4)
+		{
+			need = 3;
+			cp = lead & 0x07;
+			if (lead == 0xF0) { lower = 0x90; } // below is overlong
+			else if (lead == 0xF4) { upper = 0x8F; } // above is past U+10FFFF
+		}
+		else { return REPLACEMENT; } // stray continuation byte, or invalid lead byte
+		for (int i = 0; i < need; i += 1)
+		{
+			if (this.position >= this.limit) { return REPLACEMENT; }
+			int cont = byteAt(this.position) & 0xFF;
+			if (cont < lower || cont > upper) { return REPLACEMENT; } // leave it to be read as the next lead byte
+			this.position += 1;
+			cp = (cp << 6) | (cont & 0x3F);
+			lower = 0x80;
+			upper = 0xBF;
+		}
+		if (cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE) { return REPLACEMENT; }
+		if (cp >= Character.MIN_SUPPLEMENTARY_CODE_POINT)
+		{
+			this.pending = Character.lowSurrogate(cp);
+			return Character.highSurrogate(cp);
+		}
+		return cp;
+	}
+
+
+	/**
+	 * Skip the plain ASCII bytes at the front of the rest of a quoted string in bulk.
+	 */
+	@Override
+	void skipPlain(char quote)
+	{
+		if (this.bytes == null || this.pending != 0) { return; }
+		int end = JSONScanner.INSTANCE.scanString(this.bytes, this.position, this.limit, quote);
+		if (end > this.position)
+		{
+			skipped(end - this.position, (char)this.bytes[end - 1]);
+			this.position = end;
+		}
+	}
+
+
+	/**
+	 * Read the plain ASCII bytes at the front of the rest of a quoted string in bulk.
+	 */
+	@Override
+	String nextPlain(char quote)
+	{
+		if (this.bytes == null || this.pending != 0) { return null; }
+		int start = this.position;
+		int end = JSONScanner.INSTANCE.scanString(this.bytes, start, this.limit, quote);
+		if (end == start) { return null; }
+		skipped(end - start, (char)this.bytes[end - 1]);
+		this.position = end;
+		return new String(this.bytes, start, end - start, StandardCharsets.ISO_8859_1); // ASCII, so each byte is its char
+	}
+
+
+	/**
+	 * Append the plain ASCII bytes at the front of the rest of a quoted string in bulk.
+	 */
+	@Override
+	void appendPlain(char quote, StringBuilder sb)
+	{
+		if (this.bytes == null || this.pending != 0) { return; }
+		int start = this.position;
+		int end = JSONScanner.INSTANCE.scanString(this.bytes, start, this.limit, quote);
+		if (end == start) { return; }
+		sb.ensureCapacity(sb.length() + end - start);
+		for (int i = start; i < end; i += 1) { sb.append((char)this.bytes[i]); }
+		skipped(end - start, (char)this.bytes[end - 1]);
+		this.position = end;
+	}
+
+
+	@Override
+	protected void mark()
+	{
+		this.markPosition = this.position;
+		this.markPending = this.pending;
+	}
+
+
+	@Override
+	protected void reset()
+	{
+		this.position = this.markPosition;
+		this.pending = this.markPending;
+	}
+
+}
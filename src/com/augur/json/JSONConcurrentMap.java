@@ -0,0 +1,99 @@
+package com.augur.json;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * A JSONConcurrentMap is the Map behind a ConcurrentJSONObject: a
+ * ConcurrentHashMap, which cannot hold a null, so a null value (as the parser
+ * makes for a JSON null) is held as a sentinel, and returned as null again.
+ * Iterating it while other threads change it sees some of their changes and
+ * not others, as a ConcurrentHashMap's iterators do.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONConcurrentMap extends AbstractMap<String,Object> implements Serializable
+{
+	private static final long serialVersionUID = 1;
+
+	/** The value held for null; an enum, so it is still the one after deserializing. */
+	private enum Null { VALUE }
+
+	private final ConcurrentHashMap<String,Object> map = new ConcurrentHashMap<>();
+
+
+	private static Object mask(Object value) { return value == null ? Null.VALUE : value; }
+
+
+	private static Object unmask(Object value) { return value == Null.VALUE ? null : value; }
+
+
+	@Override public int size() { return this.map.size(); }
+
+
+	@Override public boolean containsKey(Object key) { return key != null && this.map.containsKey(key); }
+
+
+	@Override public Object get(Object key) { return key == null ? null : unmask(this.map.get(key)); }
+
+
+	@Override public Object put(String key, Object value) { return unmask(this.map.put(key, mask(value))); }
+
+
+	@Override public Object remove(Object key) { return key == null ? null : unmask(this.map.remove(key)); }
+
+
+	@Override public void clear() { this.map.clear(); }
+
+
+	/**
+	 * Put the value, if the key is not already present; atomically.
+	 * @return The value the key already had; or null if it had none, or had null.
+	 */
+	@Override public Object putIfAbsent(String key, Object value) { return unmask(this.map.putIfAbsent(key, mask(value))); }
+
+
+	/**
+	 * Compute the value of the key atomically, as ConcurrentHashMap.compute() does.
+	 * @return The new value; or null if the function returned null, so the key was removed.
+	 */
+	@Override public Object compute(String key, BiFunction<? super String,? super Object,?> function)
+	{
+		return this.map.compute(key, (k, old) -> function.apply(k, unmask(old)));
+	}
+
+
+	@Override public Set<String> keySet() { return this.map.keySet(); }
+
+
+	@Override public Set<Entry<String,Object>> entrySet()
+	{
+		return new AbstractSet<Entry<String,Object>>()
+		{
+			@Override public int size() { return JSONConcurrentMap.this.map.size(); }
+
+			@Override public Iterator<Entry<String,Object>> iterator()
+			{
+				Iterator<Entry<String,Object>> i = JSONConcurrentMap.this.map.entrySet().iterator();
+				return new Iterator<Entry<String,Object>>()
+				{
+					@Override public boolean hasNext() { return i.hasNext(); }
+
+					@Override public Entry<String,Object> next()
+					{
+						Entry<String,Object> e = i.next();
+						return new SimpleImmutableEntry<>(e.getKey(), unmask(e.getValue()));
+					}
+
+					@Override public void remove() { i.remove(); }
+				};
+			}
+		};
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.augur.json;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A JSONFrozenList is the List behind a frozen JSONArray: a read-only view
+ * of a list that nothing else holds, so that it never changes.  Every change
+ * through the List interface throws an UnsupportedOperationException.  The
+ * elements are themselves frozen, so JSONArray.with() makes a new version by
+ * copying only this list of references, sharing every element with this one.
+ * <p>
+ * appended() makes a new version with one more element in amortized
+ * constant time, rather than by a copy: the versions it makes share an
+ * array with room to spare, each seeing only the first of its elements that
+ * it holds.  The first version to append to the shared array claims the next
+ * slot in it, and any other (an older version, or one racing it in another
+ * thread) copies the array instead, so no slot a version sees ever changes.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONFrozenList extends AbstractList<Object> implements RandomAccess
+{
+	/** The list with no elements. */
+	static final JSONFrozenList EMPTY = new JSONFrozenList(List.of());
+
+	/** An ArrayList or a JSONNumberList, which only this view refers to; or null if the elements are in the shared array. */
+	private final List<?> list;
+	/** The array that versions made by appended() share, or null. */
+	private final Object[] elements;
+	/** The number of elements of the shared array this version sees. */
+	private final int size;
+	/** The number of slots of the shared array that some version has claimed. */
+	private final AtomicInteger claimed;
+
+
+	/**
+	 * @param list A list that is never changed after, and that nothing else refers to
+	 */
+	JSONFrozenList(List<?> list)
+	{
+		this.list = list;
+		this.elements = null;
+		this.size = list.size();
+		this.claimed = null;
+	}
+
+
+	private JSONFrozenList(Object[] elements, int size, AtomicInteger claimed)
+	{
+		this.list = null;
+		this.elements = elements;
+		this.size = size;
+		this.claimed = claimed;
+	}
+
+
+	/**
+	 * @param value A frozen value
+	 * @return A new version with the value appended, which shares the elements of this one.
+	 */
+	JSONFrozenList appended(Object value)
+	{
+		Object[] elements = this.elements;
+		int size = this.size;
+		if (elements != null && size < elements.length && this.claimed.compareAndSet(size, size + 1))
+		{
+			elements[size] = value; // seen by the new version, through its final field
+			return new JSONFrozenList(elements, size + 1, this.claimed);
+		}
+		Object[] copy = new Object[Math.max(10, size + (size >> 1) + 1)];
+		if (elements != null) { System.arraycopy(elements, 0, copy, 0, size); }
+		else { for (int i = 0; i < size; i += 1) { copy[i] = this.list.get(i); } }
+		copy[size] = value;
+		return new JSONFrozenList(copy, size + 1, new AtomicInteger(size + 1));
+	}
+
+
+	/**
+	 * @return The JSONNumberList holding the elements as primitives, or null.
+	 */
+	JSONNumberList numbers()
+	{
+		return this.list instanceof JSONNumberList numbers && numbers.isPrimitive() ? numbers : null;
+	}
+
+
+	@Override public int size() { return this.size; }
+
+
+	@Override public Object get(int i)
+	{
+		if (this.list != null) { return this.list.get(i); }
+		return this.elements[Objects.checkIndex(i, this.size)];
+	}
+
+}
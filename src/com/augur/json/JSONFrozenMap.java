@@ -0,0 +1,326 @@
+package com.augur.json;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A JSONFrozenMap is the Map behind a frozen JSONObject: an immutable hash
+ * array mapped trie, from which with() and without() make new versions that
+ * share every node off the path to the changed key.  So changing one key of
+ * a large object copies a few small arrays (one per level, of at most 32
+ * entries each, and there are seldom more than 3 or 4 levels) rather than
+ * the whole map.  Every change through the Map interface throws an
+ * UnsupportedOperationException.
+ * <p>
+ * Each node has a bitmap of which of the 32 branches for the next 5 bits of
+ * a key's hash are present, and an array of a key and value for each: or,
+ * where more than one key shares the branch, null and the node below.  Keys
+ * with the same whole hash share a collision node at the bottom.  As the
+ * nodes never change once made, a JSONFrozenMap is thread-safe.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONFrozenMap extends AbstractMap<String,Object> implements Serializable
+{
+	private static final long serialVersionUID = 1;
+	/** The map with no entries. */
+	static final JSONFrozenMap EMPTY = new JSONFrozenMap(null, 0);
+	private static final Object NOT_FOUND = new Object();
+	/** The greatest shift of a hash to choose a branch; a deeper node is a collision node. */
+	private static final int MAX_SHIFT = 30;
+
+	/** A node of the trie. */
+	private static final class Node
+	{
+		final int bitmap;
+		/** A key and value for each branch present, in order; or null and the node below. */
+		final Object[] array;
+
+		Node(int bitmap, Object[] array)
+		{
+			this.bitmap = bitmap;
+			this.array = array;
+		}
+	}
+
+	/** The keys and values of keys with the same whole hash. */
+	private static final class Collision
+	{
+		final int hash;
+		final Object[] array;
+
+		Collision(int hash, Object[] array)
+		{
+			this.hash = hash;
+			this.array = array;
+		}
+	}
+
+	/** The root Node, or null if there are no entries. */
+	private final transient Node root;
+	private final transient int size;
+
+
+	private JSONFrozenMap(Node root, int size)
+	{
+		this.root = root;
+		this.size = size;
+	}
+
+
+	private static int hash(String key) { int h = key.hashCode(); return h ^ (h >>> 16); }
+
+
+	private static int branch(int hash, int shift) { return 1 << ((hash >>> shift) & 31); }
+
+
+	/** @return The index in a node's array of the key for a branch. */
+	private static int index(int bitmap, int bit) { return 2 * Integer.bitCount(bitmap & (bit - 1)); }
+
+
+	/** @return The value of the key, or NOT_FOUND. */
+	private Object find(Object key)
+	{
+		if (!(key instanceof String) || this.root == null) { return NOT_FOUND; }
+		int hash = hash((String)key);
+		Object node = this.root;
+		for (int shift = 0; ; shift += 5)
+		{
+			if (node instanceof Collision c)
+			{
+				for (int i = 0; i < c.array.length; i += 2) { if (key.equals(c.array[i])) { return c.array[i + 1]; } }
+				return NOT_FOUND;
+			}
+			Node n = (Node)node;
+			int bit = branch(hash, shift);
+			if ((n.bitmap & bit) == 0) { return NOT_FOUND; }
+			int i = index(n.bitmap, bit);
+			Object k = n.array[i];
+			if (k == null) { node = n.array[i + 1]; }
+			else { return key.equals(k) ? n.array[i + 1] : NOT_FOUND; }
+		}
+	}
+
+
+	@Override public int size() { return this.size; }
+
+
+	@Override public boolean containsKey(Object key) { return find(key) != NOT_FOUND; }
+
+
+	@Override public Object get(Object key)
+	{
+		Object value = find(key);
+		return value == NOT_FOUND ? null : value;
+	}
+
+
+	/**
+	 * @param key A key
+	 * @param value Its value
+	 * @return A map with the key set to the value, sharing all else with this one; or this one, if it is already so.
+	 */
+	JSONFrozenMap with(String key, Object value)
+	{
+		boolean[] added = new boolean[1];
+		Object root = with(this.root, 0, hash(key), key, value, added);
+		return root == this.root ? this : new JSONFrozenMap((Node)root, added[0] ? this.size + 1 : this.size);
+	}
+
+
+	private static Object with(Object node, int shift, int hash, String key, Object value, boolean[] added)
+	{
+		if (node == null)
+		{
+			added[0] = true;
+			return new Node(branch(hash, shift), new Object[] {key, value});
+		}
+		if (node instanceof Collision c)
+		{
+			for (int i = 0; i < c.array.length; i += 2)
+			{
+				if (key.equals(c.array[i])) { return c.array[i + 1] == value ? c : new Collision(hash, replace(c.array, i + 1, value)); }
+			}
+			added[0] = true;
+			return new Collision(hash, insert(c.array, c.array.length, key, value));
+		}
+		Node n = (Node)node;
+		int bit = branch(hash, shift);
+		int i = index(n.bitmap, bit);
+		if ((n.bitmap & bit) == 0)
+		{
+			added[0] = true;
+			return new Node(n.bitmap | bit, insert(n.array, i, key, value));
+		}
+		Object k = n.array[i], v = n.array[i + 1];
+		if (k == null)
+		{
+			Object below = with(v, shift + 5, hash, key, value, added);
+			return below == v ? n : new Node(n.bitmap, replace(n.array, i + 1, below));
+		}
+		if (key.equals(k)) { return v == value ? n : new Node(n.bitmap, replace(n.array, i + 1, value)); }
+		added[0] = true;
+		Object[] array = replace(n.array, i + 1, pair(shift + 5, (String)k, hash((String)k), v, key, hash, value));
+		array[i] = null;
+		return new Node(n.bitmap, array);
+	}
+
+
+	/** @return A node of two keys that share the branches above the given shift. */
+	private static Object pair(int shift, String k1, int h1, Object v1, String k2, int h2, Object v2)
+	{
+		if (shift > MAX_SHIFT) { return new Collision(h1, new Object[] {k1, v1, k2, v2}); }
+		int b1 = branch(h1, shift), b2 = branch(h2, shift);
+		if (b1 == b2) { return new Node(b1, new Object[] {null, pair(shift + 5, k1, h1, v1, k2, h2, v2)}); }
+		return new Node(b1 | b2, Integer.compareUnsigned(b1, b2) < 0 ? new Object[] {k1, v1, k2, v2} : new Object[] {k2, v2, k1, v1});
+	}
+
+
+	/**
+	 * @param key A key
+	 * @return A map without the key, sharing all else with this one; or this one, if it has no such key.
+	 */
+	JSONFrozenMap without(String key)
+	{
+		if (this.root == null) { return this; }
+		Object root = without(this.root, 0, hash(key), key);
+		if (root == this.root) { return this; }
+		return root == null ? EMPTY : new JSONFrozenMap((Node)root, this.size - 1);
+	}
+
+
+	/** @return The node without the key: the same node if it has no such key, or null if it is left empty. */
+	private static Object without(Object node, int shift, int hash, String key)
+	{
+		if (node instanceof Collision c)
+		{
+			for (int i = 0; i < c.array.length; i += 2)
+			{
+				if (key.equals(c.array[i])) { return c.array.length == 2 ? null : new Collision(hash, remove(c.array, i)); }
+			}
+			return c;
+		}
+		Node n = (Node)node;
+		int bit = branch(hash, shift);
+		if ((n.bitmap & bit) == 0) { return n; }
+		int i = index(n.bitmap, bit);
+		Object k = n.array[i], v = n.array[i + 1];
+		if (k == null)
+		{
+			Object below = without(v, shift + 5, hash, key);
+			if (below == v) { return n; }
+			if (below != null)
+			{
+				Object[] single = below instanceof Node b ? b.array : ((Collision)below).array;
+				if (single.length == 2 && single[0] != null)
+				{
+					// a single key left below is moved up into this node
+					Object[] array = replace(n.array, i, single[0]);
+					array[i + 1] = single[1];
+					return new Node(n.bitmap, array);
+				}
+				return new Node(n.bitmap, replace(n.array, i + 1, below));
+			}
+		}
+		else if (!key.equals(k)) { return n; }
+		return n.bitmap == bit ? null : new Node(n.bitmap & ~bit, remove(n.array, i));
+	}
+
+
+	private static Object[] replace(Object[] array, int i, Object value)
+	{
+		Object[] copy = array.clone();
+		copy[i] = value;
+		return copy;
+	}
+
+
+	private static Object[] insert(Object[] array, int i, Object key, Object value)
+	{
+		Object[] copy = new Object[array.length + 2];
+		System.arraycopy(array, 0, copy, 0, i);
+		copy[i] = key;
+		copy[i + 1] = value;
+		System.arraycopy(array, i, copy, i + 2, array.length - i);
+		return copy;
+	}
+
+
+	private static Object[] remove(Object[] array, int i)
+	{
+		Object[] copy = new Object[array.length - 2];
+		System.arraycopy(array, 0, copy, 0, i);
+		System.arraycopy(array, i + 2, copy, i, copy.length - i);
+		return copy;
+	}
+
+
+	@Override public Set<Entry<String,Object>> entrySet()
+	{
+		return new AbstractSet<Entry<String,Object>>()
+		{
+			@Override public int size() { return JSONFrozenMap.this.size; }
+
+			@Override public Iterator<Entry<String,Object>> iterator() { return new Cursor(JSONFrozenMap.this.root); }
+		};
+	}
+
+
+	/**
+	 * An iterator over the entries, depth first.
+	 */
+	private static final class Cursor implements Iterator<Entry<String,Object>>
+	{
+		/** The array of each node on the path down, and the index of the next key in it. */
+		private final Object[][] arrays = new Object[MAX_SHIFT / 5 + 2][];
+		private final int[] indexes = new int[MAX_SHIFT / 5 + 2];
+		private int depth = -1;
+		private Entry<String,Object> next;
+
+		Cursor(Node root)
+		{
+			if (root != null) { push(root); }
+			advance();
+		}
+
+		private void push(Object node)
+		{
+			this.arrays[++this.depth] = node instanceof Node n ? n.array : ((Collision)node).array;
+			this.indexes[this.depth] = 0;
+		}
+
+		private void advance()
+		{
+			this.next = null;
+			while (this.depth >= 0)
+			{
+				Object[] array = this.arrays[this.depth];
+				int i = this.indexes[this.depth];
+				if (i >= array.length) { this.arrays[this.depth--] = null; continue; }
+				this.indexes[this.depth] = i + 2;
+				if (array[i] == null) { push(array[i + 1]); }
+				else { this.next = new SimpleImmutableEntry<>((String)array[i], array[i + 1]); return; }
+			}
+		}
+
+		@Override public boolean hasNext() { return this.next != null; }
+
+		@Override public Entry<String,Object> next()
+		{
+			Entry<String,Object> e = this.next;
+			if (e == null) { throw new NoSuchElementException(); }
+			advance();
+			return e;
+		}
+	}
+
+
+	/** Serialize the entries as a plain HashMap. */
+	private Object writeReplace() { return new HashMap<>(this); }
+
+}
@@ -0,0 +1,94 @@
+package com.augur.json;
+
+/**
+ * A JSONHandler receives callbacks from JSONParser as it scans JSON text, in
+ * the style of a SAX handler, so that values can be used (e.g. aggregated)
+ * without building a JSONObject or JSONArray tree.
+ * <p>
+ * Every method has a default that ignores its event, so a handler need only
+ * implement the events it cares about.  The <code>startObject</code>,
+ * <code>startArray</code> and <code>key</code> methods may return false to
+ * skip the whole object, array, or value; skipped text is scanned without
+ * creating any objects, and no further callbacks are made for it (not even
+ * the matching <code>endObject</code> or <code>endArray</code>).
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+public interface JSONHandler
+{
+	/**
+	 * Called at the '{' that starts an object.
+	 * @return true to receive the object's keys and values; false to skip the whole object.
+	 * @throws JSONException to abort the parse.
+	 */
+	default boolean startObject() throws JSONException { return true; }
+
+	/**
+	 * Called at the '}' that ends an object that was not skipped.
+	 * @throws JSONException to abort the parse.
+	 */
+	default void endObject() throws JSONException { }
+
+	/**
+	 * Called at the '[' that starts an array.
+	 * @return true to receive the array's values; false to skip the whole array.
+	 * @throws JSONException to abort the parse.
+	 */
+	default boolean startArray() throws JSONException { return true; }
+
+	/**
+	 * Called at the ']' that ends an array that was not skipped.
+	 * @throws JSONException to abort the parse.
+	 */
+	default void endArray() throws JSONException { }
+
+	/**
+	 * Called for each key of an object, before its value.
+	 * @param key The key
+	 * @return true to receive the key's value; false to skip it.
+	 * @throws JSONException to abort the parse.
+	 */
+	default boolean key(String key) throws JSONException { return true; }
+
+	/**
+	 * Called for an integral number that fits in a long.
+	 * @param value The number
+	 * @throws JSONException to abort the parse.
+	 */
+	default void value(long value) throws JSONException { }
+
+	/**
+	 * Called for a number with a fraction or exponent.
+	 * @param value The number
+	 * @throws JSONException to abort the parse.
+	 */
+	default void value(double value) throws JSONException { }
+
+	/**
+	 * Called for a number that fits in neither a long nor a double without loss,
+	 * such as a BigInteger. By default this passes the double value to value(double).
+	 * @param value The number
+	 * @throws JSONException to abort the parse.
+	 */
+	default void value(Number value) throws JSONException { value(value.doubleValue()); }
+
+	/**
+	 * Called for a quoted or unquoted string.
+	 * @param value The string
+	 * @throws JSONException to abort the parse.
+	 */
+	default void value(CharSequence value) throws JSONException { }
+
+	/**
+	 * Called for true or false.
+	 * @param value The truth
+	 * @throws JSONException to abort the parse.
+	 */
+	default void value(boolean value) throws JSONException { }
+
+	/**
+	 * Called for null, including an elided array element.
+	 * @throws JSONException to abort the parse.
+	 */
+	default void nullValue() throws JSONException { }
+}
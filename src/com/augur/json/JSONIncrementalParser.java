@@ -0,0 +1,365 @@
+package com.augur.json;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A JSONIncrementalParser parses UTF-8 JSON text that arrives in chunks of
+ * any size, such as reads from a non-blocking NIO channel, without a thread
+ * waiting for the rest of a document.  Each chunk is passed to feed(), which
+ * scans it, keeps whatever state it needs between chunks (nesting depth, an
+ * open string or escape, etc.), and queues each top-level value as soon as
+ * it is complete; hasNext() and next() then return the values in order.
+ * For example, on a gateway reading JSON-RPC requests:
+ * <pre>
+ * parser.feed(readBuffer);
+ * while (parser.hasNext()) { dispatch(new RPCRequest(parser.nextTokener())); }</pre>
+ * The top-level values may follow each other directly, or be separated by
+ * whitespace, e.g. one per line.  A parser made with <code>elements</code>
+ * true instead queues each element of a top-level array as soon as it is
+ * complete, so a huge array need not be held in memory all at once.
+ * <p>
+ * Scanning checks only the brackets, quotes, and separators that determine
+ * where a value ends; the full syntax of each value is checked when it is
+ * parsed by next().  The lenient grammar of JSONTokener is accepted.
+ * A JSONIncrementalParser is not thread-safe.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+public class JSONIncrementalParser
+{
+	/** The text of the value of an elided array element, e.g. the 2nd of [1,,3]. */
+	private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+	/** Where the scan is, between values: at the top level, or within a top-level array. */
+	private static final int TOP = 0, ARR_START = 1, ARR_SLOT = 2, ARR_ELIDED = 3, ARR_SEP = 4;
+
+	/** True if the elements of a top-level array are queued one by one. */
+	private final boolean elements;
+	/** The UTF-8 text of each value that is complete but not yet returned by next(). */
+	private final ArrayDeque<byte[]> values = new ArrayDeque<>();
+
+	/** The bytes so far of the value being scanned. */
+	private byte[] value = new byte[256];
+	private int length;
+	/** True while a value is being scanned. */
+	private boolean inValue;
+
+	/** The nesting depth of objects and arrays within the value being scanned. */
+	private int depth;
+	/** The quote char of the string being scanned, or 0. */
+	private byte quote;
+	/** True if the last byte was a backslash within a string. */
+	private boolean escape;
+	/** True while scanning a '#' comment. */
+	private boolean comment;
+	/** True while scanning unquoted text. */
+	private boolean token;
+	/** True if the last byte was an '=' (which may start '=>') between tokens. */
+	private boolean equals;
+	/** Where the scan is, between values. */
+	private int state = TOP;
+	/** True once end() has been called. */
+	private boolean ended;
+	/** The count of bytes fed so far, for error messages. */
+	private long fed;
+
+	private byte[] copyBuffer;
+
+
+	/**
+	 * Construct a JSONIncrementalParser that queues each top-level value.
+	 */
+	public JSONIncrementalParser()
+	{
+		this(false);
+	}
+
+
+	/**
+	 * Construct a JSONIncrementalParser.
+	 * @param elements True to queue each element of a top-level array,
+	 *  instead of the whole array; other top-level values are queued whole.
+	 */
+	public JSONIncrementalParser(boolean elements)
+	{
+		this.elements = elements;
+	}
+
+
+	/**
+	 * Scan all of the remaining bytes of a chunk of UTF-8 text, queueing
+	 * each value that it completes.  The buffer's position is advanced to its limit.
+	 * @param chunk The next chunk of text
+	 * @throws JSONException If the text cannot be a sequence of JSON values.
+	 */
+	public void feed(ByteBuffer chunk) throws JSONException
+	{
+		if (chunk.hasArray())
+		{
+			feed(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+			chunk.position(chunk.limit());
+			return;
+		}
+		if (this.copyBuffer == null) { this.copyBuffer = new byte[8192]; }
+		while (chunk.hasRemaining())
+		{
+			int n = Math.min(chunk.remaining(), this.copyBuffer.length);
+			chunk.get(this.copyBuffer, 0, n);
+			feed(this.copyBuffer, 0, n);
+		}
+	}
+
+
+	/**
+	 * Scan a chunk of UTF-8 text, queueing each value that it completes.
+	 * The bytes of an incomplete value are copied, so the array may be reused
+	 * for the next chunk.
+	 * @param bytes The array holding the chunk
+	 * @param offset The offset of the chunk in the array
+	 * @param length The length of the chunk
+	 * @throws JSONException If the text cannot be a sequence of JSON values.
+	 */
+	public void feed(byte[] bytes, int offset, int length) throws JSONException
+	{
+		if (this.ended) { throw new JSONException("Input has ended"); }
+		if (offset < 0 || length < 0 || offset > bytes.length - length)
+		{
+			throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + "+" + length + ") out of bounds for length " + bytes.length);
+		}
+		int end = offset + length;
+		int start = offset; // the first byte of the value being scanned that is in this chunk
+		for (int i = offset; i < end; i += 1)
+		{
+			if (!this.inValue)
+			{
+				if (between(bytes[i], i - offset)) { start = i; }
+				continue;
+			}
+			byte b = bytes[i];
+			if (this.quote != 0)
+			{
+				if (this.escape) { this.escape = false; continue; }
+				i = JSONScanner.INSTANCE.scanString(bytes, i, end, (char)this.quote);
+				if (i == end) { break; }
+				b = bytes[i];
+				if (b == '\\') { this.escape = true; }
+				else if (b == this.quote)
+				{
+					this.quote = 0;
+					if (this.depth == 0) { complete(bytes, start, i + 1); }
+				}
+				continue; // any other byte is part of the string (or an error reported when it is parsed)
+			}
+			if (this.comment)
+			{
+				if (b == '\n') { this.comment = false; }
+				continue;
+			}
+			if (this.token)
+			{
+				if (!endsUnquoted(b)) { continue; }
+				this.token = false;
+				if (this.depth == 0)
+				{
+					complete(bytes, start, i);
+					if (between(b, i - offset)) { start = i; }
+					continue;
+				}
+			}
+			boolean equals = this.equals;
+			this.equals = false;
+			switch (b)
+			{
+				case '"':
+				case '\'':
+					this.quote = b;
+					break;
+				case '{':
+				case '[':
+					this.depth += 1;
+					break;
+				case '}':
+				case ']':
+					if (--this.depth == 0) { complete(bytes, start, i + 1); }
+					break;
+				case '#':
+					this.comment = true;
+					break;
+				case '=':
+					this.equals = true;
+					break;
+				case '>':
+					if (!equals) { this.token = true; }
+					break;
+				default:
+					if (b < 0 || (b > ' ' && !endsUnquoted(b))) { this.token = true; }
+			}
+		}
+		if (this.inValue) { append(bytes, start, end); }
+		this.fed += length;
+	}
+
+
+	/**
+	 * Scan a byte that is not within a value.
+	 * @param at The offset of the byte in the chunk, for error messages
+	 * @return True if it starts a value.
+	 */
+	private boolean between(byte b, int at) throws JSONException
+	{
+		if (this.comment)
+		{
+			if (b == '\n') { this.comment = false; }
+			return false;
+		}
+		if (b >= 0 && b <= ' ') { return false; }
+		if (b == '#') { this.comment = true; return false; }
+		switch (this.state)
+		{
+			case TOP:
+				if (b == '[' && this.elements) { this.state = ARR_START; return false; }
+				if (b == ',' || b == ':' || b == ';' || b == '=' || b == ']' || b == '}') { throw unexpected(b, at); }
+				break;
+			case ARR_START:
+			case ARR_SLOT:
+			case ARR_ELIDED:
+				if (b == ']')
+				{
+					if (this.state == ARR_ELIDED) { throw syntaxError("Missing value", at); }
+					this.state = TOP;
+					return false;
+				}
+				if (b == ',') { this.values.add(NULL); this.state = ARR_ELIDED; return false; }
+				if (b == ':' || b == ';' || b == '=' || b == '}') { throw syntaxError("Missing value", at); }
+				this.state = ARR_SEP; // once the element is complete
+				break;
+			case ARR_SEP:
+				if (b == ',' || b == ';') { this.state = ARR_SLOT; return false; }
+				if (b == ']') { this.state = TOP; return false; }
+				throw syntaxError("Expected a ',' or ']' but found '" + (char)b + "'", at);
+		}
+		this.inValue = true;
+		switch (b)
+		{
+			case '"':
+			case '\'':
+				this.quote = b;
+				break;
+			case '{':
+			case '[':
+				this.depth = 1;
+				break;
+			default:
+				this.token = true;
+		}
+		return true;
+	}
+
+
+	/** @return True if the byte ends unquoted text, as in JSONTokener. */
+	private static boolean endsUnquoted(byte b)
+	{
+		return b >= 0 && (b < ' ' || ",:]}/\\\"[{;=#".indexOf(b) >= 0);
+	}
+
+
+	private void append(byte[] bytes, int start, int end)
+	{
+		int n = end - start;
+		if (this.length + n > this.value.length) { this.value = Arrays.copyOf(this.value, Math.max(this.length + n, this.value.length * 2)); }
+		System.arraycopy(bytes, start, this.value, this.length, n);
+		this.length += n;
+	}
+
+
+	/** Queue the value that ends just before the end offset. */
+	private void complete(byte[] bytes, int start, int end)
+	{
+		append(bytes, start, end);
+		this.values.add(Arrays.copyOf(this.value, this.length));
+		this.length = 0;
+		this.inValue = false;
+		this.equals = false;
+	}
+
+
+	private JSONException unexpected(byte b, int at)
+	{
+		return syntaxError("Unexpected '" + (char)b + "'", at);
+	}
+
+
+	private JSONException syntaxError(String message, int at)
+	{
+		return new JSONException(message + " at byte " + (this.fed + at));
+	}
+
+
+	/**
+	 * Signal the end of the input, which completes a final top-level value
+	 * that is unquoted text, such as a number.
+	 * @throws JSONException If the input ends within a value.
+	 */
+	public void end() throws JSONException
+	{
+		if (this.ended) { return; }
+		this.ended = true;
+		if (this.inValue && this.token && this.depth == 0)
+		{
+			this.token = false;
+			complete(this.value, 0, 0);
+		}
+		if (this.inValue || this.state != TOP) { throw new JSONException("Input ended within a value, at byte " + this.fed); }
+	}
+
+
+	/**
+	 * @return True if a complete value is queued.
+	 */
+	public boolean hasNext()
+	{
+		return !this.values.isEmpty();
+	}
+
+
+	/**
+	 * @return The count of complete values queued.
+	 */
+	public int available()
+	{
+		return this.values.size();
+	}
+
+
+	/**
+	 * Parse the next complete value.
+	 * @return A JSONObject, JSONArray, String, Boolean, Number, or null.
+	 * @throws JSONException If the value has a syntax error.
+	 * @throws NoSuchElementException If no complete value is queued.
+	 */
+	public Object next() throws JSONException
+	{
+		JSONTokener x = nextTokener();
+		Object value = x.nextValue();
+		if (x.nextClean() != 0) { throw x.syntaxError("Unexpected text after a value"); }
+		return value;
+	}
+
+
+	/**
+	 * Get a tokener positioned at the next complete value, to parse it as
+	 * some particular class, e.g. <code>new RPCRequest(parser.nextTokener())</code>.
+	 * @return A JSONTokener for the text of the value.
+	 * @throws NoSuchElementException If no complete value is queued.
+	 */
+	public JSONTokener nextTokener()
+	{
+		byte[] value = this.values.poll();
+		if (value == null) { throw new NoSuchElementException(); }
+		return new JSONByteTokener(value);
+	}
+
+}
@@ -0,0 +1,252 @@
+package com.augur.json;
+
+import java.util.Arrays;
+
+/**
+ * A JSONIndex is the structural index behind the lazy JSONObject and
+ * JSONArray views made by JSONObject.newLazy() and JSONArray.newLazy().  One
+ * pass over the source text records where every key and value starts and
+ * ends, in a compact int[] "tape"; nothing is decoded.  The views then decode
+ * a string, number, or nested object only when it is first touched.
+ * <p>
+ * Each node on the tape takes NODE ints: its kind, the offset where it
+ * starts in the source, and, for a scalar, the offset where it ends; for an
+ * object or array, the tape index just past its last descendant and its
+ * count of members or elements.  An object's members follow it on the tape
+ * as key node, value node, key node, value node, and so on.
+ * <p>
+ * The grammar, strict mode, and limits are those of the JSONTokener and its
+ * JSONParserOptions, as for the eager parsers: in particular, the indexing
+ * recurses through nested objects and arrays, so a text from outside should
+ * be indexed with a maxDepth.  In strict mode, each number, literal, and
+ * string is decoded once when indexed, to check it, but not kept.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONIndex
+{
+	static final int OBJECT = 1, ARRAY = 2, STRING = 3, TEXT = 4, ELIDED = 5;
+	/** The number of ints per node on the tape. */
+	static final int NODE = 4;
+
+	/** The source text, which must not be modified while the index is in use. */
+	final char[] source;
+	private int[] tape = new int[64];
+	private int size;
+
+
+	/**
+	 * Index the value at the start of the source text.
+	 * @param source The JSON text
+	 * @param options The JSONParserOptions, e.g. strict mode and limits, or null for the defaults
+	 * @throws JSONException If there is a syntax error, or a limit of the options is exceeded.
+	 */
+	JSONIndex(char[] source, JSONParserOptions options) throws JSONException
+	{
+		this.source = source;
+		JSONTokener x = new JSONTokener(source);
+		x.setOptions(options);
+		value(x);
+	}
+
+
+	int kind(int node) { return this.tape[node]; }
+
+	int start(int node) { return this.tape[node + 1]; }
+
+	/** @return The end offset (exclusive) of a scalar node. */
+	int end(int node) { return this.tape[node + 2]; }
+
+	/** @return The count of members of an object node, or of elements of an array node. */
+	int count(int node) { return this.tape[node + 3]; }
+
+	/** @return The tape index of the node following this one and all of its descendants. */
+	int next(int node) { return this.tape[node] <= ARRAY ? this.tape[node + 2] : node + NODE; }
+
+
+	private int add(int kind, int start, int end)
+	{
+		if (this.size + NODE > this.tape.length) { this.tape = Arrays.copyOf(this.tape, this.tape.length * 2); }
+		int node = this.size;
+		this.tape[node] = kind;
+		this.tape[node + 1] = start;
+		this.tape[node + 2] = end;
+		this.size += NODE;
+		return node;
+	}
+
+
+	/** Index the next value, following the grammar of JSONTokener.nextValue(). */
+	private void value(JSONTokener x) throws JSONException
+	{
+		char c = x.nextClean();
+		int start = x.offset() - 1;
+		switch (c)
+		{
+			case '{':
+				object(x, start);
+				return;
+			case '[':
+				array(x, start);
+				return;
+		}
+		x.back();
+		if (x.isStrict())
+		{
+			x.nextValue(); // to check the number, literal, or string, which is not kept
+		}
+		else
+		{
+			x.skipValue();
+			x.checkLength(c, x.offset() - start);
+		}
+		int node = add(c == '"' || c == '\'' ? STRING : TEXT, start, x.offset());
+		// skipValue() does not check escapes, so check them now, while a bad one can still be reported
+		if (kind(node) == STRING && !x.isStrict() && hasEscape(start + 1, end(node) - 1)) { decode(node); }
+	}
+
+
+	/** Index an object whose '{' was just read, following the grammar of JSONObject.parse(). */
+	private void object(JSONTokener x, int start) throws JSONException
+	{
+		int node = add(OBJECT, start, 0);
+		x.enter();
+		try
+		{
+			if (x.nextClean() == '}') { close(node, 0); return; }
+			x.back();
+			for (int count = 1; ; count += 1)
+			{
+				char c = x.nextClean();
+				if (c == 0) { throw x.syntaxError("A JSONObject text must end with '}', but reached EOF"); }
+				if (c != '"' && x.isStrict()) { throw x.syntaxError("Expected a quoted key but found '"+JSONTokener.toString(c)+"'"); }
+				x.back();
+				x.checkKeys(count);
+				value(x);
+				x.nextColon();
+				value(x);
+				if (x.nextSeparator('}') == '}') { close(node, count); return; }
+			}
+		}
+		finally { x.exit(); }
+	}
+
+
+	/** Index an array whose '[' was just read, following the grammar of JSONArray.parse(). */
+	private void array(JSONTokener x, int start) throws JSONException
+	{
+		int node = add(ARRAY, start, 0);
+		x.enter();
+		try
+		{
+			if (x.nextClean() == ']') { close(node, 0); return; }
+			x.back();
+			for (int count = 1; ; count += 1)
+			{
+				switch (x.nextClean())
+				{
+					case 0:
+						throw x.syntaxError("A JSONArray must end with ']', but reached EOF");
+					case ',':
+						if (x.isStrict()) { throw x.syntaxError("Missing value"); }
+						add(ELIDED, x.offset() - 1, x.offset() - 1);
+						continue;
+					default:
+						x.back();
+						value(x);
+				}
+				if (x.nextSeparator(']') == ']') { close(node, count); return; }
+			}
+		}
+		finally { x.exit(); }
+	}
+
+
+	private void close(int node, int count)
+	{
+		this.tape[node + 2] = this.size;
+		this.tape[node + 3] = count;
+	}
+
+
+	/**
+	 * @return The value of a node: a lazy JSONObject or JSONArray view for
+	 * a container, otherwise the decoded scalar.
+	 */
+	Object value(int node)
+	{
+		try { return decode(node); }
+		catch (JSONException e) { throw new IllegalStateException(e); } // not reached: the text was checked when indexed
+	}
+
+
+	private Object decode(int node) throws JSONException
+	{
+		switch (kind(node))
+		{
+			case OBJECT:
+				return new JSONObject(this, node);
+			case ARRAY:
+				return new JSONArray(this, node);
+			case STRING:
+				int start = start(node) + 1, end = end(node) - 1;
+				if (!hasEscape(start, end)) { return new String(this.source, start, end - start); }
+				JSONTokener x = new JSONTokener(this.source, start, end - start + 1);
+				return x.nextString(this.source[start - 1]);
+			case TEXT:
+				return new JSONTokener(this.source, start(node), end(node) - start(node)).nextValue();
+			default:
+				return null;
+		}
+	}
+
+
+	/** @return The key named by a node, decoded as JSONObject.parse() would. */
+	String key(int node)
+	{
+		return kind(node) == STRING ? (String)value(node) : String.valueOf(value(node));
+	}
+
+
+	/**
+	 * @return True if the key node is a quoted string without escapes, so its
+	 * chars (within the quotes) are the key itself.
+	 */
+	boolean isPlainKey(int node)
+	{
+		return kind(node) == STRING && !hasEscape(start(node) + 1, end(node) - 1);
+	}
+
+
+	private boolean hasEscape(int start, int end)
+	{
+		for (int i = start; i < end; i += 1)
+		{
+			if (this.source[i] == '\\') { return true; }
+		}
+		return false;
+	}
+
+
+	/** @return The same hash as String.hashCode() of a plain key's chars. */
+	int hashPlainKey(int node)
+	{
+		int h = 0;
+		for (int i = start(node) + 1, end = end(node) - 1; i < end; i += 1) { h = 31 * h + this.source[i]; }
+		return h;
+	}
+
+
+	/** @return True if the plain key's chars equal the key. */
+	boolean plainKeyEquals(int node, String key)
+	{
+		int start = start(node) + 1, len = end(node) - 1 - start;
+		if (len != key.length()) { return false; }
+		for (int i = 0; i < len; i += 1)
+		{
+			if (this.source[start + i] != key.charAt(i)) { return false; }
+		}
+		return true;
+	}
+
+}
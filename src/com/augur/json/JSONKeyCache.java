@@ -0,0 +1,119 @@
+package com.augur.json;
+
+import java.util.Arrays;
+
+/**
+ * A JSONKeyCache holds canonical String instances of object keys, so that
+ * parsing many records with the same keys does not make a new String for
+ * each key of each record.  A key is looked up by hashing its chars where
+ * they lie in the source text, and a new String is made only when the key
+ * is not already cached.  Besides allocating less, parsed JSONObjects then
+ * share the same key instances, so that HashMap lookups with them succeed
+ * on the identity comparison in equals().
+ * <p>
+ * To use a cache, set it on the tokener before parsing:
+ * <pre>
+ * static final JSONKeyCache KEYS = new JSONKeyCache();
+ * ...
+ * JSONTokener x = new JSONTokener(text);
+ * x.setKeyCache(KEYS);
+ * JSONObject jo = new JSONObject(x);</pre>
+ * The cache is bounded: it is a direct-mapped table, in which a key replaces
+ * any other key with the same slot, so it never grows, and a changing set of
+ * keys (e.g. keys that are really data, such as IDs) cannot fill up memory.
+ * Keys longer than MAX_LENGTH chars are not cached.
+ * <p>
+ * A JSONKeyCache may be shared by threads without locking: a slot holds a
+ * reference to an immutable String, so a thread sees either a complete key
+ * or a different one, and at worst makes a String that another thread
+ * has just cached.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+public final class JSONKeyCache
+{
+	/** The length of the longest key that is cached. */
+	public static final int MAX_LENGTH = 64;
+
+	private final String[] keys;
+	private final int mask;
+
+
+	/**
+	 * Construct a JSONKeyCache with room for 1024 keys.
+	 */
+	public JSONKeyCache()
+	{
+		this(1024);
+	}
+
+
+	/**
+	 * Construct a JSONKeyCache.
+	 * @param capacity The number of slots, which is rounded up to a power of 2.
+	 *  Allow several times the number of distinct keys expected, to make collisions rare.
+	 * @throws IllegalArgumentException If the capacity is not positive or more than 2^30.
+	 */
+	public JSONKeyCache(int capacity)
+	{
+		if (capacity <= 0 || capacity > 1 << 30) { throw new IllegalArgumentException("Bad capacity: " + capacity); }
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) { size <<= 1; }
+		this.keys = new String[size];
+		this.mask = size - 1;
+	}
+
+
+	/**
+	 * Get the canonical String of some chars.
+	 * @param chars The chars holding the key
+	 * @param start The offset of the first char of the key
+	 * @param end The offset just past the last char of the key
+	 * @return The cached String with those chars, or a new one.
+	 */
+	public String intern(char[] chars, int start, int end)
+	{
+		int length = end - start;
+		if (length > MAX_LENGTH) { return new String(chars, start, length); }
+		int h = 0;
+		for (int i = start; i < end; i += 1) { h = 31 * h + chars[i]; }
+		int slot = (h ^ (h >>> 16)) & this.mask;
+		String key = this.keys[slot];
+		if (key != null && key.hashCode() == h && key.length() == length)
+		{
+			int i = 0;
+			while (i < length && key.charAt(i) == chars[start + i]) { i += 1; }
+			if (i == length) { return key; }
+		}
+		key = new String(chars, start, length);
+		this.keys[slot] = key;
+		return key;
+	}
+
+
+	/**
+	 * Get the canonical instance of a String.
+	 * @param key The key
+	 * @return The cached String equal to the key, or the key itself, which is then cached.
+	 */
+	public String intern(String key)
+	{
+		if (key.length() > MAX_LENGTH) { return key; }
+		int h = key.hashCode();
+		int slot = (h ^ (h >>> 16)) & this.mask;
+		String cached = this.keys[slot];
+		if (key.equals(cached)) { return cached; }
+		this.keys[slot] = key;
+		return key;
+	}
+
+
+	/**
+	 * Empty the cache.
+	 */
+	public void clear()
+	{
+		Arrays.fill(this.keys, null);
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.augur.json;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A JSONLazyList is the List behind a lazy JSONArray: a view of one array
+ * node of a JSONIndex, which decodes each element the first time it is
+ * used, and keeps it.  The first change to the list copies its elements
+ * into an ArrayList, which holds them from then on.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONLazyList extends AbstractList<Object> implements RandomAccess, Serializable
+{
+	private static final long serialVersionUID = 1;
+	private static final Object UNDECODED = new Object();
+
+	private transient JSONIndex index;
+	/** The tape index of each element's node. */
+	private transient int[] nodes;
+	/** The decoded elements. */
+	private transient Object[] values;
+	/** The ArrayList that holds the elements after the first change. */
+	private transient ArrayList<Object> delegate;
+
+
+	JSONLazyList(JSONIndex index, int node)
+	{
+		this.index = index;
+		int count = index.count(node);
+		this.nodes = new int[count];
+		for (int i = 0, n = node + JSONIndex.NODE; i < count; i += 1)
+		{
+			this.nodes[i] = n;
+			n = index.next(n);
+		}
+		this.values = new Object[count];
+		Arrays.fill(this.values, UNDECODED);
+	}
+
+
+	/** @return The ArrayList holding the elements, decoding them all into it on the first call. */
+	ArrayList<Object> inflate()
+	{
+		if (this.delegate == null)
+		{
+			ArrayList<Object> list = new ArrayList<>(this.nodes.length);
+			for (int i = 0; i < this.nodes.length; i += 1) { list.add(get(i)); }
+			this.delegate = list;
+			this.index = null;
+			this.nodes = null;
+			this.values = null;
+		}
+		return this.delegate;
+	}
+
+
+	@Override public int size() { return this.delegate != null ? this.delegate.size() : this.nodes.length; }
+
+
+	@Override public Object get(int i)
+	{
+		if (this.delegate != null) { return this.delegate.get(i); }
+		Object value = this.values[i];
+		if (value == UNDECODED) { this.values[i] = value = this.index.value(this.nodes[i]); }
+		return value;
+	}
+
+
+	@Override public Object set(int i, Object value) { return inflate().set(i, value); }
+
+	@Override public void add(int i, Object value) { inflate().add(i, value); this.modCount += 1; }
+
+	@Override public Object remove(int i) { Object o = inflate().remove(i); this.modCount += 1; return o; }
+
+	@Override public void clear() { inflate().clear(); this.modCount += 1; }
+
+
+	/** Serialize the elements as a plain ArrayList. */
+	private Object writeReplace() { return new ArrayList<>(this); }
+
+}
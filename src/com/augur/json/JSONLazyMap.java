@@ -0,0 +1,301 @@
+package com.augur.json;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A JSONLazyMap is the Map behind a lazy JSONObject: a read-only view of
+ * one object node of a JSONIndex, which decodes each key and value the first
+ * time it is used, and keeps it.  A key is found by hashing and comparing
+ * the chars of the source text, so looking up one key of a large object
+ * creates no Strings for the others.  As in JSONObject.parse(), the last of
+ * duplicate keys wins.
+ * <p>
+ * Iterating the keys, or the entries, decodes no value until it is asked
+ * for, so scanning the keys of a large object costs no more than the keys.
+ * The first change to the map copies its decoded contents into a HashMap,
+ * which holds the entries from then on; nested objects and arrays are still
+ * lazy views until they are changed themselves.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONLazyMap extends AbstractMap<String,Object> implements Serializable
+{
+	private static final long serialVersionUID = 1;
+	private static final Object UNDECODED = new Object();
+
+	private transient JSONIndex index;
+	/** The tape index of each member's key node, in source order. */
+	private transient int[] keyNodes;
+	/** The decoded keys and values, by member ordinal. */
+	private transient String[] keys;
+	private transient Object[] values;
+	/** An open-addressed hash table of member ordinal + 1, or null until first needed. */
+	private transient int[] slots;
+	/** The ordinals of the distinct keys (the last of duplicates), in source order. */
+	private transient int[] members;
+	/** The HashMap that holds the entries after the first change. */
+	private transient HashMap<String,Object> delegate;
+
+
+	JSONLazyMap(JSONIndex index, int node)
+	{
+		this.index = index;
+		int count = index.count(node);
+		this.keyNodes = new int[count];
+		for (int i = 0, n = node + JSONIndex.NODE; i < count; i += 1)
+		{
+			this.keyNodes[i] = n;
+			n = index.next(index.next(n)); // past the key and its value
+		}
+		this.keys = new String[count];
+		this.values = new Object[count];
+		Arrays.fill(this.values, UNDECODED);
+	}
+
+
+	private void buildTable()
+	{
+		int count = this.keyNodes.length;
+		int capacity = Integer.highestOneBit(Math.max(count, 2) * 2 - 1) << 1; // a power of 2, at most half full
+		int[] slots = new int[capacity];
+		int[] members = new int[count];
+		int size = 0;
+		for (int i = 0; i < count; i += 1)
+		{
+			int h = hash(i) & (capacity - 1);
+			for (;;)
+			{
+				int j = slots[h] - 1;
+				if (j < 0) { slots[h] = i + 1; members[size++] = i; break; }
+				if (sameKey(j, i))
+				{
+					slots[h] = i + 1; // the last duplicate wins
+					for (int k = 0; k < size; k += 1) { if (members[k] == j) { members[k] = i; break; } }
+					break;
+				}
+				h = (h + 1) & (capacity - 1);
+			}
+		}
+		this.members = size == count ? members : Arrays.copyOf(members, size);
+		this.slots = slots;
+	}
+
+
+	private int hash(int ordinal)
+	{
+		int node = this.keyNodes[ordinal];
+		return spread(this.index.isPlainKey(node) ? this.index.hashPlainKey(node) : key(ordinal).hashCode());
+	}
+
+
+	private static int spread(int h) { return h ^ (h >>> 16); }
+
+
+	private boolean sameKey(int a, int b)
+	{
+		int node = this.keyNodes[a];
+		return this.index.isPlainKey(node) ? this.index.plainKeyEquals(node, key(b)) : key(a).equals(key(b));
+	}
+
+
+	/** @return The ordinal of the member with this key, or -1. */
+	private int find(String key)
+	{
+		if (this.slots == null) { buildTable(); }
+		int mask = this.slots.length - 1;
+		for (int h = spread(key.hashCode()) & mask; ; h = (h + 1) & mask)
+		{
+			int i = this.slots[h] - 1;
+			if (i < 0) { return -1; }
+			int node = this.keyNodes[i];
+			if (this.index.isPlainKey(node) ? this.index.plainKeyEquals(node, key) : key(i).equals(key)) { return i; }
+		}
+	}
+
+
+	private String key(int ordinal)
+	{
+		String key = this.keys[ordinal];
+		if (key == null) { this.keys[ordinal] = key = this.index.key(this.keyNodes[ordinal]); }
+		return key;
+	}
+
+
+	private Object value(int ordinal)
+	{
+		Object value = this.values[ordinal];
+		if (value == UNDECODED) { this.values[ordinal] = value = this.index.value(this.index.next(this.keyNodes[ordinal])); }
+		return value;
+	}
+
+
+	/** @return The HashMap holding the entries, decoding them all into it on the first call. */
+	private HashMap<String,Object> inflate()
+	{
+		if (this.delegate == null)
+		{
+			if (this.slots == null) { buildTable(); }
+			HashMap<String,Object> map = new HashMap<>(Math.max(16, this.members.length * 4 / 3 + 1));
+			for (int i : this.members) { map.put(key(i), value(i)); }
+			this.delegate = map;
+			this.index = null;
+			this.keyNodes = null;
+			this.keys = null;
+			this.values = null;
+			this.slots = null;
+			this.members = null;
+		}
+		return this.delegate;
+	}
+
+
+	@Override public int size()
+	{
+		if (this.delegate != null) { return this.delegate.size(); }
+		if (this.slots == null) { buildTable(); }
+		return this.members.length;
+	}
+
+
+	@Override public boolean containsKey(Object key)
+	{
+		if (this.delegate != null) { return this.delegate.containsKey(key); }
+		return key instanceof String && find((String)key) >= 0;
+	}
+
+
+	@Override public Object get(Object key)
+	{
+		if (this.delegate != null) { return this.delegate.get(key); }
+		if (!(key instanceof String)) { return null; }
+		int i = find((String)key);
+		return i < 0 ? null : value(i);
+	}
+
+
+	@Override public Object put(String key, Object value) { return inflate().put(key, value); }
+
+	@Override public Object remove(Object key) { return inflate().remove(key); }
+
+	@Override public void putAll(Map<? extends String,? extends Object> m) { inflate().putAll(m); }
+
+	@Override public void clear() { inflate().clear(); }
+
+
+	/** @return The ordinals of the distinct keys, in source order. */
+	private int[] members()
+	{
+		if (this.slots == null) { buildTable(); }
+		return this.members;
+	}
+
+
+	/**
+	 * An iterator over the members, which decodes only the keys: the value of
+	 * an entry is decoded when it is first asked for.
+	 */
+	private abstract class Members<T> implements Iterator<T>
+	{
+		private final int[] members = members();
+		private int next;
+
+		@Override public boolean hasNext() { return this.next < this.members.length; }
+
+		/** @return The ordinal of the next member. */
+		int nextMember()
+		{
+			if (this.next >= this.members.length) { throw new NoSuchElementException(); }
+			if (JSONLazyMap.this.delegate != null) { throw new ConcurrentModificationException(); }
+			return this.members[this.next++];
+		}
+	}
+
+
+	/** An entry whose value is decoded the first time it is asked for. */
+	private final class Member implements Entry<String,Object>
+	{
+		private final int ordinal;
+		private final String key;
+
+		Member(int ordinal)
+		{
+			this.ordinal = ordinal;
+			this.key = key(ordinal);
+		}
+
+		@Override public String getKey() { return this.key; }
+
+		@Override public Object getValue()
+		{
+			HashMap<String,Object> delegate = JSONLazyMap.this.delegate;
+			return delegate != null ? delegate.get(this.key) : value(this.ordinal); // the map may have been changed since
+		}
+
+		@Override public Object setValue(Object value) { throw new UnsupportedOperationException(); }
+
+		@Override public boolean equals(Object o)
+		{
+			return o instanceof Entry<?,?> e && this.key.equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+		}
+
+		@Override public int hashCode() { return this.key.hashCode() ^ Objects.hashCode(getValue()); }
+
+		@Override public String toString() { return this.key + "=" + getValue(); }
+	}
+
+
+	@Override public Set<Entry<String,Object>> entrySet()
+	{
+		if (this.delegate != null) { return this.delegate.entrySet(); }
+		return new AbstractSet<Entry<String,Object>>()
+		{
+			@Override public int size() { return JSONLazyMap.this.size(); }
+
+			@Override public Iterator<Entry<String,Object>> iterator()
+			{
+				if (JSONLazyMap.this.delegate != null) { return JSONLazyMap.this.delegate.entrySet().iterator(); }
+				return new Members<Entry<String,Object>>()
+				{
+					@Override public Entry<String,Object> next() { return new Member(nextMember()); }
+				};
+			}
+		};
+	}
+
+
+	/** The keys, which are iterated without decoding any value. */
+	@Override public Set<String> keySet()
+	{
+		if (this.delegate != null) { return this.delegate.keySet(); }
+		return new AbstractSet<String>()
+		{
+			@Override public int size() { return JSONLazyMap.this.size(); }
+
+			@Override public boolean contains(Object key) { return containsKey(key); }
+
+			@Override public Iterator<String> iterator()
+			{
+				if (JSONLazyMap.this.delegate != null) { return JSONLazyMap.this.delegate.keySet().iterator(); }
+				return new Members<String>()
+				{
+					@Override public String next() { return key(nextMember()); }
+				};
+			}
+		};
+	}
+
+
+	/** Serialize the entries as a plain HashMap. */
+	private Object writeReplace() { return new HashMap<>(this); }
+
+}
@@ -0,0 +1,287 @@
+package com.augur.json;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A JSONTokener that reads a UTF-8 file through memory mapping: the file is
+ * mapped with FileChannel.map, and parsed directly from the mapped bytes, as
+ * a JSONByteTokener parses a direct ByteBuffer; so there is no copy of the
+ * text on the heap, and no per-char Reader overhead.  A file larger than a
+ * single mapping can hold (2 GB) is mapped as several segments, read one
+ * after another; a UTF-8 sequence or a string may span two of them.
+ * <p>
+ * The file is closed as soon as it is mapped; the mapping lasts until the
+ * tokener is garbage collected.  The file must not be modified (in
+ * particular, truncated) while it is being parsed.  For example:
+ * <pre>JSONObject reference = new JSONObject(new JSONMappedTokener(new File("reference.json")));</pre>
+ * which is what the JSONObject(File, Charset) and JSONArray(File, Charset)
+ * constructors do for UTF-8 files.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+public class JSONMappedTokener extends JSONTokener
+{
+	/** The size of each mapped segment, except perhaps the last. */
+	static final int SEGMENT_SIZE = 1 << 30;
+
+	private static final char REPLACEMENT = '\uFFFD';
+
+	private final ByteBuffer[] segments;
+	/** The index of the segment being read. */
+	private int index;
+	/** The segment being read. */
+	private ByteBuffer segment;
+	/** The offset in the segment of the next unread byte. */
+	private int position;
+	/** The size of the segment. */
+	private int limit;
+	/** The low surrogate still owed after a 4-byte sequence was returned as its high surrogate; or 0. */
+	private char pending;
+
+	private int markIndex;
+	private int markPosition;
+	private char markPending;
+
+
+	/**
+	 * Construct a JSONMappedTokener that reads a whole UTF-8 file.
+	 * @param file The file
+	 * @throws IOException If the file cannot be opened or mapped.
+	 */
+	public JSONMappedTokener(File file) throws IOException
+	{
+		this(file, SEGMENT_SIZE);
+	}
+
+
+	/**
+	 * Construct a JSONMappedTokener that maps the file in segments of the given size.
+	 */
+	JSONMappedTokener(File file, int segmentSize) throws IOException
+	{
+		super();
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			long size = channel.size();
+			int count = (int)Math.max(1, (size + segmentSize - 1) / segmentSize);
+			this.segments = new ByteBuffer[count];
+			for (int i = 0; i < count; i += 1)
+			{
+				long start = (long)i * segmentSize;
+				this.segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(segmentSize, size - start));
+			}
+		}
+		this.segment = this.segments[0];
+		this.limit = this.segment.limit();
+		skipByteOrderMark();
+	}
+
+
+	private void skipByteOrderMark()
+	{
+		mark();
+		for (byte b : new byte[] {(byte)0xEF, (byte)0xBB, (byte)0xBF})
+		{
+			if (!hasByte() || this.segment.get(this.position) != b) { reset(); return; }
+			this.position += 1;
+		}
+	}
+
+
+	/** The parse of a JSON text from a tokener, e.g. JSONObject.parse(). */
+	interface Parse
+	{
+		void parse(JSONTokener x) throws JSONException;
+	}
+
+
+	/**
+	 * Parse a file in the given Charset: through a JSONMappedTokener for
+	 * UTF-8 (or its subset US-ASCII); otherwise streamed through an
+	 * InputStreamReader, so the text is never all in memory at once.
+	 * Either way, the file is closed on return, even on a syntax error.
+	 * @param file The file
+	 * @param charset The Charset of the file's text
+	 * @param parse The parse of the tokener for the file's text
+	 * @throws JSONException If there is a syntax error.
+	 * @throws IOException If the file cannot be read.
+	 */
+	static void parse(File file, Charset charset, Parse parse) throws JSONException, IOException
+	{
+		if (StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset))
+		{
+			parse.parse(new JSONMappedTokener(file));
+			return;
+		}
+		try (InputStream in = new FileInputStream(file)) { parse.parse(new JSONTokener(in, charset)); }
+	}
+
+
+	/**
+	 * Move on to the next segment, if the one being read is done.
+	 * @return True if there is another byte to read.
+	 */
+	private boolean hasByte()
+	{
+		while (this.position >= this.limit)
+		{
+			if (this.index + 1 >= this.segments.length) { return false; }
+			this.segment = this.segments[++this.index];
+			this.position = 0;
+			this.limit = this.segment.limit();
+		}
+		return true;
+	}
+
+
+	/**
+	 * Decode the next char from the UTF-8 bytes.
+	 * @return The next char, or -1 if past the end of the file.
+	 */
+	@Override
+	protected int read()
+	{
+		if (this.pending != 0)
+		{
+			char c = this.pending;
+			this.pending = 0;
+			return c;
+		}
+		if (!hasByte()) { return -1; }
+		int b = this.segment.get(this.position++);
+		if (b >= 0) { return b; } // ASCII
+		return decode(b);
+	}
+
+
+	/**
+	 * Decode the rest of a multi-byte sequence whose lead byte has been consumed,
+	 * replacing a malformed sequence as JSONByteTokener does.
+	 * @param b The lead byte (negative, as a signed byte)
+	 * @return The decoded char; the high surrogate for a supplementary code point
+	 */
+	private int decode(int b)
+	{
+		int lead = b & 0xFF, need, cp, lower = 0x80, upper = 0xBF;
+		if (lead >= 0xC2 && lead <= 0xDF) { need = 1; cp = lead & 0x1F; }
+		else if (lead >= 0xE0 && lead <= 0xEF)
+		{
+			need = 2;
+			cp = lead & 0x0F;
+			if (lead == 0xE0) { lower = 0xA0; } // below is overlong
+		}
+		else if (lead >= 0xF0 && lead <= 0xF4)
+		{
+			need = 3;
+			cp = lead & 0x07;
+			if (lead == 0xF0) { lower = 0x90; } // below is overlong
+			else if (lead == 0xF4) { upper = 0x8F; } // above is past U+10FFFF
+		}
+		else { return REPLACEMENT; } // stray continuation byte, or invalid lead byte
+		for (int i = 0; i < need; i += 1)
+		{
+			if (!hasByte()) { return REPLACEMENT; }
+			int cont = this.segment.get(this.position) & 0xFF;
+			if (cont < lower || cont > upper) { return REPLACEMENT; } // leave it to be read as the next lead byte
+			this.position += 1;
+			cp = (cp << 6) | (cont & 0x3F);
+			lower = 0x80;
+			upper = 0xBF;
+		}
+		if (cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE) { return REPLACEMENT; }
+		if (cp >= Character.MIN_SUPPLEMENTARY_CODE_POINT)
+		{
+			this.pending = Character.lowSurrogate(cp);
+			return Character.highSurrogate(cp);
+		}
+		return cp;
+	}
+
+
+	/**
+	 * @return The offset in the segment just past the plain ASCII bytes at the
+	 * front of the rest of a quoted string, which end at the segment's end.
+	 */
+	private int scan(char quote)
+	{
+		if (this.pending != 0) { return this.position; }
+		return JSONScanner.INSTANCE.scanString(this.segment, this.position, this.limit, quote);
+	}
+
+
+	/**
+	 * Skip the plain ASCII bytes at the front of the rest of a quoted string in bulk.
+	 */
+	@Override
+	void skipPlain(char quote)
+	{
+		int end = scan(quote);
+		if (end > this.position)
+		{
+			skipped(end - this.position, (char)this.segment.get(end - 1));
+			this.position = end;
+		}
+	}
+
+
+	/**
+	 * Read the plain ASCII bytes at the front of the rest of a quoted string in bulk.
+	 */
+	@Override
+	String nextPlain(char quote)
+	{
+		int start = this.position;
+		int end = scan(quote);
+		if (end == start) { return null; }
+		byte[] ascii = new byte[end - start];
+		this.segment.get(start, ascii);
+		skipped(ascii.length, (char)ascii[ascii.length - 1]);
+		this.position = end;
+		return new String(ascii, StandardCharsets.ISO_8859_1); // ASCII, so each byte is its char
+	}
+
+
+	/**
+	 * Append the plain ASCII bytes at the front of the rest of a quoted string in bulk.
+	 */
+	@Override
+	void appendPlain(char quote, StringBuilder sb)
+	{
+		int start = this.position;
+		int end = scan(quote);
+		if (end == start) { return; }
+		sb.ensureCapacity(sb.length() + end - start);
+		for (int i = start; i < end; i += 1) { sb.append((char)this.segment.get(i)); }
+		skipped(end - start, (char)this.segment.get(end - 1));
+		this.position = end;
+	}
+
+
+	@Override
+	protected void mark()
+	{
+		this.markIndex = this.index;
+		this.markPosition = this.position;
+		this.markPending = this.pending;
+	}
+
+
+	@Override
+	protected void reset()
+	{
+		this.index = this.markIndex;
+		this.segment = this.segments[this.index];
+		this.limit = this.segment.limit();
+		this.position = this.markPosition;
+		this.pending = this.markPending;
+	}
+
+}
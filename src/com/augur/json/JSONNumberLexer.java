@@ -0,0 +1,185 @@
+package com.augur.json;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * JSONNumberLexer converts the text of a number straight from a char[] to a
+ * Number, with no intermediate String and no exceptions for text that is not
+ * a number.  It accepts the usual decimal forms:
+ * <pre>
+ * [+|-] digits [. [digits]] [(e|E) [+|-] digits]
+ * [+|-] . digits [(e|E) [+|-] digits]</pre>
+ * and produces the same types as JSONObject.stringToValue(): an Integer if
+ * the number is integral (has no '.' or exponent) and fits, otherwise a Long;
+ * or a Double if it has a '.' or exponent.  Where those would lose the value,
+ * it produces a BigInteger for an integral number too big for a long, or a
+ * BigDecimal for a number too big for a double.  A number too small for a
+ * double is 0, as from Double.valueOf(); and one too big even for a
+ * BigDecimal (whose exponent is beyond about &plusmn;2^31) is not converted.
+ * <p>
+ * A double with at most 18 significant digits, whose mantissa is at most
+ * 2^53 (so it is exact as a double), and a power of ten within &plusmn;22
+ * is computed exactly with one multiplication or division, and anything
+ * else is left to Double.parseDouble(), so the result is always the
+ * correctly rounded double (the same as Double.valueOf()).
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONNumberLexer
+{
+	/** The powers of ten that are exactly representable as doubles. */
+	private static final double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+	/** The largest mantissa that is exactly representable as a double. */
+	private static final long MAX_EXACT = 1L << 53;
+	/** An exponent beyond any that a double or BigDecimal can hold, at which a longer one is held. */
+	private static final long MAX_EXPONENT = 1L << 40;
+
+
+	private JSONNumberLexer() { }
+
+
+	/**
+	 * Convert the text of a number.
+	 * @param a The chars holding the text
+	 * @param start The offset of the first char of the number
+	 * @param end The offset just past the last char of the number
+	 * @return The Number, or null if the text is not in the form described
+	 * above (it may still be a number in a form that stringToValue() accepts,
+	 * such as 0x1F), or is too big for a BigDecimal.
+	 */
+	static Number parse(char[] a, int start, int end)
+	{
+		int i = start;
+		boolean negative = false;
+		if (i < end && (a[i] == '-' || a[i] == '+')) { negative = a[i] == '-'; i += 1; }
+		long mantissa = 0;
+		int significant = 0; // digits in the mantissa, after any leading zeros
+		int digits = 0; // all digits before the exponent
+		int scale = 0; // the power of ten by which the mantissa is to be multiplied
+		char c = 0;
+		for (; i < end; i += 1)
+		{
+			c = a[i];
+			if (c < '0' || c > '9') { break; }
+			digits += 1;
+			if (significant > 0 || c != '0')
+			{
+				if (significant < 18) { mantissa = mantissa * 10 + (c - '0'); }
+				else { scale += 1; } // too many digits to count on; only keep their magnitude
+				significant += 1;
+			}
+		}
+		if (i == end)
+		{
+			if (digits == 0) { return null; }
+			return integer(a, start, end, negative, mantissa, significant);
+		}
+		if (c == '.')
+		{
+			for (i += 1; i < end; i += 1)
+			{
+				c = a[i];
+				if (c < '0' || c > '9') { break; }
+				digits += 1;
+				if (significant > 0 || c != '0')
+				{
+					if (significant < 18) { mantissa = mantissa * 10 + (c - '0'); scale -= 1; }
+					significant += 1;
+				}
+				else { scale -= 1; } // a leading zero of the fraction
+			}
+		}
+		if (digits == 0) { return null; }
+		if (i < end)
+		{
+			if (c != 'e' && c != 'E') { return null; }
+			i += 1;
+			boolean negativeExponent = false;
+			if (i < end && (a[i] == '-' || a[i] == '+')) { negativeExponent = a[i] == '-'; i += 1; }
+			if (i == end) { return null; } // no digits
+			long exponent = 0;
+			for (; i < end; i += 1)
+			{
+				c = a[i];
+				if (c < '0' || c > '9') { return null; }
+				exponent = Math.min(exponent * 10 + (c - '0'), MAX_EXPONENT); // past that, only that it is huge matters
+			}
+			return decimal(a, start, end, negative, mantissa, significant, scale + (negativeExponent ? -exponent : exponent));
+		}
+		return decimal(a, start, end, negative, mantissa, significant, scale);
+	}
+
+
+	/**
+	 * @return True if the text is a number in the grammar of RFC 8259:
+	 * <code>[-] (0 | [1-9] digits) [. digits] [(e|E) [+|-] digits]</code>
+	 */
+	static boolean isStrict(char[] a, int start, int end)
+	{
+		int i = start;
+		if (i < end && a[i] == '-') { i += 1; }
+		if (i == end) { return false; }
+		if (a[i] == '0') { i += 1; }
+		else
+		{
+			int digits = i;
+			while (i < end && a[i] >= '0' && a[i] <= '9') { i += 1; }
+			if (i == digits) { return false; }
+		}
+		if (i < end && a[i] == '.')
+		{
+			int digits = i += 1;
+			while (i < end && a[i] >= '0' && a[i] <= '9') { i += 1; }
+			if (i == digits) { return false; }
+		}
+		if (i < end && (a[i] == 'e' || a[i] == 'E'))
+		{
+			i += 1;
+			if (i < end && (a[i] == '-' || a[i] == '+')) { i += 1; }
+			int digits = i;
+			while (i < end && a[i] >= '0' && a[i] <= '9') { i += 1; }
+			if (i == digits) { return false; }
+		}
+		return i == end;
+	}
+
+
+	private static Number integer(char[] a, int start, int end, boolean negative, long mantissa, int significant)
+	{
+		if (significant > 18)
+		{
+			BigInteger big = new BigInteger(new String(a, start, end - start));
+			return big.bitLength() < 64 ? (Number)big.longValue() : big;
+		}
+		long value = negative ? -mantissa : mantissa;
+		if (value == (int)value) { return (int)value; }
+		return value;
+	}
+
+
+	private static Number decimal(char[] a, int start, int end, boolean negative, long mantissa, int significant, long scale)
+	{
+		double d;
+		if (mantissa == 0) { d = 0; }
+		else if (significant <= 18 && mantissa <= MAX_EXACT && scale >= -22 && scale <= 22)
+		{
+			d = scale < 0 ? mantissa / POWERS_OF_TEN[(int)-scale] : mantissa * POWERS_OF_TEN[(int)scale];
+		}
+		else
+		{
+			String text = new String(a, start, end - start);
+			d = Double.parseDouble(text);
+			if (Double.isInfinite(d))
+			{
+				try { return new BigDecimal(text); }
+				catch (NumberFormatException e) { return null; } // an exponent past what a BigDecimal can hold
+			}
+			return d;
+		}
+		return negative ? -d : d;
+	}
+
+}
@@ -0,0 +1,357 @@
+package com.augur.json;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A JSONNumberList is the List behind a JSONArray of numbers: it holds
+ * Integers in an int[], Longs in a long[], or Doubles in a double[], at 4 or
+ * 8 bytes each instead of a pointer to a boxed number.  Integers may be mixed
+ * with Longs or with Doubles, as when parsing [1, 5000000000] or [0.5, 1]:
+ * the int[] is widened, and a BitSet marks the elements that are Integers,
+ * so get() returns each element as the type that was added.  Any other
+ * element (including a Long among Doubles, which a double could not hold
+ * exactly) copies the elements into an ArrayList, which holds them from then
+ * on; as does inserting or removing an element other than the last.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONNumberList extends AbstractList<Object> implements RandomAccess
+{
+	private static final byte EMPTY = 0, INT = 1, LONG = 2, DOUBLE = 3;
+	private static final int CAPACITY = 10;
+
+	/** The type of number held: INT, LONG or DOUBLE; or EMPTY until the first is added. */
+	private byte kind;
+	private int size;
+	private int[] ints;
+	private long[] longs;
+	private double[] doubles;
+	/** For LONG or DOUBLE, marks the elements that are Integers; or null if none are. */
+	private BitSet integers;
+	/** The ArrayList that holds the elements after one that is not a number; or null. */
+	private ArrayList<Object> delegate;
+	/** The capacity to make the first array with, as given to ensureCapacity() while EMPTY. */
+	private int reserved;
+
+
+	/**
+	 * @param value Any value
+	 * @return True if the value is a number that a JSONNumberList may hold as a primitive.
+	 */
+	static boolean holds(Object value)
+	{
+		return value instanceof Integer || value instanceof Long || value instanceof Double;
+	}
+
+
+	/** @return True if the elements are held as primitives, not yet copied into an ArrayList. */
+	boolean isPrimitive()
+	{
+		return this.delegate == null;
+	}
+
+
+	/** @return The ArrayList holding the elements, boxing them all into it on the first call. */
+	ArrayList<Object> inflate()
+	{
+		if (this.delegate == null)
+		{
+			ArrayList<Object> list = new ArrayList<>(Math.max(CAPACITY, this.size + 1));
+			for (int i = 0; i < this.size; i += 1) { list.add(get(i)); }
+			this.delegate = list;
+			this.kind = EMPTY;
+			this.size = 0;
+			this.ints = null;
+			this.longs = null;
+			this.doubles = null;
+			this.integers = null;
+		}
+		return this.delegate;
+	}
+
+
+	/**
+	 * @return A copy of this list, holding the numbers as primitives as this one does; only while isPrimitive().
+	 */
+	JSONNumberList copy()
+	{
+		JSONNumberList list = new JSONNumberList();
+		list.kind = this.kind;
+		list.size = this.size;
+		if (this.kind == INT) { list.ints = Arrays.copyOf(this.ints, this.size); }
+		else if (this.kind == LONG) { list.longs = Arrays.copyOf(this.longs, this.size); }
+		else if (this.kind == DOUBLE) { list.doubles = Arrays.copyOf(this.doubles, this.size); }
+		if (this.integers != null) { list.integers = (BitSet)this.integers.clone(); }
+		return list;
+	}
+
+
+	@Override public int size() { return this.delegate != null ? this.delegate.size() : this.size; }
+
+
+	@Override public Object get(int i)
+	{
+		if (this.delegate != null) { return this.delegate.get(i); }
+		Objects.checkIndex(i, this.size);
+		if (this.kind == INT) { return Integer.valueOf(this.ints[i]); }
+		if (this.kind == LONG) { return isInteger(i) ? Integer.valueOf((int)this.longs[i]) : (Object)Long.valueOf(this.longs[i]); }
+		return isInteger(i) ? Integer.valueOf((int)this.doubles[i]) : (Object)Double.valueOf(this.doubles[i]);
+	}
+
+
+	private boolean isInteger(int i)
+	{
+		return this.integers != null && this.integers.get(i);
+	}
+
+
+	/** @return The element at i, which must be in range, as a double; only while isPrimitive(). */
+	double getDouble(int i)
+	{
+		if (this.kind == INT) { return this.ints[i]; }
+		if (this.kind == LONG) { return this.longs[i]; }
+		return this.doubles[i];
+	}
+
+
+	/** @return The element at i, which must be in range, as a long; only while isPrimitive(). */
+	long getLong(int i)
+	{
+		if (this.kind == INT) { return this.ints[i]; }
+		if (this.kind == LONG) { return this.longs[i]; }
+		return (long)this.doubles[i];
+	}
+
+
+	/** @return The element at i, which must be in range, as an int; only while isPrimitive(). */
+	int getInt(int i)
+	{
+		if (this.kind == INT) { return this.ints[i]; }
+		if (this.kind == LONG) { return (int)this.longs[i]; }
+		return (int)this.doubles[i];
+	}
+
+
+	/**
+	 * @return The JSON text of the element at i, as JSONObject.numberToString()
+	 * would make it; only while isPrimitive().
+	 * @throws IllegalArgumentException If it is not finite, as JSONObject.testValidity() throws.
+	 */
+	String numberToString(int i)
+	{
+		Objects.checkIndex(i, this.size);
+		if (this.kind == INT) { return Integer.toString(this.ints[i]); }
+		if (this.kind == LONG) { return Long.toString(this.longs[i]); }
+		double d = this.doubles[i];
+		if (isInteger(i)) { return Integer.toString((int)d); }
+		if (!Double.isFinite(d)) { JSONObject.testValidity(Double.valueOf(d)); }
+		return JSONObject.doubleToString(d);
+	}
+
+
+	/** @return The elements as doubles; only while isPrimitive(). */
+	double[] toDoubleArray()
+	{
+		if (this.kind == DOUBLE) { return Arrays.copyOf(this.doubles, this.size); }
+		double[] a = new double[this.size];
+		for (int i = 0; i < this.size; i += 1) { a[i] = getDouble(i); }
+		return a;
+	}
+
+
+	/** @return The elements as longs; only while isPrimitive(). */
+	long[] toLongArray()
+	{
+		if (this.kind == LONG) { return Arrays.copyOf(this.longs, this.size); }
+		long[] a = new long[this.size];
+		for (int i = 0; i < this.size; i += 1) { a[i] = getLong(i); }
+		return a;
+	}
+
+
+	/** @return The elements as ints; only while isPrimitive(). */
+	int[] toIntArray()
+	{
+		if (this.kind == INT) { return Arrays.copyOf(this.ints, this.size); }
+		int[] a = new int[this.size];
+		for (int i = 0; i < this.size; i += 1) { a[i] = getInt(i); }
+		return a;
+	}
+
+
+	/**
+	 * Make room for the given count of elements, so adding them does not grow the array again.
+	 */
+	void ensureCapacity(int capacity)
+	{
+		if (this.delegate != null) { this.delegate.ensureCapacity(capacity); }
+		else if (this.kind == EMPTY) { this.reserved = capacity; }
+		else if (this.kind == INT && this.ints.length < capacity) { this.ints = Arrays.copyOf(this.ints, capacity); }
+		else if (this.kind == LONG && this.longs.length < capacity) { this.longs = Arrays.copyOf(this.longs, capacity); }
+		else if (this.kind == DOUBLE && this.doubles.length < capacity) { this.doubles = Arrays.copyOf(this.doubles, capacity); }
+	}
+
+
+	/**
+	 * Start holding the given kind of number, in an array with room for one more element.
+	 */
+	private void become(byte kind)
+	{
+		int capacity = Math.max(this.reserved, this.size < CAPACITY ? CAPACITY : this.size + (this.size >> 1));
+		this.reserved = 0;
+		if (kind == INT)
+		{
+			if (this.ints == null || this.ints.length < capacity) { this.ints = new int[capacity]; }
+		}
+		else if (kind == LONG)
+		{
+			long[] a = this.longs != null && this.longs.length >= capacity ? this.longs : new long[capacity];
+			if (this.kind == INT) { for (int i = 0; i < this.size; i += 1) { a[i] = this.ints[i]; } }
+			this.longs = a;
+		}
+		else
+		{
+			double[] a = this.doubles != null && this.doubles.length >= capacity ? this.doubles : new double[capacity];
+			if (this.kind == INT) { for (int i = 0; i < this.size; i += 1) { a[i] = this.ints[i]; } }
+			this.doubles = a;
+		}
+		if (this.kind == INT)
+		{
+			this.ints = null;
+			if (this.size > 0)
+			{
+				this.integers = new BitSet(this.size);
+				this.integers.set(0, this.size);
+			}
+		}
+		this.kind = kind;
+	}
+
+
+	/**
+	 * Make room to append an element to the array of the current kind.
+	 */
+	private void grow()
+	{
+		int length = this.kind == INT ? this.ints.length : this.kind == LONG ? this.longs.length : this.doubles.length;
+		if (this.size == length) { ensureCapacity(Math.max(CAPACITY, length + (length >> 1))); }
+	}
+
+
+	private void markInteger(int i, boolean integer)
+	{
+		if (integer)
+		{
+			if (this.integers == null) { this.integers = new BitSet(); }
+			this.integers.set(i);
+		}
+		else if (this.integers != null) { this.integers.clear(i); }
+	}
+
+
+	/**
+	 * Set the element at i, or append it if i is the size.
+	 * @return False if the element cannot be held as a primitive.
+	 */
+	boolean setInt(int i, int value)
+	{
+		if (this.delegate != null) { return false; }
+		if (this.kind == EMPTY) { become(INT); }
+		if (i == this.size) { grow(); }
+		if (this.kind == INT) { this.ints[i] = value; }
+		else if (this.kind == LONG) { this.longs[i] = value; markInteger(i, true); }
+		else { this.doubles[i] = value; markInteger(i, true); }
+		if (i == this.size) { this.size += 1; }
+		return true;
+	}
+
+
+	/**
+	 * Set the element at i, or append it if i is the size.
+	 * @return False if the element cannot be held as a primitive.
+	 */
+	boolean setLong(int i, long value)
+	{
+		if (this.delegate != null || this.kind == DOUBLE) { return false; }
+		if (this.kind != LONG) { become(LONG); }
+		if (i == this.size) { grow(); }
+		this.longs[i] = value;
+		markInteger(i, false);
+		if (i == this.size) { this.size += 1; }
+		return true;
+	}
+
+
+	/**
+	 * Set the element at i, or append it if i is the size.
+	 * @return False if the element cannot be held as a primitive.
+	 */
+	boolean setDouble(int i, double value)
+	{
+		if (this.delegate != null || this.kind == LONG) { return false; }
+		if (this.kind != DOUBLE) { become(DOUBLE); }
+		if (i == this.size) { grow(); }
+		this.doubles[i] = value;
+		markInteger(i, false);
+		if (i == this.size) { this.size += 1; }
+		return true;
+	}
+
+
+	/**
+	 * Set the element at i, or append it if i is the size.
+	 * @return False if the element cannot be held as a primitive.
+	 */
+	private boolean setNumber(int i, Object value)
+	{
+		if (value instanceof Integer n) { return setInt(i, n); }
+		if (value instanceof Long n) { return setLong(i, n); }
+		if (value instanceof Double n) { return setDouble(i, n); }
+		return false;
+	}
+
+
+	@Override public Object set(int i, Object value)
+	{
+		if (this.delegate != null) { return this.delegate.set(i, value); }
+		Object old = get(i);
+		if (!setNumber(i, value)) { inflate().set(i, value); }
+		return old;
+	}
+
+
+	@Override public void add(int i, Object value)
+	{
+		if (this.delegate != null || i != this.size || !setNumber(i, value)) { inflate().add(i, value); }
+		this.modCount += 1;
+	}
+
+
+	@Override public Object remove(int i)
+	{
+		Object o;
+		if (this.delegate == null && i == this.size - 1) { o = get(i); markInteger(i, false); this.size -= 1; }
+		else { o = inflate().remove(i); }
+		this.modCount += 1;
+		return o;
+	}
+
+
+	/**
+	 * Remove all the elements, keeping the primitive array (but not an ArrayList) for reuse.
+	 */
+	@Override public void clear()
+	{
+		this.delegate = null;
+		this.kind = EMPTY;
+		this.size = 0;
+		this.integers = null;
+		this.modCount += 1;
+	}
+
+}
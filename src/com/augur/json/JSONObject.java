@@ -25,10 +25,8 @@ SOFTWARE.
 */
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.Serializable;
 import java.io.Writer;
@@ -47,6 +45,7 @@ import java.util.NavigableSet;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A JSONObject is an unordered collection of name/value pairs. Its
@@ -99,13 +98,20 @@ import java.util.TreeSet;
  * @author JSON.org
  * @version 2010-12-28
  * @version 2025-04-18 Simplify '#' code, now supporting comment starting anywhere in line
+ * @version 2026-10-17 Keep the keys and values of a small object in a flat array, not a HashMap
+ * @version 2026-10-17 Share the keys of objects that have the same keys, as a JSONShape
+ * @version 2026-10-17 Add freeze(), with() and without(), for immutable objects that share their unchanged values
+ * @version 2026-10-17 Support ConcurrentJSONObject, copying or freezing its counters as their sums
  */
 public class JSONObject implements Serializable 
 {
 
 
   /**
-   * The map where the JSONObject's properties are kept.
+   * The map where the JSONObject's properties are kept: a JSONSmallMap,
+   * which moves them to a HashMap if there are many; a JSONLazyMap for a
+   * JSONObject made by newLazy(); a JSONFrozenMap for a frozen one; or a
+   * JSONConcurrentMap for a ConcurrentJSONObject.
    */
   private Map<String,Object> map;
 
@@ -114,17 +120,194 @@ public class JSONObject implements Serializable
    * Construct an empty JSONObject.
    */
   public JSONObject() {
-    this.map = new HashMap<>();
+    this.map = new JSONSmallMap();
   }
 
+  /**
+   * Construct a lazy view of an object node of a JSONIndex.
+   */
+  JSONObject(JSONIndex index, int node) {
+    this.map = new JSONLazyMap(index, node);
+  }
+
+
+  /**
+   * Make a lazy JSONObject from a source JSON text.  The text is scanned
+   * once, to check its syntax and index where each key and value starts and
+   * ends, but no key or value is decoded until it is first used; so reading
+   * a few keys of a large object is much cheaper than with the
+   * JSONObject(String) constructor.  Nested objects and arrays are lazy too.
+   * The first change to the object (or to a nested object or array) copies
+   * its entries into the usual HashMap.
+   * <p>
+   * A lazy JSONObject is not thread-safe, even if it is only read, because
+   * reading a value decodes and keeps it.
+   * @param source A string that begins with '{'
+   * @return A new lazy JSONObject.
+   * @throws JSONException If there is a syntax error.
+   */
+  public static JSONObject newLazy(String source) throws JSONException
+  {
+    return newLazy(source, null);
+  }
+
+
+  /**
+   * Make a lazy JSONObject from a source JSON text, as newLazy(String) does,
+   * but parsed with the given options: in strict mode, and within the
+   * limits, such as the nesting depth, that they set.
+   * @param source A string that begins with '{'
+   * @param options The JSONParserOptions, or null for the defaults
+   * @return A new lazy JSONObject.
+   * @throws JSONException If there is a syntax error, or a limit of the options is exceeded.
+   */
+  public static JSONObject newLazy(String source, JSONParserOptions options) throws JSONException
+  {
+    JSONIndex index = new JSONIndex(source.toCharArray(), options);
+    if (index.kind(0) != JSONIndex.OBJECT) { throw new JSONException("A JSONObject text must begin with '{'"); }
+    return new JSONObject(index, 0);
+  }
+
+
   /** 
    * Makes a completely independent deep copy of the given JSONObject with no references to the source object or its contents.
-   * @param src The JSONException to be copied
+   * The nested JSONObjects and JSONArrays are copied in turn, directly (not by way of JSON text), but
+   * the immutable values within them (String, Number, Boolean, and null) are shared; as is any
+   * other object that has been put, which copying by text would have turned into a String or number.
+   * An object with the same keys as others keeps sharing their JSONShape.
+   * @param src The JSONObject to be copied
    * @throws JSONException very unlikely or impossible
    */
   public JSONObject(JSONObject src) throws JSONException
   {
-    this(src.toString());
+    if (src.map instanceof JSONSmallMap small) { this.map = small.copy(); }
+    else 
+    {
+      this.map = src.map.size() > JSONSmallMap.THRESHOLD ? new HashMap<>(Math.max(16, src.map.size() * 2)) : new JSONSmallMap();
+      for (Map.Entry<String,Object> e : src.map.entrySet()) { this.map.put(e.getKey(), copy(e.getValue())); }
+    }
+  }
+
+
+  /**
+   * @return A deep copy of a JSONObject or JSONArray, the current sum of a
+   * ConcurrentJSONObject's counter, or else the value itself.
+   */
+  static Object copy(Object value)
+  {
+    if (value instanceof LongAdder counter) { return counter.sum(); }
+    try 
+    {
+      if (value instanceof JSONObject jo) { return new JSONObject(jo); }
+      if (value instanceof JSONArray ja) { return new JSONArray(ja); }
+    }
+    catch (JSONException impossible) { throw new IllegalStateException(impossible); }
+    return value;
+  }
+
+
+  /**
+   * Construct a ConcurrentJSONObject over its JSONConcurrentMap.
+   */
+  JSONObject(JSONConcurrentMap map) {
+    this.map = map;
+  }
+
+
+  /**
+   * Construct a frozen JSONObject over a JSONFrozenMap.
+   */
+  JSONObject(JSONFrozenMap map) {
+    this.map = map;
+  }
+
+
+  /**
+   * Make a frozen copy of this JSONObject, which can never change: its nested
+   * objects and arrays are frozen too, and put() or remove() on any of them
+   * throws an UnsupportedOperationException.  New versions of it are made by
+   * with() and without(), which share all but the changed key with it, so a
+   * large document can be changed one key at a time without copying it all.
+   * <p>
+   * A frozen JSONObject is thread-safe, so one that is shared (say, through
+   * a volatile field or an AtomicReference, to which each new version is
+   * set) can be read by any number of threads without locking.  Its keys are
+   * iterated in the order of their hashes, not the order they were put in.
+   * To change it in place instead, copy it with the JSONObject(JSONObject)
+   * constructor, which makes an ordinary JSONObject.
+   * @return A frozen copy of this JSONObject; or this one, if it is already frozen.
+   */
+  public JSONObject freeze()
+  {
+    if (this.map instanceof JSONFrozenMap) { return this; }
+    JSONFrozenMap map = JSONFrozenMap.EMPTY;
+    for (Map.Entry<String,Object> e : this.map.entrySet()) { map = map.with(e.getKey(), freeze(e.getValue())); }
+    return new JSONObject(map);
+  }
+
+
+  /**
+   * @return True if this JSONObject was made by freeze(), with() or without(), so can never change.
+   */
+  public boolean isFrozen()
+  {
+    return this.map instanceof JSONFrozenMap;
+  }
+
+
+  /**
+   * Make a new version of this frozen JSONObject with a key set to a value
+   * (freezing this one first, if it is not).  This JSONObject is not
+   * changed, and the new one shares with it every value but the one put.  A
+   * JSONObject or JSONArray value is frozen first (so a mutable one is
+   * copied, and later changes to it are not seen).
+   * @param key   A key string.
+   * @param value An object which is the value, as for put().
+   * @return A frozen JSONObject with the key set; or the frozen one, if the key is already set to the very same value.
+   * @throws NullPointerException If the key is null.
+   * @throws IllegalArgumentException If the value is a non-finite number.
+   */
+  public JSONObject with(String key, Object value)
+  {
+    if (key == null) { throw new NullPointerException("Null key."); }
+    testValidity(value);
+    JSONObject frozen = freeze();
+    JSONFrozenMap next = frozen.frozenMap().with(key, freeze(value));
+    return next == frozen.map ? frozen : new JSONObject(next);
+  }
+
+
+  /**
+   * Make a new version of this frozen JSONObject without a key (freezing
+   * this one first, if it is not).  This JSONObject is not changed, and the
+   * new one shares with it every other value.
+   * @param key A key string.
+   * @return A frozen JSONObject without the key; or the frozen one, if it has no such key.
+   */
+  public JSONObject without(String key)
+  {
+    JSONObject frozen = freeze();
+    JSONFrozenMap next = key == null ? frozen.frozenMap() : frozen.frozenMap().without(key);
+    return next == frozen.map ? frozen : new JSONObject(next);
+  }
+
+
+  private JSONFrozenMap frozenMap()
+  {
+    return (JSONFrozenMap)this.map;
+  }
+
+
+  /**
+   * @return A JSONObject or JSONArray frozen, the current sum of a
+   * ConcurrentJSONObject's counter, or else the value itself.
+   */
+  static Object freeze(Object value)
+  {
+    if (value instanceof LongAdder counter) { return counter.sum(); }
+    if (value instanceof JSONObject jo) { return jo.freeze(); }
+    if (value instanceof JSONArray ja) { return ja.freeze(); }
+    return value;
   }
 
 
@@ -156,7 +339,7 @@ public class JSONObject implements Serializable
    */
   public JSONObject(Map map) throws JSONException
   {
-    this.map = new HashMap<>();
+    this.map = map != null && map.size() > JSONSmallMap.THRESHOLD ? new HashMap<>() : new JSONSmallMap();
     if (map != null) 
     {
       Iterator i = map.entrySet().iterator();
@@ -190,6 +373,8 @@ public class JSONObject implements Serializable
 
 /**
  * Constructs the JSONObject by reading the given file.
+ * A UTF-8 file is parsed directly from memory-mapped bytes (see JSONMappedTokener), and a file in
+ * another Charset is streamed through a Reader.  Either way, the file is closed.
  * @param file The File to load the JSON text
  * @param charset The Charset to decode text from the binary stream
  * for example StandardCharsets.ISO_8859_1 (for HTTP POST) or StandardCharsets.UTF_8.
@@ -198,7 +383,8 @@ public class JSONObject implements Serializable
  */
 public JSONObject(File file, Charset charset) throws JSONException, IOException
 {
-  this(new InputStreamReader(new FileInputStream(file), charset));
+  this();
+  JSONMappedTokener.parse(file, charset, this::parse);
 }
 
 
@@ -322,6 +508,23 @@ public static final String LS = System.lineSeparator();
   }
 
 
+  /**
+   * Construct a JSONObject from only the parts of a source JSON text that
+   * are selected by a JSONProjection; everything else is skipped without
+   * being converted to Java objects.
+   * @param source    A string beginning
+   *  with <code>{</code>&nbsp;<small>(left brace)</small> and ending
+   *  with <code>}</code>&nbsp;<small>(right brace)</small>.
+   * @param projection The paths to be kept
+   * @exception JSONException If there is a syntax error in the source string.
+   */
+  public JSONObject(String source, JSONProjection projection) throws JSONException 
+  {
+    this();
+    parse(new JSONTokener(source), projection);
+  }
+
+
   /**
    * Construct a JSONObject from a ResourceBundle.
    * @param baseName The ResourceBundle base name.
@@ -382,40 +585,41 @@ public static final String LS = System.lineSeparator();
   public final void parse(JSONTokener x) throws JSONException
   {
     char c;
-    String key;
     if ((c=x.nextClean()) != '{') { throw x.syntaxError("A JSONObject must begin with '{' but found '"+JSONTokener.toString(c)+"'"); }
-    for (;;) 
+    x.enter();
+    try
     {
-      c = x.nextClean();
-      switch (c) 
-      {
-        case 0:
-          throw x.syntaxError("A JSONObject text must end with '}', but reached EOF");
-        case '}':
-          return;
-        default:
-          x.back();
-          key = x.nextValue().toString();
-      }
-      // The key is followed by ':'. We will also tolerate '=' or '=>'.
-      c = x.nextClean();
-      if (c == '=') { if (x.next() != '>') { x.back(); } } 
-      else if (c != ':') { throw x.syntaxError("Expected a ':' after a key but found '"+JSONTokener.toString(c)+"'"); }
-      put(key, x.nextValue());
-      // Pairs are separated by ','. We will also tolerate ';'.
-      switch (x.nextClean()) 
+      if (x.nextClean() == '}') { return; }
+      x.back();
+      for (int count = 1; ; count += 1) 
       {
-        case ';':
-        case ',':
-          if (x.nextClean() == '}') { return; }
-          x.back();
-          break;
-        case '}':
-          return;
-        default:
-          throw x.syntaxError("Expected a ',' or '}' but found '"+JSONTokener.toString(c)+"'"); 
+        if (x.nextClean() == 0) { throw x.syntaxError("A JSONObject text must end with '}', but reached EOF"); }
+        x.back();
+        x.checkKeys(count);
+        String key = x.nextKey();
+        // The key is followed by ':'. Unless strict, we will also tolerate '=' or '=>'.
+        x.nextColon();
+        put(key, x.nextValue());
+        // Pairs are separated by ','. Unless strict, we will also tolerate ';', and a trailing separator.
+        if (x.nextSeparator('}') == '}') { return; }
       }
     }
+    finally { x.exit(); }
+  }
+
+
+  /**
+   * Parse only the parts of a JSON object text that are selected by a 
+   * JSONProjection, putting them into this JSONObject.
+   * @param x A JSONTokener positioned at the object
+   * @param projection The paths to be kept
+   * @throws JSONException If there is a syntax error.
+   */
+  public final void parse(JSONTokener x, JSONProjection projection) throws JSONException
+  {
+    JSONReader r = new JSONReader(x);
+    if (r.next() != JSONReader.Event.START_OBJECT) { throw x.syntaxError("A JSONObject must begin with '{'"); }
+    projection.readObject(r, this);
   }
 
 
@@ -1302,6 +1506,15 @@ public static final String LS = System.lineSeparator();
     this.map.clear();
   }
 
+
+  /**
+   * @return A live view of the values, for JSONPool.
+   */
+  Collection<Object> values()
+  {
+    return this.map.values();
+  }
+
   /**
    * Get an enumeration of the keys of the JSONObject.
    * The keys will be sorted alphabetically.
@@ -1314,7 +1527,8 @@ public static final String LS = System.lineSeparator();
 
   /**
    * Try to convert a string into a number, boolean, or null. If the string
-   * can't be converted, return the string.
+   * can't be converted, return the string.  A number that is too big for a
+   * long or a double is converted to a BigInteger or BigDecimal.
    * @param string A String.
    * @return A simple JSON value.
    */
@@ -1322,6 +1536,14 @@ public static final String LS = System.lineSeparator();
       if (string.equals("")) {
           return string;
       }
+      char b = string.charAt(0);
+      if ((b >= '0' && b <= '9') || b == '.' || b == '-' || b == '+') {
+          char[] chars = string.toCharArray();
+          Number number = JSONNumberLexer.parse(chars, 0, chars.length);
+          if (number != null) {
+              return number;
+          }
+      }
       if (string.equalsIgnoreCase("true")) {
           return Boolean.TRUE;
       }
@@ -1333,7 +1555,7 @@ public static final String LS = System.lineSeparator();
       }
 
       /*
-       * If it might be a number, try converting it. 
+       * If it might be a number in some other form, try converting it. 
        * We support the non-standard 0x- convention. 
        * If a number cannot be produced, then the value will just
        * be a string. Note that the 0x-, plus, and implied string
@@ -1341,7 +1563,6 @@ public static final String LS = System.lineSeparator();
        * non-JSON forms as long as it accepts all correct JSON forms.
        */
 
-      char b = string.charAt(0);
       if ((b >= '0' && b <= '9') || b == '.' || b == '-' || b == '+') {
           if (b == '0' && string.length() > 2 &&
                       (string.charAt(1) == 'x' || string.charAt(1) == 'X')) {
@@ -1353,7 +1574,10 @@ public static final String LS = System.lineSeparator();
           try {
               if (string.indexOf('.') > -1 || 
                       string.indexOf('e') > -1 || string.indexOf('E') > -1) {
-                  return Double.valueOf(string);
+                  Double d = Double.valueOf(string);
+                  if (Double.isFinite(d)) {
+                      return d; // else it is no JSON value, and stays a string
+                  }
               } else {
                   Long myLong = Long.valueOf(string);
                   if (myLong.longValue() == myLong.intValue()) {
@@ -1369,6 +1593,49 @@ public static final String LS = System.lineSeparator();
   }
 
 
+  /**
+   * Convert unquoted text, such as a number, true, false, or null, to a value
+   * as stringToValue() does, but without making a String of a number or keyword.
+   * @param chars The chars holding the text, which must be trimmed and not empty
+   * @param start The offset of the first char of the text
+   * @param end The offset just past the last char of the text
+   * @return A simple JSON value.
+   */
+  static Object stringToValue(char[] chars, int start, int end) {
+      char b = chars[start];
+      if ((b >= '0' && b <= '9') || b == '.' || b == '-' || b == '+') {
+          Number number = JSONNumberLexer.parse(chars, start, end);
+          if (number != null) {
+              return number;
+          }
+      }
+      else if (isKeyword(chars, start, end, "true")) {
+          return Boolean.TRUE;
+      }
+      else if (isKeyword(chars, start, end, "false")) {
+          return Boolean.FALSE;
+      }
+      else if (isKeyword(chars, start, end, "null")) {
+          return null;
+      }
+      return stringToValue(new String(chars, start, end - start));
+  }
+
+
+  /** @return True if the text is the keyword, in upper or lower case ASCII letters. */
+  private static boolean isKeyword(char[] chars, int start, int end, String keyword) {
+      if (end - start != keyword.length()) {
+          return false;
+      }
+      for (int i = 0; i < keyword.length(); i++) {
+          if ((chars[start + i] | 0x20) != keyword.charAt(i)) {
+              return false;
+          }
+      }
+      return true;
+  }
+
+
   /**
    * Throw an exception if the object is a NaN or infinite number.
    * @param o The object to test.
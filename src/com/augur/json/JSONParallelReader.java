@@ -0,0 +1,455 @@
+package com.augur.json;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A JSONParallelReader parses large UTF-8 inputs on many cores at once:
+ * newline-delimited JSON (one object per line; see NDJSONReader), or the
+ * elements of a top-level JSON array.
+ * <p>
+ * NDJSON is split into chunks of about chunkSize bytes, each of which is
+ * read (with positional reads of the file, so there is no shared stream)
+ * and parsed by its own task.  A chunk takes the lines that start within it,
+ * reading on past its end to finish its last line; since a newline cannot
+ * occur within a JSON string, every newline is a safe record boundary.
+ * <p>
+ * The elements of an array cannot be found without scanning from its start,
+ * so a JSONIncrementalParser frames them on the calling thread (which is
+ * cheap: nothing is decoded) and batches of them are parsed in parallel.
+ * Any other top-level values are returned whole.
+ * <p>
+ * Results are in input order by default, or in any order if ordered is false,
+ * which needs less buffering.  They are delivered either as a parallel Stream
+ * (which should be closed, e.g. with try-with-resources, to close the file),
+ * or to a Consumer:
+ * <pre>
+ * JSONParallelReader reader = new JSONParallelReader().setOrdered(false);
+ * try (Stream&lt;JSONObject&gt; events = reader.lines(new File("export.ndjson")))
+ * {
+ *   long errors = events.filter(e -&gt; e.has("error")).count();
+ * }
+ * reader.forEachLine(file, event -&gt; index.add(event)); // index must be thread-safe when unordered</pre>
+ * Streams run in the common ForkJoinPool, and forEach methods in the pool
+ * set by setPool().  A syntax error or I/O error while a Stream is consumed
+ * is thrown as a CompletionException, whose cause is the JSONException or
+ * IOException; or, when the pool rethrows it from another thread, wrapped
+ * in a further CompletionException.  forEach methods unwrap it, and throw
+ * the JSONException or IOException directly.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+public class JSONParallelReader
+{
+	/** The default size of a chunk of input for one task, in bytes. */
+	public static final int CHUNK_SIZE = 8 << 20;
+	/** The size of the further reads made to finish a chunk's last line, and of the blocks fed to frame array elements. */
+	private static final int BLOCK_SIZE = 64 << 10;
+
+	private boolean ordered = true;
+	private int chunkSize = CHUNK_SIZE;
+	private ForkJoinPool pool;
+
+
+	/**
+	 * Construct a JSONParallelReader that delivers results in order, from
+	 * chunks of CHUNK_SIZE bytes, using the common ForkJoinPool.
+	 */
+	public JSONParallelReader() { }
+
+
+	/**
+	 * @param ordered True to deliver results in input order; false for any order
+	 * @return this.
+	 */
+	public JSONParallelReader setOrdered(boolean ordered)
+	{
+		this.ordered = ordered;
+		return this;
+	}
+
+
+	/**
+	 * @param chunkSize The size of a chunk of input for one task, in bytes
+	 * @return this.
+	 * @throws IllegalArgumentException If the size is not positive.
+	 */
+	public JSONParallelReader setChunkSize(int chunkSize)
+	{
+		if (chunkSize <= 0) { throw new IllegalArgumentException("Bad chunk size: " + chunkSize); }
+		this.chunkSize = chunkSize;
+		return this;
+	}
+
+
+	/**
+	 * @param pool The ForkJoinPool in which forEach methods parse, or null for the common pool
+	 * @return this.
+	 */
+	public JSONParallelReader setPool(ForkJoinPool pool)
+	{
+		this.pool = pool;
+		return this;
+	}
+
+
+	/**
+	 * Parse the lines of an NDJSON file in parallel.
+	 * @param file A UTF-8 file with one JSON object per line
+	 * @return A parallel Stream of the objects, which should be closed to close the file.
+	 * @throws IOException If the file cannot be opened.
+	 */
+	public Stream<JSONObject> lines(File file) throws IOException
+	{
+		Source source = new FileSource(file);
+		return lines(source).onClose(source::close);
+	}
+
+
+	/**
+	 * Parse the lines of NDJSON text in parallel.
+	 * @param utf8 The UTF-8 text, with one JSON object per line, from its
+	 * position to its limit; the buffer's position is not changed.
+	 * @return A parallel Stream of the objects.
+	 */
+	public Stream<JSONObject> lines(ByteBuffer utf8)
+	{
+		return lines(new BufferSource(utf8));
+	}
+
+
+	/**
+	 * Parse the elements of a top-level array in a file in parallel.
+	 * @param file A UTF-8 file holding a JSON array
+	 * @return A parallel Stream of the elements, which should be closed to close the file.
+	 * @throws IOException If the file cannot be opened.
+	 */
+	public Stream<Object> elements(File file) throws IOException
+	{
+		Source source = new FileSource(file);
+		return elements(source).onClose(source::close);
+	}
+
+
+	/**
+	 * Parse the elements of a top-level array in parallel.
+	 * @param utf8 The UTF-8 text of a JSON array, from its position to its
+	 * limit; the buffer's position is not changed.
+	 * @return A parallel Stream of the elements.
+	 */
+	public Stream<Object> elements(ByteBuffer utf8)
+	{
+		return elements(new BufferSource(utf8));
+	}
+
+
+	/**
+	 * Parse the lines of an NDJSON file in parallel, passing each object to a
+	 * consumer.  If ordered is false, the consumer is called by many threads at once.
+	 * @param file A UTF-8 file with one JSON object per line
+	 * @param consumer The consumer of the objects
+	 * @throws JSONException If there is a syntax error.
+	 * @throws IOException If the file cannot be read.
+	 */
+	public void forEachLine(File file, Consumer<? super JSONObject> consumer) throws JSONException, IOException
+	{
+		try (Stream<JSONObject> lines = lines(file)) { forEach(lines, consumer); }
+	}
+
+
+	/**
+	 * Parse the elements of a top-level array in a file in parallel, passing
+	 * each to a consumer.  If ordered is false, the consumer is called by many threads at once.
+	 * @param file A UTF-8 file holding a JSON array
+	 * @param consumer The consumer of the elements
+	 * @throws JSONException If there is a syntax error.
+	 * @throws IOException If the file cannot be read.
+	 */
+	public void forEachElement(File file, Consumer<Object> consumer) throws JSONException, IOException
+	{
+		try (Stream<Object> elements = elements(file)) { forEach(elements, consumer); }
+	}
+
+
+	private <T> void forEach(Stream<T> stream, Consumer<? super T> consumer) throws JSONException, IOException
+	{
+		Runnable task = this.ordered ? () -> stream.forEachOrdered(consumer) : () -> stream.forEach(consumer);
+		try
+		{
+			if (this.pool == null) { task.run(); }
+			else { this.pool.submit(task).get(); }
+		}
+		catch (CompletionException | ExecutionException e) { throw unwrap(e); }
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new JSONException(e);
+		}
+	}
+
+
+	/**
+	 * Find the cause of a task's failure within the CompletionExceptions and
+	 * ExecutionExceptions that wrap it, however deep (a task in a pool
+	 * that fails in a Stream is wrapped by both).
+	 * @return The JSONException; an IOException, or any other exception (e.g. from a consumer), is thrown as it is.
+	 */
+	private static JSONException unwrap(Exception e) throws IOException
+	{
+		Throwable t = e;
+		while ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null) { t = t.getCause(); }
+		if (t instanceof IOException io) { throw io; }
+		if (t instanceof JSONException je) { return je; }
+		if (t instanceof RuntimeException r) { throw r; }
+		if (t instanceof Error error) { throw error; }
+		return new JSONException(t);
+	}
+
+
+	private Stream<JSONObject> lines(Source source)
+	{
+		long size = source.size(), chunk = this.chunkSize;
+		int chunks = (int)((size + chunk - 1) / chunk);
+		Stream<JSONObject> lines = IntStream.range(0, chunks).parallel()
+			.mapToObj(i -> parseLines(source, i * chunk, Math.min(size, (i + 1) * chunk)))
+			.flatMap(List::stream);
+		return this.ordered ? lines : lines.unordered();
+	}
+
+
+	/** Parse the lines that start within the chunk from start to end. */
+	private static List<JSONObject> parseLines(Source source, long start, long end)
+	{
+		try
+		{
+			long from = start == 0 ? 0 : start - 1; // to see if the chunk starts a line
+			byte[] bytes = source.read(from, (int)(end - from));
+			int last = bytes.length - 1; // the chunk's last byte
+			int begin = 0;
+			if (start > 0)
+			{
+				begin = indexOfNewline(bytes, 0, bytes.length) + 1;
+				if (begin == 0) { return List.of(); } // a line that started in an earlier chunk spans this one
+			}
+			// read on to the end of the line that holds the chunk's last byte
+			int stop = indexOfNewline(bytes, last, bytes.length);
+			while (stop < 0 && from + bytes.length < source.size())
+			{
+				int n = bytes.length;
+				byte[] more = source.read(from + n, (int)Math.min(BLOCK_SIZE, source.size() - from - n));
+				bytes = Arrays.copyOf(bytes, n + more.length);
+				System.arraycopy(more, 0, bytes, n, more.length);
+				stop = indexOfNewline(bytes, n, bytes.length);
+			}
+			stop = stop < 0 ? bytes.length : stop + 1;
+			List<JSONObject> lines = new ArrayList<>();
+			if (begin >= stop) { return lines; }
+			JSONTokener x = new JSONByteTokener(bytes, begin, stop - begin);
+			try
+			{
+				while (x.nextClean() != 0)
+				{
+					x.back();
+					lines.add(new JSONObject(x));
+					NDJSONReader.endLine(x);
+				}
+			}
+			catch (JSONException e) { throw new JSONException("In the lines from byte " + (from + begin) + ": " + e.getMessage(), e); }
+			return lines;
+		}
+		catch (IOException | JSONException e) { throw new CompletionException(e); }
+	}
+
+
+	private static int indexOfNewline(byte[] bytes, int from, int to)
+	{
+		for (int i = from; i < to; i += 1)
+		{
+			if (bytes[i] == '\n') { return i; }
+		}
+		return -1;
+	}
+
+
+	private Stream<Object> elements(Source source)
+	{
+		Stream<Object> elements = StreamSupport.stream(new Batches(source, this.chunkSize), true)
+			.map(JSONParallelReader::parseElements)
+			.flatMap(List::stream);
+		return this.ordered ? elements : elements.unordered();
+	}
+
+
+	/** Parse a batch of framed values. */
+	private static List<Object> parseElements(List<JSONTokener> batch)
+	{
+		List<Object> elements = new ArrayList<>(batch.size());
+		try
+		{
+			for (JSONTokener x : batch)
+			{
+				elements.add(x.nextValue());
+				if (x.nextClean() != 0) { throw x.syntaxError("Unexpected text after a value"); }
+			}
+		}
+		catch (JSONException e) { throw new CompletionException(e); }
+		return elements;
+	}
+
+
+
+	/**
+	 * The batches of framed array elements, each from about chunkSize bytes
+	 * of input.  Each split hands out just the next batch, so batches are
+	 * framed only about as fast as the tasks parse them, and few are held
+	 * at once; where a split of unknown size in general takes a growing
+	 * number of elements (1024 and more), which here would be gigabytes.
+	 */
+	private static final class Batches implements Spliterator<List<JSONTokener>>
+	{
+		private final Source source;
+		private final int chunkSize;
+		private final JSONIncrementalParser parser = new JSONIncrementalParser(true);
+		private long position;
+
+
+		Batches(Source source, int chunkSize)
+		{
+			this.source = source;
+			this.chunkSize = chunkSize;
+		}
+
+
+		/** @return The next batch, or null if there are no more. */
+		private List<JSONTokener> next()
+		{
+			try
+			{
+				long size = this.source.size(), stop = this.position + this.chunkSize;
+				while (this.position < size && (this.position < stop || !this.parser.hasNext()))
+				{
+					int n = (int)Math.min(BLOCK_SIZE, size - this.position);
+					this.parser.feed(this.source.read(this.position, n), 0, n);
+					this.position += n;
+				}
+				if (this.position >= size) { this.parser.end(); }
+			}
+			catch (IOException | JSONException e) { throw new CompletionException(e); }
+			if (!this.parser.hasNext()) { return null; }
+			List<JSONTokener> batch = new ArrayList<>(this.parser.available());
+			while (this.parser.hasNext()) { batch.add(this.parser.nextTokener()); }
+			return batch;
+		}
+
+
+		@Override
+		public boolean tryAdvance(Consumer<? super List<JSONTokener>> action)
+		{
+			List<JSONTokener> batch = next();
+			if (batch == null) { return false; }
+			action.accept(batch);
+			return true;
+		}
+
+
+		@Override
+		public Spliterator<List<JSONTokener>> trySplit()
+		{
+			List<JSONTokener> batch = next();
+			return batch == null ? null : List.of(batch).spliterator();
+		}
+
+
+		@Override
+		public long estimateSize() { return Long.MAX_VALUE; }
+
+
+		@Override
+		public int characteristics() { return ORDERED | NONNULL; }
+	}
+
+
+
+	/** A source of UTF-8 bytes, which may be read by many threads at once. */
+	private interface Source extends Closeable
+	{
+		long size();
+
+		/** @return The bytes from the position, of the length. */
+		byte[] read(long position, int length) throws IOException;
+
+		@Override
+		default void close() { }
+	}
+
+
+	private static final class FileSource implements Source
+	{
+		private final FileChannel channel;
+		private final long size;
+
+		FileSource(File file) throws IOException
+		{
+			this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+			this.size = this.channel.size();
+		}
+
+		@Override public long size() { return this.size; }
+
+		@Override public byte[] read(long position, int length) throws IOException
+		{
+			byte[] bytes = new byte[length];
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			while (buffer.hasRemaining())
+			{
+				if (this.channel.read(buffer, position + buffer.position()) < 0) { throw new IOException("Unexpected end of file"); }
+			}
+			return bytes;
+		}
+
+		@Override public void close()
+		{
+			try { this.channel.close(); }
+			catch (IOException e) { throw new UncheckedIOException(e); }
+		}
+	}
+
+
+	private static final class BufferSource implements Source
+	{
+		private final ByteBuffer buffer;
+		private final int offset;
+
+		BufferSource(ByteBuffer buffer)
+		{
+			this.buffer = buffer;
+			this.offset = buffer.position();
+		}
+
+		@Override public long size() { return this.buffer.limit() - this.offset; }
+
+		@Override public byte[] read(long position, int length)
+		{
+			byte[] bytes = new byte[length];
+			this.buffer.get(this.offset + (int)position, bytes); // an absolute get, so safe for many threads
+			return bytes;
+		}
+	}
+
+}
@@ -0,0 +1,112 @@
+package com.augur.json;
+
+import java.io.Reader;
+
+/**
+ * JSONParser is a push parser: it scans JSON text and reports what it finds
+ * to a JSONHandler, instead of building a JSONObject or JSONArray tree.  It
+ * accepts the same lenient grammar as the JSONObject and JSONArray
+ * constructors.  Every top-level value in the text is reported in turn, so
+ * a stream of concatenated records can be handled with a single call.
+ * <p>
+ * For example, to total one field of every record, without keeping anything else:
+ * <pre>
+ * long[] total = {0};
+ * JSONParser.parse(reader, new JSONHandler() {
+ *     boolean wanted;
+ *     public boolean key(String key) { return wanted = key.equals("bytes"); }
+ *     public void value(long v) { if (wanted) total[0] += v; }
+ * });</pre>
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+public class JSONParser
+{
+
+	/**
+	 * Parse all of the JSON text from a tokener, reporting it to the handler.
+	 * @param x The JSONTokener positioned at the start of the text
+	 * @param handler The JSONHandler to receive the callbacks
+	 * @throws JSONException If there is a syntax error, or the handler throws one.
+	 */
+	public static void parse(JSONTokener x, JSONHandler handler) throws JSONException
+	{
+		JSONReader r = new JSONReader(x);
+		for (JSONReader.Event e = r.next(); e != null; e = r.next())
+		{
+			switch (e)
+			{
+				case START_OBJECT:
+					if (!handler.startObject()) { r.skipChildren(); }
+					break;
+				case END_OBJECT:
+					handler.endObject();
+					break;
+				case START_ARRAY:
+					if (!handler.startArray()) { r.skipChildren(); }
+					break;
+				case END_ARRAY:
+					handler.endArray();
+					break;
+				case FIELD_NAME:
+					if (!handler.key(r.getName())) { r.skipValue(); }
+					break;
+				case VALUE_STRING:
+					handler.value((CharSequence)r.getValue());
+					break;
+				case VALUE_NUMBER:
+					Object n = r.getValue();
+					if (n instanceof Integer || n instanceof Long) { handler.value(((Number)n).longValue()); }
+					else if (n instanceof Double d) { handler.value(d.doubleValue()); }
+					else { handler.value((Number)n); }
+					break;
+				case VALUE_TRUE:
+					handler.value(true);
+					break;
+				case VALUE_FALSE:
+					handler.value(false);
+					break;
+				case VALUE_NULL:
+					handler.nullValue();
+					break;
+			}
+		}
+	}
+
+
+	/**
+	 * Parse a source JSON text, reporting it to the handler.
+	 * @param source A JSON text
+	 * @param handler The JSONHandler to receive the callbacks
+	 * @throws JSONException If there is a syntax error, or the handler throws one.
+	 */
+	public static void parse(String source, JSONHandler handler) throws JSONException
+	{
+		parse(new JSONTokener(source), handler);
+	}
+
+
+	/**
+	 * Parse JSON text from a Reader, reporting it to the handler.  The Reader is not closed.
+	 * @param reader The Reader supplying the JSON text
+	 * @param handler The JSONHandler to receive the callbacks
+	 * @throws JSONException If there is a syntax error, or the handler throws one.
+	 */
+	public static void parse(Reader reader, JSONHandler handler) throws JSONException
+	{
+		parse(new JSONTokener(reader), handler);
+	}
+
+
+	/**
+	 * Parse UTF-8 encoded JSON text, reporting it to the handler.
+	 * @param utf8 The JSON text
+	 * @param handler The JSONHandler to receive the callbacks
+	 * @throws JSONException If there is a syntax error, or the handler throws one.
+	 */
+	public static void parse(byte[] utf8, JSONHandler handler) throws JSONException
+	{
+		parse(new JSONByteTokener(utf8), handler);
+	}
+
+}
@@ -0,0 +1,230 @@
+package com.augur.json;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JSONParserOptions select how a JSONTokener parses, and so how the
+ * JSONObject, JSONArray, and JSONReader that read from it parse.  One
+ * JSONParserOptions may be shared by any number of tokeners, but should not
+ * be changed while they are in use.  For example, on an external endpoint:
+ * <pre>
+ * static final JSONParserOptions EXTERNAL = JSONParserOptions.strict();
+ * ...
+ * JSONTokener x = new JSONTokener(body);
+ * x.setOptions(EXTERNAL);
+ * RPCRequest request = new RPCRequest(x);</pre>
+ * <p>
+ * By default a tokener accepts a lenient superset of JSON: '#' comments,
+ * single-quoted and unquoted strings, '=' or '=&gt;' after keys, ';'
+ * between values, trailing commas, elided array elements, and numbers in
+ * other forms, such as 0x1F or 012.  In strict mode it accepts only the JSON
+ * grammar of RFC 8259, and so also rejects control chars within strings,
+ * the \' escape, and whitespace other than space, tab, CR and LF; which takes
+ * fewer checks per token, and rejects malformed input that lenient mode
+ * would quietly make sense of.
+ * <p>
+ * Limits bound the work and memory that one text can cost: the nesting
+ * depth of objects and arrays (which the parsers recurse through, so an
+ * unbounded depth can overflow the stack), the length of a string or key,
+ * the length of a number (converting a huge one can take time quadratic in
+ * its length), the length of the whole text, and the count of keys in one
+ * object.  A text that exceeds a limit fails as soon as it does, with a
+ * JSONException, and the limit's count of hits (see getHits()) is
+ * incremented; so a service can monitor how often clients hit each limit:
+ * <pre>
+ * static final JSONParserOptions EXTERNAL = JSONParserOptions.strict()
+ *     .setMaxDepth(64).setMaxStringLength(1 &lt;&lt; 20).setMaxNumberLength(100)
+ *     .setMaxLength(4 &lt;&lt; 20).setMaxKeys(1000);</pre>
+ * There are no limits by default.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+public class JSONParserOptions
+{
+	/** The limits that can be set. */
+	public enum Limit
+	{
+		/** The nesting depth of objects and arrays. */
+		DEPTH("nesting depth"),
+		/** The length of a string or key, in chars. */
+		STRING_LENGTH("string length"),
+		/** The length of the text of a number, in chars. */
+		NUMBER_LENGTH("number length"),
+		/** The length of the whole text, in chars. */
+		LENGTH("text length"),
+		/** The count of keys in one object. */
+		KEYS("key count");
+
+		private final String description;
+
+		Limit(String description) { this.description = description; }
+	}
+
+	private boolean strict;
+	private int maxDepth = Integer.MAX_VALUE;
+	private int maxStringLength = Integer.MAX_VALUE;
+	private int maxNumberLength = Integer.MAX_VALUE;
+	private int maxLength = Integer.MAX_VALUE;
+	private int maxKeys = Integer.MAX_VALUE;
+	/** The count of hits of each Limit, by ordinal. */
+	private final LongAdder[] hits = new LongAdder[Limit.values().length];
+
+
+	/**
+	 * Construct the default, lenient JSONParserOptions.
+	 */
+	public JSONParserOptions()
+	{
+		for (int i = 0; i < this.hits.length; i += 1) { this.hits[i] = new LongAdder(); }
+	}
+
+
+	/**
+	 * @return New JSONParserOptions in strict mode.
+	 */
+	public static JSONParserOptions strict()
+	{
+		return new JSONParserOptions().setStrict(true);
+	}
+
+
+	/**
+	 * @param strict True to accept only the JSON grammar of RFC 8259; false for the lenient grammar
+	 * @return this.
+	 */
+	public JSONParserOptions setStrict(boolean strict)
+	{
+		this.strict = strict;
+		return this;
+	}
+
+
+	/**
+	 * @return True if only the JSON grammar of RFC 8259 is accepted.
+	 */
+	public boolean isStrict()
+	{
+		return this.strict;
+	}
+
+
+	/**
+	 * @param maxDepth The greatest nesting depth of objects and arrays, e.g. 1 for [1,2] but 2 for [[1],2]
+	 * @return this.
+	 */
+	public JSONParserOptions setMaxDepth(int maxDepth)
+	{
+		this.maxDepth = positive(maxDepth);
+		return this;
+	}
+
+
+	/** @return The greatest nesting depth of objects and arrays. */
+	public int getMaxDepth()
+	{
+		return this.maxDepth;
+	}
+
+
+	/**
+	 * @param maxStringLength The greatest length of a string or key, in chars
+	 * @return this.
+	 */
+	public JSONParserOptions setMaxStringLength(int maxStringLength)
+	{
+		this.maxStringLength = positive(maxStringLength);
+		return this;
+	}
+
+
+	/** @return The greatest length of a string or key, in chars. */
+	public int getMaxStringLength()
+	{
+		return this.maxStringLength;
+	}
+
+
+	/**
+	 * @param maxNumberLength The greatest length of the text of a number, in chars
+	 * @return this.
+	 */
+	public JSONParserOptions setMaxNumberLength(int maxNumberLength)
+	{
+		this.maxNumberLength = positive(maxNumberLength);
+		return this;
+	}
+
+
+	/** @return The greatest length of the text of a number, in chars. */
+	public int getMaxNumberLength()
+	{
+		return this.maxNumberLength;
+	}
+
+
+	/**
+	 * @param maxLength The greatest length of the whole text, in chars
+	 * @return this.
+	 */
+	public JSONParserOptions setMaxLength(int maxLength)
+	{
+		this.maxLength = positive(maxLength);
+		return this;
+	}
+
+
+	/** @return The greatest length of the whole text, in chars. */
+	public int getMaxLength()
+	{
+		return this.maxLength;
+	}
+
+
+	/**
+	 * @param maxKeys The greatest count of keys in one object
+	 * @return this.
+	 */
+	public JSONParserOptions setMaxKeys(int maxKeys)
+	{
+		this.maxKeys = positive(maxKeys);
+		return this;
+	}
+
+
+	/** @return The greatest count of keys in one object. */
+	public int getMaxKeys()
+	{
+		return this.maxKeys;
+	}
+
+
+	private static int positive(int limit)
+	{
+		if (limit <= 0) { throw new IllegalArgumentException("Bad limit: " + limit); }
+		return limit;
+	}
+
+
+	/**
+	 * @param limit A Limit
+	 * @return The count of texts parsed with these options that have exceeded the limit.
+	 */
+	public long getHits(Limit limit)
+	{
+		return this.hits[limit.ordinal()].sum();
+	}
+
+
+	/**
+	 * Count a hit of a limit, and make the exception to be thrown for it.
+	 * @param x The tokener, for the position in the text
+	 * @param limit The Limit that has been exceeded
+	 * @param max The value of the limit
+	 */
+	JSONException exceeded(JSONTokener x, Limit limit, int max)
+	{
+		this.hits[limit.ordinal()].increment();
+		return x.syntaxError("The " + limit.description + " is over the limit of " + max);
+	}
+
+}
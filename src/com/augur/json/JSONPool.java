@@ -0,0 +1,136 @@
+package com.augur.json;
+
+/**
+ * A JSONPool recycles JSONObjects and JSONArrays, for a loop that parses
+ * many texts and is done with each tree before the next: a tokener with a
+ * pool (see JSONTokener.setPool()) takes the nested objects and arrays it
+ * parses from the pool, and clear() returns them once the tree is done
+ * with.  A HashMap or ArrayList keeps its capacity when cleared, so in the
+ * steady state parsing makes only the keys (unless a JSONKeyCache is used),
+ * values, and map entries.  For example, in a log filter:
+ * <pre>
+ * JSONPool pool = new JSONPool();
+ * JSONTokener x = new JSONTokener("");
+ * x.setPool(pool);
+ * x.setKeyCache(new JSONKeyCache());
+ * JSONObject event = new JSONObject();
+ * for (String line : lines)
+ * {
+ *   pool.clear(event); // recycles the objects and arrays within the last event
+ *   x.restart(line);
+ *   event.parse(x);
+ *   if (wanted(event)) { ... }
+ * }</pre>
+ * Nothing recycled may be used again by the caller, so a value taken from a
+ * tree must be copied if it is to outlive the tree.  The pool keeps at most
+ * <code>capacity</code> objects and as many arrays, and is not thread-safe.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+public class JSONPool
+{
+	/** The default count of objects (and of arrays) kept. */
+	public static final int CAPACITY = 1024;
+
+	private final JSONObject[] objects;
+	private int objectCount;
+	private final JSONArray[] arrays;
+	private int arrayCount;
+
+
+	/**
+	 * Construct a JSONPool that keeps up to CAPACITY objects and arrays.
+	 */
+	public JSONPool()
+	{
+		this(CAPACITY);
+	}
+
+
+	/**
+	 * Construct a JSONPool.
+	 * @param capacity The greatest count of objects (and of arrays) to keep
+	 */
+	public JSONPool(int capacity)
+	{
+		this.objects = new JSONObject[capacity];
+		this.arrays = new JSONArray[capacity];
+	}
+
+
+	/**
+	 * @return An empty JSONObject from the pool, or a new one if it has none.
+	 */
+	public JSONObject newObject()
+	{
+		if (this.objectCount == 0) { return new JSONObject(); }
+		JSONObject jo = this.objects[--this.objectCount];
+		this.objects[this.objectCount] = null;
+		return jo;
+	}
+
+
+	/**
+	 * @return An empty JSONArray from the pool, or a new one if it has none.
+	 */
+	public JSONArray newArray()
+	{
+		if (this.arrayCount == 0) { return new JSONArray(); }
+		JSONArray ja = this.arrays[--this.arrayCount];
+		this.arrays[this.arrayCount] = null;
+		return ja;
+	}
+
+
+	/**
+	 * Recycle the objects and arrays within a JSONObject, and clear it;
+	 * the JSONObject itself is not recycled, so may be reused by the caller.
+	 * A frozen JSONObject, which cannot be cleared, is left alone.
+	 * @param jo The JSONObject
+	 */
+	public void clear(JSONObject jo)
+	{
+		if (jo.isFrozen()) { return; }
+		for (Object value : jo.values()) { recycle(value); }
+		jo.clear();
+	}
+
+
+	/**
+	 * Recycle the objects and arrays within a JSONArray, and clear it;
+	 * the JSONArray itself is not recycled, so may be reused by the caller.
+	 * A frozen JSONArray, which cannot be cleared, is left alone.
+	 * @param ja The JSONArray
+	 */
+	public void clear(JSONArray ja)
+	{
+		if (ja.isFrozen()) { return; }
+		if (!ja.isNumeric())
+		{
+			for (int i = 0, n = ja.length(); i < n; i += 1) { recycle(ja.opt(i)); }
+		}
+		ja.clear();
+	}
+
+
+	/**
+	 * Recycle a value that is no longer used, if it is a JSONObject or
+	 * JSONArray, with all of the objects and arrays within it.  A frozen one
+	 * is left alone, as other versions of the tree may share it.
+	 * @param value Any value
+	 */
+	public void recycle(Object value)
+	{
+		if (value instanceof JSONObject jo && !jo.isFrozen())
+		{
+			clear(jo);
+			if (this.objectCount < this.objects.length) { this.objects[this.objectCount++] = jo; }
+		}
+		else if (value instanceof JSONArray ja && !ja.isFrozen())
+		{
+			clear(ja);
+			if (this.arrayCount < this.arrays.length) { this.arrays[this.arrayCount++] = ja; }
+		}
+	}
+
+}
@@ -0,0 +1,179 @@
+package com.augur.json;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A JSONProjection is a compiled set of paths, used to parse only the parts
+ * of a JSON text that are wanted.  Values that are not on any path are
+ * skipped at the lexical level (see JSONReader.skipValue()), so no Strings,
+ * numbers, or nested JSONObjects and JSONArrays are created for them.
+ * <p>
+ * A path is a sequence of keys separated by '.', where any key may be
+ * followed by <code>[*]</code> to select every element of an array, or by
+ * <code>[n]</code> to select the element at index n; for example:
+ * <pre>
+ * JSONProjection p = new JSONProjection("method", "params.user.id", "params.items[*].sku");
+ * JSONObject jo = new JSONObject(text, p);</pre>
+ * The result has the same structure as the full parse would have, but holds
+ * only the selected values (and the objects and arrays that lead to them).
+ * A path that ends at an object or array selects all of it.  A path that
+ * leads through a value of the wrong type (e.g. a key of a String) selects nothing.
+ * Elements of an array that are not selected by an index are left as null.
+ * <p>
+ * A JSONProjection is immutable, and may be shared between threads.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+public class JSONProjection
+{
+	/** True if the whole value at this node is selected. */
+	private boolean all;
+	/** The nodes for selected keys of an object, or null. */
+	private Map<String,JSONProjection> keys;
+	/** The node for every element of an array (from [*]), or null. */
+	private JSONProjection elements;
+	/** The nodes for selected indexes of an array (from [n]), or null. */
+	private Map<Integer,JSONProjection> indexes;
+
+
+	/**
+	 * Compile a set of paths into a JSONProjection.
+	 * @param paths The paths to be selected, e.g. "params.items[*].sku"
+	 * @throws IllegalArgumentException If a path is malformed.
+	 */
+	public JSONProjection(String... paths)
+	{
+		for (String path : paths) { add(path); }
+	}
+
+
+	private JSONProjection() { }
+
+
+	private void add(String path)
+	{
+		if (path == null || path.isEmpty()) { throw new IllegalArgumentException("Empty path"); }
+		JSONProjection node = this;
+		int i = 0, len = path.length();
+		while (i < len)
+		{
+			int end = i;
+			while (end < len && path.charAt(end) != '.' && path.charAt(end) != '[') { end += 1; }
+			if (end == i) { throw new IllegalArgumentException("Empty key at " + i + " in path: " + path); }
+			node = node.key(path.substring(i, end));
+			while (end < len && path.charAt(end) == '[')
+			{
+				int close = path.indexOf(']', end);
+				if (close < 0) { throw new IllegalArgumentException("Missing ']' in path: " + path); }
+				String index = path.substring(end + 1, close);
+				if (index.equals("*")) { node = node.elements(); }
+				else
+				{
+					try { node = node.index(Integer.parseInt(index)); }
+					catch (NumberFormatException e) { throw new IllegalArgumentException("Bad index [" + index + "] in path: " + path); }
+				}
+				end = close + 1;
+			}
+			if (end < len)
+			{
+				if (path.charAt(end) != '.' || end == len - 1) { throw new IllegalArgumentException("Bad path: " + path); }
+				end += 1;
+			}
+			i = end;
+		}
+		node.all = true;
+	}
+
+
+	private JSONProjection key(String key)
+	{
+		if (this.keys == null) { this.keys = new HashMap<>(); }
+		return this.keys.computeIfAbsent(key, k -> new JSONProjection());
+	}
+
+
+	private JSONProjection elements()
+	{
+		if (this.elements == null) { this.elements = new JSONProjection(); }
+		return this.elements;
+	}
+
+
+	private JSONProjection index(int index)
+	{
+		if (index < 0) { throw new IllegalArgumentException("Negative index: " + index); }
+		if (this.indexes == null) { this.indexes = new HashMap<>(); }
+		return this.indexes.computeIfAbsent(index, k -> new JSONProjection());
+	}
+
+
+	/**
+	 * Parse the selected parts of the object whose START_OBJECT event was
+	 * just returned by the reader, putting them into a JSONObject.
+	 * @param r The reader, positioned just after the '{'
+	 * @param jo The JSONObject to receive the selected keys
+	 * @throws JSONException If there is a syntax error.
+	 */
+	void readObject(JSONReader r, JSONObject jo) throws JSONException
+	{
+		for (;;)
+		{
+			JSONReader.Event e = r.next();
+			if (e == JSONReader.Event.END_OBJECT) { return; }
+			String key = r.getName();
+			JSONProjection p = this.keys == null ? null : this.keys.get(key);
+			if (p == null) { r.skipValue(); }
+			else if (p.all) { r.next(); jo.put(key, r.readValue()); }
+			else
+			{
+				Object value = p.read(r, r.next());
+				if (value != null) { jo.put(key, value); }
+			}
+		}
+	}
+
+
+	/**
+	 * Parse the selected parts of the array whose START_ARRAY event was
+	 * just returned by the reader.
+	 */
+	private JSONArray readArray(JSONReader r) throws JSONException
+	{
+		JSONArray ja = new JSONArray();
+		for (int i = 0; !r.endArray(); i += 1)
+		{
+			JSONProjection p = this.indexes == null ? null : this.indexes.get(i);
+			if (p == null) { p = this.elements; }
+			if (p == null) { r.skipValue(); continue; } // before next() would decode it
+			JSONReader.Event e = r.next();
+			Object value = p.all ? r.readValue() : p.read(r, e);
+			if (value != null) { ja.put(i, value); }
+		}
+		return ja;
+	}
+
+
+	/**
+	 * Parse the selected parts of a value whose first event was just
+	 * returned by the reader, for a node that does not select all of it.
+	 * @return The selected parts, or null if nothing was selected.
+	 */
+	private Object read(JSONReader r, JSONReader.Event e) throws JSONException
+	{
+		switch (e)
+		{
+			case START_OBJECT:
+				if (this.keys == null) { r.skipChildren(); return null; }
+				JSONObject jo = new JSONObject();
+				readObject(r, jo);
+				return jo;
+			case START_ARRAY:
+				if (this.elements == null && this.indexes == null) { r.skipChildren(); return null; }
+				return readArray(r);
+			default:
+				return null; // a scalar has no keys or elements to select
+		}
+	}
+
+}
@@ -0,0 +1,464 @@
+package com.augur.json;
+
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * A JSONReader is a pull parser: a cursor that steps through JSON text one
+ * event at a time, without building a JSONObject or JSONArray tree.  Memory
+ * use depends only on the nesting depth, not on the size of the text, so it
+ * is suited to very large documents or long streams of concatenated values.
+ * <p>
+ * Each call to <code>next()</code> returns the next Event; the typed
+ * <code>get</code> methods then return the current field name or value.  At
+ * any START_OBJECT or START_ARRAY, the caller may instead materialize that
+ * whole subtree with <code>readObject()</code> or <code>readArray()</code>,
+ * or pass over it with <code>skipChildren()</code>. For example:
+ * <pre>
+ * JSONReader r = new JSONReader(reader);
+ * for (JSONReader.Event e = r.next(); e != null; e = r.next()) {
+ *     if (e == JSONReader.Event.FIELD_NAME &amp;&amp; r.getName().equals("id")) {
+ *         r.next();
+ *         long id = r.getLong();
+ *     }
+ * }</pre>
+ * The grammar is the same lenient one accepted by the JSONObject and
+ * JSONArray constructors, including '#' comments, unquoted and single-quoted
+ * strings, '=' or '=&gt;' after keys, ';' between values, trailing commas,
+ * and elided array elements (reported as VALUE_NULL); or, if the tokener is
+ * in strict mode (see JSONParserOptions), only the grammar of RFC 8259.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+public class JSONReader
+{
+	/** The kinds of things a JSONReader reports as it steps through the text. */
+	public enum Event
+	{
+		START_OBJECT, FIELD_NAME, END_OBJECT, START_ARRAY, END_ARRAY,
+		VALUE_STRING, VALUE_NUMBER, VALUE_TRUE, VALUE_FALSE, VALUE_NULL
+	}
+
+	// What the cursor expects next
+	private static final int TOP = 0;        // a top-level value, or the end of the text
+	private static final int VALUE = 1;      // the value after a key
+	private static final int OBJ_START = 2;  // a key or '}' just after '{'
+	private static final int OBJ_KEY = 3;    // a key or '}' after a separator
+	private static final int OBJ_SEP = 4;    // ',' ';' or '}' after a value
+	private static final int ARR_START = 5;  // a value or ']' just after '['
+	private static final int ARR_SLOT = 6;   // a value, or ',' for an elided element
+	private static final int ARR_SEP = 7;    // ',' ';' or ']' after a value
+
+	private final JSONTokener x;
+	private int state = TOP;
+	/** The containers enclosing the cursor; true for an object, false for an array. */
+	private boolean[] stack = new boolean[16];
+	private int depth;
+
+	private Event event;
+	private String name;
+	private Object value;
+
+
+	/**
+	 * Construct a JSONReader that pulls from a JSONTokener.
+	 * @param x A JSONTokener positioned at the start of the JSON text
+	 */
+	public JSONReader(JSONTokener x)
+	{
+		this.x = x;
+	}
+
+
+	/**
+	 * Construct a JSONReader that pulls from a source JSON text.
+	 * @param source A JSON text
+	 */
+	public JSONReader(String source)
+	{
+		this(new JSONTokener(source));
+	}
+
+
+	/**
+	 * Construct a JSONReader that pulls from a Reader. The Reader is not
+	 * closed by this JSONReader.
+	 * @param reader The Reader supplying the JSON text
+	 */
+	public JSONReader(Reader reader)
+	{
+		this(new JSONTokener(reader));
+	}
+
+
+	/**
+	 * Advance the cursor to the next event.
+	 * @return The next Event, or null at the end of the text.
+	 * @throws JSONException If there is a syntax error.
+	 */
+	public Event next() throws JSONException
+	{
+		char c;
+		for (;;)
+		{
+			switch (this.state)
+			{
+				case TOP:
+					c = this.x.nextClean();
+					if (c == 0) { return this.event = null; }
+					return value(c);
+
+				case VALUE:
+					return value(this.x.nextClean());
+
+				case OBJ_START:
+				case OBJ_KEY:
+					c = this.x.nextClean();
+					switch (c)
+					{
+						case 0: throw this.x.syntaxError("A JSONObject text must end with '}', but reached EOF");
+						case '}': if (this.state == OBJ_START) { return end(Event.END_OBJECT); } // else nextKey() reports it
+					}
+					this.x.back();
+					this.name = this.x.nextKey();
+					// The key is followed by ':'. Unless strict, we will also tolerate '=' or '=>'.
+					this.x.nextColon();
+					this.state = VALUE;
+					this.value = this.name;
+					return this.event = Event.FIELD_NAME;
+
+				case OBJ_SEP:
+					// Pairs are separated by ','. Unless strict, we will also tolerate ';', and a trailing separator.
+					if (this.x.nextSeparator('}') == '}') { return end(Event.END_OBJECT); }
+					this.state = OBJ_KEY;
+					continue;
+
+				case ARR_START:
+					if (this.x.nextClean() == ']') { return end(Event.END_ARRAY); }
+					this.x.back();
+					this.state = ARR_SLOT;
+					continue;
+
+				case ARR_SLOT:
+					c = this.x.nextClean();
+					switch (c)
+					{
+						case 0: throw this.x.syntaxError("A JSONArray must end with ']', but reached EOF");
+						case ',':
+							if (this.x.isStrict()) { throw this.x.syntaxError("Missing value"); }
+							this.value = null;
+							return this.event = Event.VALUE_NULL; // elided element; the comma was its separator
+					}
+					return value(c);
+
+				case ARR_SEP:
+					if (this.x.nextSeparator(']') == ']') { return end(Event.END_ARRAY); }
+					this.state = ARR_SLOT;
+					continue;
+
+				default:
+					throw new IllegalStateException("state " + this.state);
+			}
+		}
+	}
+
+
+	/**
+	 * Read the value starting with c, which was just returned by nextClean().
+	 */
+	private Event value(char c) throws JSONException
+	{
+		switch (c)
+		{
+			case '{':
+				push(true);
+				this.state = OBJ_START;
+				this.value = null;
+				return this.event = Event.START_OBJECT;
+			case '[':
+				push(false);
+				this.state = ARR_START;
+				this.value = null;
+				return this.event = Event.START_ARRAY;
+			case '\'':
+			case '"':
+				if (c == '\'' && this.x.isStrict()) { break; } // nextValue() reports it
+				this.value = this.x.nextString(c);
+				afterValue();
+				return this.event = Event.VALUE_STRING;
+		}
+		this.x.back();
+		Object v = this.x.nextValue();
+		this.value = v;
+		afterValue();
+		if (v == null) { return this.event = Event.VALUE_NULL; }
+		if (v instanceof Number) { return this.event = Event.VALUE_NUMBER; }
+		if (v instanceof Boolean b) { return this.event = b ? Event.VALUE_TRUE : Event.VALUE_FALSE; }
+		return this.event = Event.VALUE_STRING;
+	}
+
+
+	private void push(boolean object) throws JSONException
+	{
+		this.x.enter();
+		if (this.depth == this.stack.length) { this.stack = Arrays.copyOf(this.stack, this.depth * 2); }
+		this.stack[this.depth++] = object;
+	}
+
+
+	private Event end(Event e)
+	{
+		this.x.exit();
+		this.depth -= 1;
+		this.value = null;
+		afterValue();
+		return this.event = e;
+	}
+
+
+	/** Set the state to follow a complete value (scalar or container) at the current depth. */
+	private void afterValue()
+	{
+		if (this.depth == 0) { this.state = TOP; }
+		else { this.state = this.stack[this.depth - 1] ? OBJ_SEP : ARR_SEP; }
+	}
+
+
+	/**
+	 * Materialize the object that was just started, and advance the cursor
+	 * past its end; the next call to next() returns whatever follows it.
+	 * @return The JSONObject for the current START_OBJECT event
+	 * @throws JSONException If there is a syntax error, or the current event is not START_OBJECT.
+	 */
+	public JSONObject readObject() throws JSONException
+	{
+		if (this.event != Event.START_OBJECT || this.state != OBJ_START) { throw new JSONException("Not at the start of an object: " + this.event); }
+		this.x.back(); // un-read the '{'
+		this.x.exit(); // which the JSONObject enters again
+		JSONObject jo = new JSONObject(this.x);
+		this.depth -= 1;
+		this.event = Event.END_OBJECT;
+		afterValue();
+		return jo;
+	}
+
+
+	/**
+	 * Materialize the array that was just started, and advance the cursor
+	 * past its end; the next call to next() returns whatever follows it.
+	 * @return The JSONArray for the current START_ARRAY event
+	 * @throws JSONException If there is a syntax error, or the current event is not START_ARRAY.
+	 */
+	public JSONArray readArray() throws JSONException
+	{
+		if (this.event != Event.START_ARRAY || this.state != ARR_START) { throw new JSONException("Not at the start of an array: " + this.event); }
+		this.x.back(); // un-read the '['
+		this.x.exit(); // which the JSONArray enters again
+		JSONArray ja = new JSONArray(this.x);
+		this.depth -= 1;
+		this.event = Event.END_ARRAY;
+		afterValue();
+		return ja;
+	}
+
+
+	/**
+	 * Get the current value, materializing it if the cursor is at the start
+	 * of an object or array (see readObject() and readArray()).
+	 * @return A Boolean, Number, String, JSONObject, JSONArray, or null.
+	 * @throws JSONException If there is a syntax error.
+	 */
+	public Object readValue() throws JSONException
+	{
+		if (this.event == Event.START_OBJECT) { return readObject(); }
+		if (this.event == Event.START_ARRAY) { return readArray(); }
+		return this.value;
+	}
+
+
+	/**
+	 * If the cursor is at a START_OBJECT or START_ARRAY, advance it to the
+	 * matching END_OBJECT or END_ARRAY; otherwise do nothing.  The contents
+	 * are scanned by JSONTokener.skipValue(), without creating any Strings or
+	 * other objects, so they are not fully checked for syntax errors.
+	 * @throws JSONException If the text ends before the matching bracket.
+	 */
+	public void skipChildren() throws JSONException
+	{
+		if (this.event == Event.START_OBJECT && this.state == OBJ_START) { this.x.back(); this.x.skipValue(); end(Event.END_OBJECT); }
+		else if (this.event == Event.START_ARRAY && this.state == ARR_START) { this.x.back(); this.x.skipValue(); end(Event.END_ARRAY); }
+	}
+
+
+	/**
+	 * Skip over the next value without reporting any events for it; for
+	 * example, after a FIELD_NAME whose value is not wanted.  Like
+	 * skipChildren(), this creates no objects.
+	 * @throws JSONException If the cursor is not where a value is expected,
+	 * or the text ends before the value does.
+	 */
+	public void skipValue() throws JSONException
+	{
+		switch (this.state)
+		{
+			case TOP:
+			case VALUE:
+				break;
+			case ARR_START:
+			case ARR_SLOT:
+				this.state = ARR_SLOT;
+				if (this.x.nextClean() == ',') { return; } // an elided element
+				this.x.back();
+				break;
+			default:
+				throw new JSONException("Not at a value: " + this.event);
+		}
+		this.x.skipValue();
+		afterValue();
+	}
+
+
+	/**
+	 * In an array, advance the cursor past its end if that is what comes
+	 * next; for a caller that passes over elements with skipValue(), which
+	 * does not report when there are no more.
+	 * @return True if the array has ended, and the current event is END_ARRAY;
+	 *  false if an element (perhaps elided) comes next.
+	 * @throws JSONException If the cursor is not in an array.
+	 */
+	boolean endArray() throws JSONException
+	{
+		switch (this.state)
+		{
+			case ARR_START:
+				if (this.x.nextClean() == ']') { end(Event.END_ARRAY); return true; }
+				this.x.back();
+				this.state = ARR_SLOT;
+				return false;
+			case ARR_SEP:
+				if (this.x.nextSeparator(']') == ']') { end(Event.END_ARRAY); return true; }
+				this.state = ARR_SLOT;
+				return false;
+			case ARR_SLOT:
+				return false;
+			default:
+				throw new JSONException("Not in an array: " + this.event);
+		}
+	}
+
+
+	/** @return The Event most recently returned by next(), or null before the first or after the last. */
+	public Event getEvent()
+	{
+		return this.event;
+	}
+
+
+	/** @return The number of objects and arrays enclosing the cursor. */
+	public int getDepth()
+	{
+		return this.depth;
+	}
+
+
+	/** @return The key of the most recent FIELD_NAME event, or null if there has been none. */
+	public String getName()
+	{
+		return this.name;
+	}
+
+
+	/**
+	 * @return The current scalar value: a Boolean, Number, or String (the key,
+	 * for FIELD_NAME); or null for VALUE_NULL and the structural events.
+	 */
+	public Object getValue()
+	{
+		return this.value;
+	}
+
+
+	/**
+	 * @return The current value as a String, or null for VALUE_NULL.
+	 * @throws JSONException If the cursor is at a structural event.
+	 */
+	public String getString() throws JSONException
+	{
+		if (this.value == null)
+		{
+			if (this.event == Event.VALUE_NULL) { return null; }
+			throw new JSONException("No value at " + this.event);
+		}
+		return this.value.toString();
+	}
+
+
+	/**
+	 * @return The current value as a Number; a numeric String is converted.
+	 * @throws JSONException If the value is not a number.
+	 */
+	public Number getNumber() throws JSONException
+	{
+		if (this.value instanceof Number n) { return n; }
+		if (this.value instanceof String s && JSONObject.stringToValue(s) instanceof Number n) { return n; }
+		throw new JSONException("Value at " + this.event + " is not a number.");
+	}
+
+
+	/**
+	 * @return The current value as a long.
+	 * @throws JSONException If the value is not a number.
+	 */
+	public long getLong() throws JSONException
+	{
+		return getNumber().longValue();
+	}
+
+
+	/**
+	 * @return The current value as an int.
+	 * @throws JSONException If the value is not a number.
+	 */
+	public int getInt() throws JSONException
+	{
+		return getNumber().intValue();
+	}
+
+
+	/**
+	 * @return The current value as a double.
+	 * @throws JSONException If the value is not a number.
+	 */
+	public double getDouble() throws JSONException
+	{
+		return getNumber().doubleValue();
+	}
+
+
+	/**
+	 * @return The current value as a boolean; the Strings "true" and "false" are converted.
+	 * @throws JSONException If the value is not a Boolean or the String "true" or "false".
+	 */
+	public boolean getBoolean() throws JSONException
+	{
+		if (this.value instanceof Boolean b) { return b; }
+		if (this.value instanceof String s)
+		{
+			if (s.equalsIgnoreCase("true")) { return true; }
+			if (s.equalsIgnoreCase("false")) { return false; }
+		}
+		throw new JSONException("Value at " + this.event + " is not a Boolean.");
+	}
+
+
+	/**
+	 * Make a printable string of this JSONReader's position.
+	 * @return The current event and the tokener's position
+	 */
+	@Override
+	public String toString()
+	{
+		return this.event + this.x.toString();
+	}
+
+}
@@ -0,0 +1,102 @@
+package com.augur.json;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A JSONScanner finds the chars of a quoted string that need attention (the
+ * closing quote, a backslash, or a control char) so that the tokeners can
+ * pass over the plain chars between them in bulk, instead of one next() at a
+ * time.  This class is the portable, scalar implementation.
+ * <p>
+ * When the jdk.incubator.vector module is present (e.g. the JVM was started
+ * with <code>--add-modules jdk.incubator.vector</code>), INSTANCE is a
+ * JSONVectorScanner, which compares a whole SIMD register of chars or bytes
+ * at once.  Set the system property <code>com.augur.json.vector=false</code>
+ * to use the scalar scanner anyway.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+class JSONScanner
+{
+	/** The best scanner available in this JVM. */
+	static final JSONScanner INSTANCE = create();
+
+
+	private static JSONScanner create()
+	{
+		if (Boolean.parseBoolean(System.getProperty("com.augur.json.vector", "true")) &&
+			ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent())
+		{
+			try { return (JSONScanner)Class.forName("com.augur.json.JSONVectorScanner").getDeclaredConstructor().newInstance(); }
+			catch (ReflectiveOperationException | LinkageError e) { } // fall back to the scalar scanner
+		}
+		return new JSONScanner();
+	}
+
+
+	/**
+	 * Find the first char of a quoted string's remaining text that is the
+	 * quote, a backslash, or a control char.
+	 * @param a The source text
+	 * @param from The offset at which to start
+	 * @param to The offset just past the last char to be scanned
+	 * @param quote The quoting char of the string
+	 * @return The offset of the char found, or <code>to</code> if there is none.
+	 */
+	int scanString(char[] a, int from, int to, char quote)
+	{
+		int i = from;
+		while (i < to)
+		{
+			char c = a[i];
+			if (c == quote || c == '\\' || c < ' ') { break; }
+			i += 1;
+		}
+		return i;
+	}
+
+
+	/**
+	 * Find the first byte of a quoted string's remaining UTF-8 text that is
+	 * the quote, a backslash, a control char, or not ASCII (so must be decoded).
+	 * @param a The source bytes
+	 * @param from The offset at which to start
+	 * @param to The offset just past the last byte to be scanned
+	 * @param quote The quoting char of the string
+	 * @return The offset of the byte found, or <code>to</code> if there is none.
+	 */
+	int scanString(byte[] a, int from, int to, char quote)
+	{
+		int i = from;
+		while (i < to)
+		{
+			byte b = a[i];
+			if (b == quote || b == '\\' || b < ' ') { break; } // a non-ASCII byte is negative
+			i += 1;
+		}
+		return i;
+	}
+
+
+	/**
+	 * Find the first byte of a quoted string's remaining UTF-8 text in a
+	 * buffer, e.g. a direct or mapped one, as scanString(byte[],...) does.
+	 * @param a The source buffer, whose position and limit are ignored
+	 * @param from The (absolute) offset at which to start
+	 * @param to The offset just past the last byte to be scanned
+	 * @param quote The quoting char of the string
+	 * @return The offset of the byte found, or <code>to</code> if there is none.
+	 */
+	int scanString(ByteBuffer a, int from, int to, char quote)
+	{
+		int i = from;
+		while (i < to)
+		{
+			byte b = a.get(i);
+			if (b == quote || b == '\\' || b < ' ') { break; }
+			i += 1;
+		}
+		return i;
+	}
+
+}
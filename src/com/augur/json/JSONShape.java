@@ -0,0 +1,196 @@
+package com.augur.json;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A JSONShape is the immutable list of keys of a JSONObject (as a hidden
+ * class is in a JavaScript engine), shared by every object with the same keys
+ * in the same order: the object holds only its values, by slot.  Shapes form
+ * a tree, from the EMPTY shape, where each shape caches the shapes made by
+ * adding a key to it; so parsing an array of a million rows with the same
+ * keys makes the row's shape once, and each row is then an array of values.
+ * <p>
+ * A key is found by a scan of the keys up to SCAN of them, and in a hash
+ * table (made with the shape, and shared with it) beyond that.  The tree is
+ * bounded, by the count of shapes and the count of keys added to each one,
+ * so objects with keys that are never repeated cannot fill the heap with
+ * shapes; past those bounds a small shape is made without caching it, and a
+ * larger one not at all (see with()).  A tree that is full is replaced by a
+ * new, empty one, which objects made from then on start from (see empty()):
+ * the old tree is garbage once no object has a shape in it, so keys that
+ * change over time (e.g. keys that are dates or IDs) use up the bound of
+ * one tree, but not the shapes of every object made after.  Shapes are
+ * thread-safe.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONShape
+{
+	private static final Object[] NONE = {};
+
+	/** The most keys found by a scan, past which a shape has a hash table. */
+	private static final int SCAN = 8;
+	/** The most shapes cached by one shape. */
+	private static final int FAN_OUT = 32;
+	/** The most shapes cached in one tree. */
+	static final int MAX_SHAPES = 1 << 14;
+
+	/** The shape of an object with no keys, the root of the tree that new objects start from. */
+	private static volatile JSONShape root = new JSONShape(new String[0], new AtomicInteger());
+
+	private final String[] keys;
+	/** An open-addressed hash table of slot + 1, for a shape of more than SCAN keys; else null. */
+	private final int[] table;
+	/** The count of shapes in this shape's tree, if it is in one, so may cache the shapes made from it; else null. */
+	private final AtomicInteger tree;
+	/** The shapes made by adding a key to this one: each key, then its shape. */
+	private volatile Object[] transitions = NONE;
+
+
+	private JSONShape(String[] keys, AtomicInteger tree)
+	{
+		this.keys = keys;
+		this.tree = tree;
+		if (keys.length > SCAN)
+		{
+			int capacity = Integer.highestOneBit(keys.length * 2 - 1) << 1; // a power of 2, at most half full
+			int[] table = new int[capacity];
+			for (int i = 0; i < keys.length; i += 1)
+			{
+				int h = spread(keys[i].hashCode()) & (capacity - 1);
+				while (table[h] != 0) { h = (h + 1) & (capacity - 1); }
+				table[h] = i + 1;
+			}
+			this.table = table;
+		}
+		else
+		{
+			this.table = null;
+		}
+	}
+
+
+	private static int spread(int h) { return h ^ (h >>> 16); }
+
+
+	/** @return The shape of an object with no keys, the root of the current tree. */
+	static JSONShape empty()
+	{
+		return root;
+	}
+
+
+	/** @return The count of keys. */
+	int size()
+	{
+		return this.keys.length;
+	}
+
+
+	/** @return The key in a slot. */
+	String key(int slot)
+	{
+		return this.keys[slot];
+	}
+
+
+	/**
+	 * @param key A key
+	 * @return The slot of the key, or -1 if it is not one of this shape's.
+	 */
+	int slot(String key)
+	{
+		String[] keys = this.keys;
+		if (this.table == null)
+		{
+			for (int i = 0; i < keys.length; i += 1)
+			{
+				if (key.equals(keys[i])) { return i; }
+			}
+			return -1;
+		}
+		int mask = this.table.length - 1;
+		for (int h = spread(key.hashCode()) & mask; ; h = (h + 1) & mask)
+		{
+			int i = this.table[h] - 1;
+			if (i < 0) { return -1; }
+			if (key.equals(keys[i])) { return i; }
+		}
+	}
+
+
+	/**
+	 * @param key A key that is not one of this shape's
+	 * @return The cached shape with the key added, or null if there is none yet.
+	 */
+	JSONShape next(String key)
+	{
+		Object[] transitions = this.transitions;
+		for (int i = 0; i < transitions.length; i += 2)
+		{
+			if (key.equals(transitions[i])) { return (JSONShape)transitions[i + 1]; }
+		}
+		return null;
+	}
+
+
+	/**
+	 * @param key A key that is not one of this shape's
+	 * @return The shape with the key added after this shape's keys: from the
+	 * tree if it can be cached there, or else made for the one object if it
+	 * has at most SCAN keys; or else null, for the object to use a HashMap.
+	 */
+	JSONShape with(String key)
+	{
+		JSONShape next = next(key);
+		if (next != null) { return next; }
+		String[] keys = Arrays.copyOf(this.keys, this.keys.length + 1);
+		keys[this.keys.length] = key;
+		if (this.tree != null)
+		{
+			synchronized (this)
+			{
+				next = next(key);
+				if (next != null) { return next; }
+				Object[] transitions = this.transitions;
+				if (transitions.length < FAN_OUT * 2 && this.tree.getAndUpdate(n -> n < MAX_SHAPES ? n + 1 : n) < MAX_SHAPES)
+				{
+					next = new JSONShape(keys, this.tree);
+					transitions = Arrays.copyOf(transitions, transitions.length + 2);
+					transitions[transitions.length - 2] = key;
+					transitions[transitions.length - 1] = next;
+					this.transitions = transitions;
+					return next;
+				}
+			}
+			JSONShape root = JSONShape.root;
+			if (root.tree == this.tree && this.tree.get() >= MAX_SHAPES)
+			{
+				JSONShape.root = new JSONShape(new String[0], new AtomicInteger()); // a race makes another, which is harmless
+			}
+		}
+		return keys.length <= SCAN ? new JSONShape(keys, null) : null;
+	}
+
+
+	/**
+	 * @param slot The slot of the key to remove
+	 * @return The shape without the key, keeping the order of the others:
+	 * from the tree if it can be cached there, or else made for the one object.
+	 */
+	JSONShape without(int slot)
+	{
+		JSONShape shape = empty();
+		for (int i = 0; i < this.keys.length && shape != null; i += 1)
+		{
+			if (i != slot) { shape = shape.with(this.keys[i]); }
+		}
+		if (shape != null) { return shape; }
+		String[] keys = new String[this.keys.length - 1];
+		System.arraycopy(this.keys, 0, keys, 0, slot);
+		System.arraycopy(this.keys, slot + 1, keys, slot, keys.length - slot);
+		return new JSONShape(keys, null);
+	}
+
+}
@@ -0,0 +1,275 @@
+package com.augur.json;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A JSONSmallMap is the Map behind a JSONObject with few keys, as most are:
+ * its keys, in the order they were put, are a JSONShape shared with every
+ * other object with the same keys, and it holds only an array of values, by
+ * slot.  A key is found by probing the shape's keys linearly from the front,
+ * which for a few keys is as fast as hashing (a key from the parser or a
+ * JSONKeyCache is usually the very String being looked for, so equals()
+ * returns at once), or in the shape's hash table for more.  Either way this
+ * takes a fraction of the memory of a HashMap, with its table and an entry
+ * node per key.  Putting a key past THRESHOLD, or one that makes a shape
+ * too rare to share (see JSONShape.with()), copies the entries into a
+ * HashMap, which holds them from then on.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONSmallMap extends AbstractMap<String,Object> implements Serializable
+{
+	private static final long serialVersionUID = 1;
+	/** The most keys held without a HashMap. */
+	static final int THRESHOLD = 64;
+	private static final int CAPACITY = 4;
+	private static final Object[] EMPTY = {};
+
+	/** The keys. */
+	private transient JSONShape shape = JSONShape.empty();
+	/** The value of each key, by slot; with room for more. */
+	private transient Object[] values = EMPTY;
+	/** The HashMap that holds the entries after the key past THRESHOLD; or null. */
+	private transient HashMap<String,Object> delegate;
+	private transient int modCount;
+
+
+	/** @return The slot of the key, or -1. */
+	private int find(Object key)
+	{
+		return key instanceof String s ? this.shape.slot(s) : -1;
+	}
+
+
+	/** @return The HashMap holding the entries, copying them all into it on the first call. */
+	private HashMap<String,Object> inflate()
+	{
+		if (this.delegate == null)
+		{
+			int size = this.shape.size();
+			HashMap<String,Object> map = new HashMap<>(Math.max(16, size * 2));
+			for (int i = 0; i < size; i += 1) { map.put(this.shape.key(i), this.values[i]); }
+			this.delegate = map;
+			this.shape = JSONShape.empty();
+			this.values = EMPTY;
+		}
+		return this.delegate;
+	}
+
+
+	/**
+	 * @return A copy of this map, sharing its shape, with each value copied by JSONObject.copy().
+	 */
+	JSONSmallMap copy()
+	{
+		JSONSmallMap map = new JSONSmallMap();
+		if (this.delegate != null)
+		{
+			map.delegate = new HashMap<>(Math.max(16, this.delegate.size() * 2));
+			for (Entry<String,Object> e : this.delegate.entrySet()) { map.delegate.put(e.getKey(), JSONObject.copy(e.getValue())); }
+		}
+		else if (this.shape.size() > 0)
+		{
+			Object[] values = new Object[this.shape.size()];
+			for (int i = 0; i < values.length; i += 1) { values[i] = JSONObject.copy(this.values[i]); }
+			map.shape = this.shape;
+			map.values = values;
+		}
+		return map;
+	}
+
+
+	@Override public int size() { return this.delegate != null ? this.delegate.size() : this.shape.size(); }
+
+
+	@Override public boolean containsKey(Object key)
+	{
+		if (this.delegate != null) { return this.delegate.containsKey(key); }
+		return find(key) >= 0;
+	}
+
+
+	@Override public Object get(Object key)
+	{
+		if (this.delegate != null) { return this.delegate.get(key); }
+		int i = find(key);
+		return i < 0 ? null : this.values[i];
+	}
+
+
+	@Override public Object put(String key, Object value)
+	{
+		if (this.delegate != null) { return this.delegate.put(key, value); }
+		if (key == null) { return inflate().put(key, value); }
+		JSONShape next = this.shape.next(key); // if cached, the key is a new one
+		if (next == null)
+		{
+			int i = find(key);
+			if (i >= 0)
+			{
+				Object old = this.values[i];
+				this.values[i] = value;
+				return old;
+			}
+			if (this.shape.size() == THRESHOLD || (next = this.shape.with(key)) == null) { return inflate().put(key, value); }
+		}
+		int i = this.shape.size();
+		if (i == this.values.length) { this.values = Arrays.copyOf(this.values, Math.min(THRESHOLD, Math.max(CAPACITY, i * 2))); }
+		this.values[i] = value;
+		this.shape = next;
+		this.modCount += 1;
+		return null;
+	}
+
+
+	@Override public Object remove(Object key)
+	{
+		if (this.delegate != null) { return this.delegate.remove(key); }
+		int i = find(key);
+		return i < 0 ? null : removeAt(i);
+	}
+
+
+	private Object removeAt(int i)
+	{
+		JSONShape shape = this.shape.without(i);
+		Object old = this.values[i];
+		int n = this.shape.size();
+		System.arraycopy(this.values, i + 1, this.values, i, n - i - 1);
+		this.values[n - 1] = null;
+		this.shape = shape;
+		this.modCount += 1;
+		return old;
+	}
+
+
+	/**
+	 * Remove all the entries, keeping the array (or HashMap) for reuse.
+	 */
+	@Override public void clear()
+	{
+		if (this.delegate != null) { this.delegate.clear(); return; }
+		Arrays.fill(this.values, 0, this.shape.size(), null);
+		this.shape = JSONShape.empty();
+		this.modCount += 1;
+	}
+
+
+	@Override public Set<String> keySet()
+	{
+		if (this.delegate != null) { return this.delegate.keySet(); }
+		return new AbstractSet<String>()
+		{
+			@Override public int size() { return JSONSmallMap.this.size(); }
+
+			@Override public boolean contains(Object key) { return containsKey(key); }
+
+			@Override public Iterator<String> iterator()
+			{
+				if (JSONSmallMap.this.delegate != null) { return JSONSmallMap.this.delegate.keySet().iterator(); }
+				return new Cursor<String>() { @Override String at(int i) { return JSONSmallMap.this.shape.key(i); } };
+			}
+		};
+	}
+
+
+	@Override public Collection<Object> values()
+	{
+		if (this.delegate != null) { return this.delegate.values(); }
+		return new AbstractCollection<Object>()
+		{
+			@Override public int size() { return JSONSmallMap.this.size(); }
+
+			@Override public Iterator<Object> iterator()
+			{
+				if (JSONSmallMap.this.delegate != null) { return JSONSmallMap.this.delegate.values().iterator(); }
+				return new Cursor<Object>() { @Override Object at(int i) { return JSONSmallMap.this.values[i]; } };
+			}
+		};
+	}
+
+
+	@Override public Set<Entry<String,Object>> entrySet()
+	{
+		if (this.delegate != null) { return this.delegate.entrySet(); }
+		return new AbstractSet<Entry<String,Object>>()
+		{
+			@Override public int size() { return JSONSmallMap.this.size(); }
+
+			@Override public Iterator<Entry<String,Object>> iterator()
+			{
+				if (JSONSmallMap.this.delegate != null) { return JSONSmallMap.this.delegate.entrySet().iterator(); }
+				return new Cursor<Entry<String,Object>>()
+				{
+					@Override Entry<String,Object> at(int i)
+					{
+						return new SimpleEntry<String,Object>(JSONSmallMap.this.shape.key(i), JSONSmallMap.this.values[i])
+						{
+							private static final long serialVersionUID = 1;
+
+							@Override public Object setValue(Object value)
+							{
+								if (JSONSmallMap.this.delegate == null && i < size() && JSONSmallMap.this.shape.key(i) == getKey()) { JSONSmallMap.this.values[i] = value; }
+								else { JSONSmallMap.this.put(getKey(), value); }
+								return super.setValue(value);
+							}
+						};
+					}
+				};
+			}
+		};
+	}
+
+
+	/**
+	 * An iterator over the slots, from the front.
+	 */
+	private abstract class Cursor<T> implements Iterator<T>
+	{
+		/** The slot of the next key. */
+		private int next;
+		/** The slot of the key last returned, for remove(); or -1. */
+		private int last = -1;
+		private int expected = JSONSmallMap.this.modCount;
+
+		/** @return The element for the key in slot i. */
+		abstract T at(int i);
+
+		@Override public boolean hasNext() { return this.next < JSONSmallMap.this.shape.size(); }
+
+		@Override public T next()
+		{
+			if (JSONSmallMap.this.modCount != this.expected || JSONSmallMap.this.delegate != null) { throw new ConcurrentModificationException(); }
+			if (this.next >= JSONSmallMap.this.shape.size()) { throw new NoSuchElementException(); }
+			this.last = this.next;
+			this.next += 1;
+			return at(this.last);
+		}
+
+		@Override public void remove()
+		{
+			if (this.last < 0) { throw new IllegalStateException(); }
+			if (JSONSmallMap.this.modCount != this.expected || JSONSmallMap.this.delegate != null) { throw new ConcurrentModificationException(); }
+			removeAt(this.last);
+			this.next = this.last;
+			this.last = -1;
+			this.expected = JSONSmallMap.this.modCount;
+		}
+	}
+
+
+	/** Serialize the entries as a plain HashMap. */
+	private Object writeReplace() { return new HashMap<>(this); }
+
+}
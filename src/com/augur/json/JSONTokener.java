@@ -5,8 +5,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.io.StringReader;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 
 /*
 Copyright (c) 2002 JSON.org
@@ -41,17 +42,77 @@ SOFTWARE.
  * @version 2013-05-06 Implement '#' line comments, and upgrade to StringBuilder
  * @version 2018-02-25 Add constructor that takes a CharSet for decoding a stream
  * @version 2025-04-18 Simplify '#' code, now supporting comment starting anywhere in line
+ * @version 2026-10-17 Read in-memory text directly from a char[] instead of through a StringReader
+ * @version 2026-10-17 Work out the line and column of in-memory text only for messages
+ * @version 2026-10-17 Add restart() to parse many texts with one tokener, and setPool()
  */
 public class JSONTokener {
 
+    /**
+     * The column and line after the last char read from a Reader or
+     * subclass.  A tokener reading from a char array does not track them,
+     * but works them out from the array when they are needed for a message.
+     */
     private int 	character;
 		private boolean eof;
-    private int 	index;
+    private long 	index;
     private int 	line;
     private char 	previous;
     private Reader 	reader;
     private boolean usePrevious;
 
+    /** The in-memory source text, or null when reading from the Reader. */
+    private char[] 	buffer;
+    /** The offset of the next unread char in the buffer. */
+    private int 	position;
+    /** The offset of the first char of the buffer's source text. */
+    private int 	start;
+    /** The offset just past the last char of the buffer's source text. */
+    private int 	limit;
+    /** The chars of unquoted text read by nextValue() from a Reader or subclass. */
+    private char[] 	scratch;
+    /** The cache of canonical keys, or null. */
+    private JSONKeyCache keyCache;
+    /** The options set by setOptions(), or null for the defaults. */
+    private JSONParserOptions options;
+    /** True to accept only the JSON grammar of RFC 8259. */
+    private boolean strict;
+    /** The limits of the options (or no limits), copied for speed. */
+    private int maxDepth = Integer.MAX_VALUE, maxStringLength = Integer.MAX_VALUE,
+        maxNumberLength = Integer.MAX_VALUE, maxLength = Integer.MAX_VALUE, maxKeys = Integer.MAX_VALUE;
+    /** The maxLength to check reads from a Reader or subclass against: Long.MAX_VALUE if there is no limit. */
+    private long readLimit = Long.MAX_VALUE;
+    /** The nesting depth of the objects and arrays being parsed. */
+    private int depth;
+    /** The offset just past the last char of the buffer's whole source text, which maxLength may cut short. */
+    private int textLimit;
+    /** True if the buffer is this tokener's own copy of the text, which restart() may reuse. */
+    private boolean ownsBuffer;
+    /** The pool of objects and arrays for nextValue(), or null. */
+    private JSONPool pool;
+
+    /** The ASCII chars, other than control chars, that end unquoted text. */
+    private static final boolean[] UNQUOTED_END = new boolean[128];
+    static {
+        for (char c : ",:]}/\\\"[{;=#".toCharArray()) {
+            UNQUOTED_END[c] = true;
+        }
+    }
+
+
+    /**
+     * Construct a JSONTokener for a subclass that supplies its own source
+     * by overriding read(), mark() and reset().
+     */
+    protected JSONTokener() {
+        this.eof = false;
+        this.usePrevious = false;
+        this.previous = 0;
+        this.index = 0;
+        this.character = 1;
+        this.line = 1;
+    }
+
 
     /**
      * Construct a JSONTokener from a Reader.
@@ -94,11 +155,184 @@ public class JSONTokener {
 
     /**
      * Construct a JSONTokener from a string.
+     * The characters are read directly from a copy of the string, 
+     * without the per-character overhead of a Reader.
      *
      * @param s     A source string.
      */
     public JSONTokener(String s) {
-        this(new StringReader(s));
+        this(s.toCharArray());
+        this.ownsBuffer = true;
+    }
+
+
+    /**
+     * Construct a JSONTokener from any CharSequence, such as a StringBuilder or CharBuffer.
+     * The characters are read directly from an array, 
+     * without the per-character overhead of a Reader.
+     *
+     * @param s     A source text.
+     */
+    public JSONTokener(CharSequence s) {
+        this(toCharArray(s));
+        this.ownsBuffer = true;
+    }
+
+
+    /**
+     * Construct a JSONTokener that reads directly from the given char array.
+     * The array is not copied, so it must not be modified while this tokener is in use.
+     *
+     * @param chars     The source text.
+     */
+    public JSONTokener(char[] chars) {
+        this(chars, 0, chars.length);
+    }
+
+
+    /**
+     * Construct a JSONTokener that reads directly from a range of the given char array.
+     * The array is not copied, so it must not be modified while this tokener is in use.
+     *
+     * @param chars     The array holding the source text.
+     * @param offset    The index of the first char of the source text.
+     * @param length    The number of chars in the source text.
+     * @throws IndexOutOfBoundsException if the range is not within the array.
+     */
+    public JSONTokener(char[] chars, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > chars.length - length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + "+" + length + 
+                ") out of bounds for length " + chars.length);
+        }
+        this.buffer = chars;
+        this.start = offset;
+        this.position = offset;
+        this.limit = offset + length;
+        this.textLimit = this.limit;
+        this.eof = false;
+        this.usePrevious = false;
+        this.previous = 0;
+        this.index = 0;
+        this.character = 1;
+        this.line = 1;
+    }
+
+
+    /**
+     * @return The chars of the CharSequence, copied in bulk where the type allows it
+     */
+    private static char[] toCharArray(CharSequence s) {
+        if (s instanceof String str) {
+            return str.toCharArray();
+        }
+        char[] chars = new char[s.length()];
+        getChars(s, chars);
+        return chars;
+    }
+
+
+    /**
+     * Copy the chars of the CharSequence to the front of the array, in bulk where the type allows it.
+     */
+    private static void getChars(CharSequence s, char[] chars) {
+        int length = s.length();
+        if (s instanceof String str) {
+            str.getChars(0, length, chars, 0);
+        } else if (s instanceof StringBuilder sb) {
+            sb.getChars(0, length, chars, 0);
+        } else if (s instanceof StringBuffer sb) {
+            sb.getChars(0, length, chars, 0);
+        } else if (s instanceof CharBuffer cb) {
+            cb.duplicate().get(chars);
+        } else {
+            for (int i = 0; i < length; i += 1) {
+                chars[i] = s.charAt(i);
+            }
+        }
+    }
+
+
+    /**
+     * Start over on a new source text, keeping the key cache, options and
+     * pool; so one tokener can parse many texts in turn.  The text is copied
+     * into this tokener's own buffer, which is reused when it is big enough,
+     * so in the steady state this allocates nothing.
+     *
+     * @param s     The new source text.
+     * @throws UnsupportedOperationException If this is a subclass that supplies its own source.
+     */
+    public void restart(CharSequence s) {
+        checkRestartable();
+        int length = s.length();
+        if (!this.ownsBuffer || this.buffer.length < length) {
+            this.buffer = new char[length];
+            this.ownsBuffer = true;
+        }
+        getChars(s, this.buffer);
+        begin(length);
+    }
+
+
+    /**
+     * Start over on a new source text, read to its end from the Reader (which
+     * is not closed), keeping the key cache, options and pool.  The text is
+     * read into this tokener's own buffer, which is reused when it is big
+     * enough, and parsed from there as in-memory text.
+     *
+     * @param reader     A reader of the new source text.
+     * @throws JSONException If the text cannot be read, or is longer than the maxLength of the options.
+     * @throws UnsupportedOperationException If this is a subclass that supplies its own source.
+     */
+    public void restart(Reader reader) throws JSONException {
+        checkRestartable();
+        char[] chars = this.ownsBuffer ? this.buffer : new char[1024];
+        int length = 0;
+        try {
+            for (int n; (n = reader.read(chars, length, chars.length - length)) >= 0; ) {
+                length += n;
+                if (length > this.maxLength) {
+                    this.buffer = chars;
+                    this.ownsBuffer = true;
+                    begin(length);
+                    throw exceeded(JSONParserOptions.Limit.LENGTH, this.maxLength);
+                }
+                if (length == chars.length) {
+                    chars = Arrays.copyOf(chars, Math.max(1024, chars.length * 2));
+                }
+            }
+        } catch (IOException exception) {
+            throw new JSONException(exception);
+        }
+        this.buffer = chars;
+        this.ownsBuffer = true;
+        begin(length);
+    }
+
+
+    private void checkRestartable() {
+        if (this.buffer == null && this.reader == null) {
+            throw new UnsupportedOperationException(getClass().getName() + " cannot be restarted");
+        }
+    }
+
+
+    /**
+     * Start over at the front of the first length chars of the buffer.
+     */
+    private void begin(int length) {
+        this.reader = null;
+        this.start = 0;
+        this.position = 0;
+        this.limit = length;
+        this.textLimit = length;
+        this.eof = false;
+        this.usePrevious = false;
+        this.previous = 0;
+        this.index = 0;
+        this.character = 1;
+        this.line = 1;
+        this.depth = 0;
+        setOptions(this.options); // cut the new text short at maxLength
     }
 
 
@@ -112,12 +346,23 @@ public class JSONTokener {
             throw new JSONException("Stepping back two steps is not supported");
         }
         this.index -= 1;
-        this.character -= 1;
         this.usePrevious = true;
         this.eof = false;
     }
 
 
+    /**
+     * @return The offset in the char array of the next char that next() will
+     * return, for a tokener reading from a char array; this accounts for back().
+     */
+    int offset() {
+        if (this.usePrevious && !(this.previous == 0 && this.position == this.limit)) {
+            return this.position - 1; // the pushed-back char came from the array
+        }
+        return this.position;
+    }
+
+
     /**
      * Get the hex value of a character (base16).
      * @param c A character between '0' and '9' or between 'A' and 'F' or
@@ -167,19 +412,19 @@ public class JSONTokener {
         if (this.usePrevious) {
         	this.usePrevious = false;
             c = this.previous;
+        } else if (this.buffer != null) {
+            c = this.position < this.limit ? this.buffer[this.position++] : endOfBuffer();
+            if (c == 0) { // End of text
+                this.eof = true;
+            }
         } else {
-	        try {
-	            c = this.reader.read();
-	        } catch (IOException exception) {
-	            throw new JSONException(exception);
-	        }
-	
+	        c = read();
 	        if (c <= 0) { // End of stream
 	        	this.eof = true;
 	        	c = 0;
-	        } 
-        }
-    	this.index += 1;
+	        } else if (this.index >= this.readLimit) { // a char past maxLength, not just the end
+	            throw exceeded(JSONParserOptions.Limit.LENGTH, this.maxLength);
+	        }
 			if (this.previous == '\r') 
 			{
 				this.line += 1;
@@ -189,16 +434,67 @@ public class JSONTokener {
 			{
 				this.line += 1;
 				this.character = 0;
-    	} 
+			} 
 			else 
 			{
 				this.character += 1;
 			}
+        }
+    	this.index += 1;
 		 	this.previous = (char) c;
 			return this.previous;
     }
 
 
+    /**
+     * @return 0 at the end of the buffer's text.
+     * @throws JSONException If the text has been cut short by maxLength.
+     */
+    private char endOfBuffer() throws JSONException {
+        if (this.limit < this.textLimit) {
+            throw exceeded(JSONParserOptions.Limit.LENGTH, this.maxLength);
+        }
+        return 0;
+    }
+
+
+    /**
+     * Read the next char from the source Reader. Subclasses that decode
+     * their own source (rather than a Reader or char array) override this.
+     *
+     * @return The next char, or -1 if past the end of the source.
+     * @throws JSONException If the source cannot be read.
+     */
+    protected int read() throws JSONException {
+        try {
+            return this.reader.read();
+        } catch (IOException exception) {
+            throw new JSONException(exception);
+        }
+    }
+
+
+    /**
+     * Remember the current position of the source Reader, so that skipTo()
+     * can return to it with reset() if the character it seeks is not found.
+     *
+     * @throws IOException If the source does not support marking.
+     */
+    protected void mark() throws IOException {
+        this.reader.mark(Integer.MAX_VALUE);
+    }
+
+
+    /**
+     * Return the source Reader to the position saved by mark().
+     *
+     * @throws IOException If the mark is no longer valid.
+     */
+    protected void reset() throws IOException {
+        this.reader.reset();
+    }
+
+
     /**
      * Consume the next character, and check that it matches a specified
      * character.
@@ -250,6 +546,14 @@ public class JSONTokener {
      * @return  A character, or 0 if there are no more characters.
      */
     public char nextClean() throws JSONException {
+        if (this.strict) {
+            for (;;) {
+                char c = next();
+                if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                    return c;
+                }
+            }
+        }
         for (;;) {
             char c = next();
             if (c == '#')  while ((c = next()) != '\n' && c > 0) { } // ignore comment until end of line, or EOF
@@ -272,10 +576,19 @@ public class JSONTokener {
      * @throws JSONException Unterminated string.
      */
     public String nextString(char quote) throws JSONException {
-        char c;
-        StringBuilder sb = new StringBuilder();
+        String plain = this.usePrevious ? null : nextPlain(quote);
+        if (plain != null && plain.length() > this.maxStringLength) {
+            throw exceeded(JSONParserOptions.Limit.STRING_LENGTH, this.maxStringLength);
+        }
+        char c = next();
+        if (c == quote) {
+            return plain != null ? plain : ""; // no escapes, so no copying beyond making the String
+        }
+        StringBuilder sb = new StringBuilder(plain != null ? plain.length() + 16 : 16);
+        if (plain != null) {
+            sb.append(plain);
+        }
         for (;;) {
-            c = next();
             switch (c) {
             case 0:
             case '\n':
@@ -300,10 +613,20 @@ public class JSONTokener {
                     sb.append('\r');
                     break;
                 case 'u':
-                    sb.append((char)Integer.parseInt(next(4), 16));
+                    // each half of a surrogate pair is its own escape, so is decoded as a plain char
+                    int h1 = dehexchar(next()), h2 = dehexchar(next()), h3 = dehexchar(next()), h4 = dehexchar(next());
+                    if ((h1 | h2 | h3 | h4) < 0) {
+                        throw syntaxError("Illegal escape.");
+                    }
+                    sb.append((char)((h1 << 12) | (h2 << 8) | (h3 << 4) | h4));
                     break;
-                case '"':
                 case '\'':
+                    if (this.strict) {
+                        throw syntaxError("Illegal escape.");
+                    }
+                	sb.append(c);
+                	break;
+                case '"':
                 case '\\':
                 case '/':
                 	sb.append(c);
@@ -316,12 +639,317 @@ public class JSONTokener {
                 if (c == quote) {
                     return sb.toString();
                 }
+                if (c < ' ' && this.strict) {
+                    throw syntaxError("Unescaped control char in string");
+                }
                 sb.append(c);
             }
+            appendPlain(quote, sb);
+            if (sb.length() > this.maxStringLength) {
+                throw exceeded(JSONParserOptions.Limit.STRING_LENGTH, this.maxStringLength);
+            }
+            c = next();
         }
     }
 
 
+    /**
+     * Read in bulk the plain chars at the front of the rest of a quoted
+     * string: those before the next quote, backslash, or control char, found
+     * by the JSONScanner.  Subclasses that decode their own source may
+     * override this (and appendPlain()) to do the same, calling skipped() for
+     * what they read.  It is not called while a char has been pushed back by back().
+     *
+     * @param quote The quoting char of the string
+     * @return The plain chars, or null if there are none (or the source is a Reader).
+     */
+    String nextPlain(char quote) {
+        if (this.buffer != null) {
+            int start = this.position;
+            int end = JSONScanner.INSTANCE.scanString(this.buffer, start, this.limit, quote);
+            if (end > start) {
+                skipped(end - start, this.buffer[end - 1]);
+                this.position = end;
+                return new String(this.buffer, start, end - start);
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * Append in bulk the plain chars at the front of the rest of a quoted
+     * string, as nextPlain() reads them.  It is not called while a char has
+     * been pushed back by back().
+     *
+     * @param quote The quoting char of the string
+     * @param sb The StringBuilder to which the chars are appended
+     */
+    void appendPlain(char quote, StringBuilder sb) {
+        if (this.buffer != null) {
+            int start = this.position;
+            int end = JSONScanner.INSTANCE.scanString(this.buffer, start, this.limit, quote);
+            if (end > start) {
+                sb.append(this.buffer, start, end - start);
+                skipped(end - start, this.buffer[end - 1]);
+                this.position = end;
+            }
+        }
+    }
+
+
+    /**
+     * Get the next key of an object: a quoted string, or unquoted text, which
+     * (as for any value) is converted by nextValue() and then to a String.
+     * If a JSONKeyCache has been set, the key is its canonical instance, and
+     * a quoted key without escapes is looked up from the chars where they lie,
+     * without making a String unless the key is new to the cache.
+     *
+     * @return The key.
+     * @throws JSONException If there is a syntax error.
+     */
+    public String nextKey() throws JSONException {
+        char c = nextClean();
+        if (c != '"' && (c != '\'' || this.strict)) {
+            if (this.strict) {
+                throw syntaxError("Expected a quoted key but found '" + toString(c) + "'");
+            }
+            back();
+            String key = String.valueOf(nextValue());
+            return this.keyCache == null ? key : this.keyCache.intern(key);
+        }
+        if (this.keyCache == null) {
+            return nextString(c);
+        }
+        if (this.buffer != null) {
+            int start = this.position;
+            int end = JSONScanner.INSTANCE.scanString(this.buffer, start, this.limit, c);
+            if (end < this.limit && this.buffer[end] == c && end - start <= this.maxStringLength) {
+                skipped(end + 1 - start, c);
+                this.position = end + 1;
+                return this.keyCache.intern(this.buffer, start, end);
+            }
+            return this.keyCache.intern(nextString(c));
+        }
+        char[] text = this.scratch != null ? this.scratch : (this.scratch = new char[32]);
+        int length = 0;
+        for (char k = next(); k != c; k = next()) {
+            if (k == '\\' || k < ' ') {
+                back(); // an escape, or an error, which nextString() deals with
+                return this.keyCache.intern(new String(text, 0, length) + nextString(c));
+            }
+            if (length == text.length) {
+                if (length > this.maxStringLength) {
+                    throw exceeded(JSONParserOptions.Limit.STRING_LENGTH, this.maxStringLength);
+                }
+                text = this.scratch = Arrays.copyOf(text, length * 2);
+            }
+            text[length++] = k;
+        }
+        if (length > this.maxStringLength) {
+            throw exceeded(JSONParserOptions.Limit.STRING_LENGTH, this.maxStringLength);
+        }
+        return this.keyCache.intern(text, 0, length);
+    }
+
+
+    /**
+     * Set the cache of canonical keys to be used by nextKey(), and so when
+     * parsing JSONObjects from this tokener.
+     *
+     * @param cache The JSONKeyCache, or null to make a new String for every key
+     */
+    public void setKeyCache(JSONKeyCache cache) {
+        this.keyCache = cache;
+    }
+
+
+    /**
+     * @return The cache of canonical keys used by nextKey(), or null.
+     */
+    public JSONKeyCache getKeyCache() {
+        return this.keyCache;
+    }
+
+
+    /**
+     * Set the pool that nextValue(), and so the JSONObject and JSONArray
+     * parsers, take nested objects and arrays from; see JSONPool.
+     *
+     * @param pool The JSONPool, or null to make new objects and arrays
+     */
+    public void setPool(JSONPool pool) {
+        this.pool = pool;
+    }
+
+
+    /**
+     * @return The pool that nextValue() takes objects and arrays from, or null.
+     */
+    public JSONPool getPool() {
+        return this.pool;
+    }
+
+
+    /**
+     * Set the options that select how this tokener parses, e.g. strict mode;
+     * see JSONParserOptions.
+     *
+     * @param options The JSONParserOptions, or null for the defaults
+     */
+    public void setOptions(JSONParserOptions options) {
+        this.options = options;
+        this.strict = options != null && options.isStrict();
+        this.maxDepth = options != null ? options.getMaxDepth() : Integer.MAX_VALUE;
+        this.maxStringLength = options != null ? options.getMaxStringLength() : Integer.MAX_VALUE;
+        this.maxNumberLength = options != null ? options.getMaxNumberLength() : Integer.MAX_VALUE;
+        this.maxLength = options != null ? options.getMaxLength() : Integer.MAX_VALUE;
+        this.maxKeys = options != null ? options.getMaxKeys() : Integer.MAX_VALUE;
+        this.readLimit = this.maxLength == Integer.MAX_VALUE ? Long.MAX_VALUE : this.maxLength; // a stream may be longer than any int
+        if (this.buffer != null) {
+            // cut the text short at maxLength, so that reading past there fails
+            this.limit = (int)Math.min(this.textLimit, (long)this.position + Math.max(0, this.maxLength - this.index));
+        }
+    }
+
+
+    /**
+     * @return The options set by setOptions(), or null.
+     */
+    public JSONParserOptions getOptions() {
+        return this.options;
+    }
+
+
+    /**
+     * @return True if this tokener accepts only the JSON grammar of RFC 8259.
+     */
+    public boolean isStrict() {
+        return this.strict;
+    }
+
+
+    /**
+     * Enter an object or array, which must be left by exit() (even if it fails to parse).
+     *
+     * @throws JSONException If that is deeper than maxDepth.
+     */
+    void enter() throws JSONException {
+        if (this.depth >= this.maxDepth) {
+            throw exceeded(JSONParserOptions.Limit.DEPTH, this.maxDepth);
+        }
+        this.depth += 1;
+    }
+
+
+    /**
+     * Leave an object or array entered by enter().
+     */
+    void exit() {
+        this.depth -= 1;
+    }
+
+
+    /**
+     * Check the count of keys read so far in an object.
+     *
+     * @throws JSONException If it is more than maxKeys.
+     */
+    void checkKeys(int count) throws JSONException {
+        if (count > this.maxKeys) {
+            throw exceeded(JSONParserOptions.Limit.KEYS, this.maxKeys);
+        }
+    }
+
+
+    /**
+     * Check the length of unquoted text read by nextValue(), as a number if
+     * it starts like one, otherwise as a string.
+     *
+     * @throws JSONException If it is too long.
+     */
+    private void checkUnquoted(char first, int length) throws JSONException {
+        if (length > this.maxNumberLength && ((first >= '0' && first <= '9') || first == '-' || first == '+' || first == '.')) {
+            throw exceeded(JSONParserOptions.Limit.NUMBER_LENGTH, this.maxNumberLength);
+        }
+        if (length > this.maxStringLength) {
+            throw exceeded(JSONParserOptions.Limit.STRING_LENGTH, this.maxStringLength);
+        }
+    }
+
+
+    /**
+     * Check the length of a value that was skipped rather than read, e.g.
+     * by a JSONIndex: a quoted string (with its quotes), or unquoted text.
+     *
+     * @throws JSONException If it is too long.
+     */
+    void checkLength(char first, int length) throws JSONException {
+        if (first == '"' || first == '\'') {
+            if (length - 2 > this.maxStringLength) {
+                throw exceeded(JSONParserOptions.Limit.STRING_LENGTH, this.maxStringLength);
+            }
+        } else {
+            checkUnquoted(first, length);
+        }
+    }
+
+
+    /**
+     * @return The exception for a limit of the options that has been exceeded, which is counted.
+     */
+    private JSONException exceeded(JSONParserOptions.Limit limit, int max) {
+        return this.options.exceeded(this, limit, max);
+    }
+
+
+    /**
+     * Read the ':' after a key (or in lenient mode, '=' or '=>').
+     *
+     * @throws JSONException If there is no such separator.
+     */
+    void nextColon() throws JSONException {
+        char c = nextClean();
+        if (c == ':') {
+            return;
+        }
+        if (c == '=' && !this.strict) {
+            if (next() != '>') {
+                back();
+            }
+            return;
+        }
+        throw syntaxError("Expected a ':' after a key but found '" + toString(c) + "'");
+    }
+
+
+    /**
+     * Read what follows a value within an object or array: a ',' (or in
+     * lenient mode, ';'), or the closing char.  In lenient mode a separator
+     * may be followed by the closing char (a trailing comma), which is read too.
+     *
+     * @param close The closing char, '}' or ']'
+     * @return ',' if another value is to follow, or the closing char.
+     * @throws JSONException If neither follows.
+     */
+    char nextSeparator(char close) throws JSONException {
+        char c = nextClean();
+        if (c == ',' || (c == ';' && !this.strict)) {
+            if (!this.strict) {
+                if (nextClean() == close) {
+                    return close;
+                }
+                back();
+            }
+            return ',';
+        }
+        if (c == close) {
+            return c;
+        }
+        throw syntaxError("Expected a ',' or '" + close + "' but found '" + toString(c) + "'");
+    }
+
+
     /**
      * Get the text up but not including the specified character or the
      * end of line, whichever comes first.
@@ -374,8 +1002,10 @@ public class JSONTokener {
      * @return An object.
      */
     public Object nextValue() throws JSONException {
+        if (this.strict) {
+            return nextStrictValue();
+        }
         char c = nextClean();
-        String string;
 
         switch (c) {
             case '"':
@@ -383,10 +1013,10 @@ public class JSONTokener {
                 return nextString(c);
             case '{':
                 back();
-                return new JSONObject(this);
+                return nextObject();
             case '[':
                 back();
-                return new JSONArray(this);
+                return nextArray();
         }
 
         /*
@@ -398,18 +1028,291 @@ public class JSONTokener {
          * formatting character.
          */
 
-        StringBuilder sb = new StringBuilder();
-        while (c >= ' ' && ",:]}/\\\"[{;=#".indexOf(c) < 0) {
-            sb.append(c);
-            c = next();
+        char[] text;
+        int start, end;
+        if (this.buffer != null && !endsUnquoted(c)) {
+            // The text is already in the array, so it is scanned where it is.
+            text = this.buffer;
+            start = this.position - 1;
+            end = this.position;
+            while (end < this.limit && !endsUnquoted(text[end])) {
+                end += 1;
+            }
+            skipped(end - this.position, text[end - 1]);
+            this.position = end;
+            if (end == this.limit && this.limit < this.textLimit) {
+                endOfBuffer(); // the text may go on past maxLength
+            }
+        } else {
+            text = this.scratch != null ? this.scratch : (this.scratch = new char[32]);
+            start = 0;
+            end = 0;
+            while (!endsUnquoted(c)) {
+                if (end == text.length) {
+                    checkUnquoted(text[0], end);
+                    text = this.scratch = Arrays.copyOf(text, end * 2);
+                }
+                text[end++] = c;
+                c = next();
+            }
+            back();
         }
-        back();
-
-        string = sb.toString().trim();
-        if (string.equals("")) {
+        while (end > start && text[end - 1] <= ' ') {
+            end -= 1;
+        }
+        if (end == start) {
             throw syntaxError("Missing value");
         }
-        return JSONObject.stringToValue(string);
+        checkUnquoted(text[start], end - start);
+        return JSONObject.stringToValue(text, start, end);
+    }
+
+
+    private JSONObject nextObject() throws JSONException {
+        if (this.pool == null) {
+            return new JSONObject(this);
+        }
+        JSONObject jo = this.pool.newObject();
+        jo.parse(this);
+        return jo;
+    }
+
+
+    private JSONArray nextArray() throws JSONException {
+        if (this.pool == null) {
+            return new JSONArray(this);
+        }
+        JSONArray ja = this.pool.newArray();
+        ja.parse(this);
+        return ja;
+    }
+
+
+    /**
+     * Get the next value in strict mode, which allows only the values of
+     * RFC 8259: a double-quoted string, object, array, number, true, false, or null.
+     */
+    private Object nextStrictValue() throws JSONException {
+        char c = nextClean();
+        switch (c) {
+            case '"':
+                return nextString(c);
+            case '{':
+                back();
+                return nextObject();
+            case '[':
+                back();
+                return nextArray();
+            case 't':
+                nextKeyword("true");
+                return Boolean.TRUE;
+            case 'f':
+                nextKeyword("false");
+                return Boolean.FALSE;
+            case 'n':
+                nextKeyword("null");
+                return null;
+            case 0:
+                throw syntaxError("Missing value");
+        }
+        if (c != '-' && (c < '0' || c > '9')) {
+            throw syntaxError("Unexpected '" + toString(c) + "'");
+        }
+        char[] text;
+        int start, end;
+        if (this.buffer != null) {
+            text = this.buffer;
+            start = this.position - 1;
+            end = this.position;
+            while (end < this.limit && isNumberChar(text[end])) {
+                end += 1;
+            }
+            skipped(end - this.position, text[end - 1]);
+            this.position = end;
+            if (end == this.limit && this.limit < this.textLimit) {
+                endOfBuffer(); // the text may go on past maxLength
+            }
+        } else {
+            text = this.scratch != null ? this.scratch : (this.scratch = new char[32]);
+            start = 0;
+            end = 0;
+            for (; isNumberChar(c); c = next()) {
+                if (end == text.length) {
+                    checkUnquoted(text[0], end);
+                    text = this.scratch = Arrays.copyOf(text, end * 2);
+                }
+                text[end++] = c;
+            }
+            back();
+        }
+        checkUnquoted(text[start], end - start);
+        if (!JSONNumberLexer.isStrict(text, start, end)) {
+            throw syntaxError("Bad number '" + new String(text, start, end - start) + "'");
+        }
+        Number number = JSONNumberLexer.parse(text, start, end);
+        if (number == null) {
+            throw syntaxError("Number out of range '" + new String(text, start, end - start) + "'");
+        }
+        return number;
+    }
+
+
+    /** Read the rest of a keyword whose first char has been read. */
+    private void nextKeyword(String keyword) throws JSONException {
+        for (int i = 1; i < keyword.length(); i += 1) {
+            if (next() != keyword.charAt(i)) {
+                throw syntaxError("Expected '" + keyword + "'");
+            }
+        }
+    }
+
+
+    private static boolean isNumberChar(char c) {
+        return (c >= '0' && c <= '9') || c == '.' || c == '-' || c == '+' || c == 'e' || c == 'E';
+    }
+
+
+    /**
+     * @return True if the char ends unquoted text: a control char, or one of <code>,:]}/\"[{;=#</code>
+     */
+    private static boolean endsUnquoted(char c) {
+        return c < ' ' || (c < 128 && UNQUOTED_END[c]);
+    }
+
+
+    /**
+     * Skip over the next value: an object or array with all of its contents,
+     * a quoted string, or unquoted text such as a number, true, false, or null.
+     * Nothing is created while skipping (no Strings, StringBuilders, or nested
+     * JSONObjects), and the source is only read forward, so this is a cheap
+     * way to pass over unwanted values.  The contents of a skipped object or
+     * array are not fully checked for syntax errors; only the brackets and
+     * quotes that determine where it ends.
+     *
+     * @throws JSONException If there is no value, or the source ends before the value does.
+     */
+    public void skipValue() throws JSONException {
+        char c = nextClean();
+        switch (c) {
+            case '{':
+            case '[':
+                int nesting = 1;
+                do {
+                    c = next();
+                    switch (c) {
+                        case 0:
+                            throw syntaxError("Expected a closing bracket, but reached EOF");
+                        case '{':
+                        case '[':
+                            nesting += 1;
+                            break;
+                        case '}':
+                        case ']':
+                            nesting -= 1;
+                            break;
+                        case '"':
+                        case '\'':
+                            skipString(c);
+                            break;
+                        case '#':
+                            while ((c = next()) != '\n' && c > 0) { } // ignore comment until end of line, or EOF
+                            break;
+                        case ',': case ':': case ';': case '=': case '/': case '\\':
+                            break;
+                        default:
+                            if (c > ' ') {
+                                back();
+                                skipUnquoted();
+                            }
+                    }
+                } while (nesting > 0);
+                return;
+            case '"':
+            case '\'':
+                skipString(c);
+                return;
+            default:
+                back();
+                if (skipUnquoted() == 0) {
+                    throw syntaxError("Missing value");
+                }
+        }
+    }
+
+
+    /**
+     * Skip the rest of a quoted string whose opening quote was just read.
+     */
+    private void skipString(char quote) throws JSONException {
+        for (;;) {
+            if (!this.usePrevious) {
+                skipPlain(quote);
+            }
+            char c = next();
+            if (c == quote) {
+                return;
+            }
+            switch (c) {
+                case 0:
+                case '\n':
+                case '\r':
+                    throw syntaxError("Unterminated string");
+                case '\\':
+                    next(); // the escaped char; the digits of a \\u escape are skipped as plain chars
+            }
+        }
+    }
+
+
+    /**
+     * Skip in bulk over the plain chars at the front of the rest of a quoted
+     * string: those before the next quote, backslash, or control char, found
+     * by the JSONScanner.  Subclasses that decode their own source may
+     * override this to do the same, calling skipped() for what they skip.
+     * It is not called while a char has been pushed back by back().
+     *
+     * @param quote The quoting char of the string
+     */
+    void skipPlain(char quote) {
+        if (this.buffer != null) {
+            int end = JSONScanner.INSTANCE.scanString(this.buffer, this.position, this.limit, quote);
+            if (end > this.position) {
+                skipped(end - this.position, this.buffer[end - 1]);
+                this.position = end;
+            }
+        }
+    }
+
+
+    /**
+     * Account for chars skipped in bulk (by skipPlain() or nextValue()) as if
+     * each had been read by next(). None of them may be a line break.
+     *
+     * @param count The number of chars skipped
+     * @param last The last char skipped
+     */
+    void skipped(int count, char last) {
+        this.index += count;
+        this.character += count;
+        this.previous = last;
+    }
+
+
+    /**
+     * Skip unquoted text, which ends at the same characters that end it in nextValue().
+     * @return The number of non-space characters skipped.
+     */
+    private int skipUnquoted() throws JSONException {
+        int count = 0;
+        char c = next();
+        while (!endsUnquoted(c)) {
+            if (c > ' ') {
+                count += 1;
+            }
+            c = next();
+        }
+        back();
+        return count;
     }
 
 
@@ -422,15 +1325,35 @@ public class JSONTokener {
      */
     public char skipTo(char to) throws JSONException {
         char c;
+        if (this.buffer != null) {
+            // No need to mark the source; just remember where we were.
+            int startPosition = this.position;
+            long startIndex = this.index;
+            char startPrevious = this.previous;
+            boolean startUsePrevious = this.usePrevious;
+            do {
+                c = next();
+                if (c == 0) {
+                    this.position = startPosition;
+                    this.index = startIndex;
+                    this.previous = startPrevious;
+                    this.usePrevious = startUsePrevious;
+                    this.eof = false;
+                    return c;
+                }
+            } while (c != to);
+            back();
+            return c;
+        }
         try {
-            int startIndex = this.index;
+            long startIndex = this.index;
             int startCharacter = this.character;
             int startLine = this.line;
-            reader.mark(Integer.MAX_VALUE);
+            mark();
             do {
                 c = next();
                 if (c == 0) {
-                    reader.reset();
+                    reset();
                     this.index = startIndex;
                     this.character = startCharacter;
                     this.line = startLine;
@@ -464,8 +1387,33 @@ public class JSONTokener {
      */
 		@Override
     public String toString() {
-        return " at " + index + " [character " + this.character + " line " + 
-        	this.line + "]";
+        // After back(), the column is one less, unless the char stepped back over ended a line,
+        // whose column is not kept (which would cost more for every char read); so that is reported
+        // as the start of the next line.
+        int character = this.usePrevious && this.previous != '\n' ? this.character - 1 : this.character;
+        int line = this.line;
+        if (this.buffer != null) {
+            // Count the lines and columns of the chars read so far, as next() would for a Reader.
+            int end = offset();
+            int reads = end + (int)Math.max(0, this.index - (end - this.start)); // including reads past the end of the text, as 0
+            char previous = 0;
+            character = 1;
+            line = 1;
+            for (int i = this.start; i < reads; i += 1) {
+                char c = i < end ? this.buffer[i] : 0;
+                if (previous == '\r') {
+                    line += 1;
+                    character = c == '\n' ? 0 : 1;
+                } else if (c == '\n') {
+                    line += 1;
+                    character = 0;
+                } else {
+                    character += 1;
+                }
+                previous = c;
+            }
+        }
+        return " at " + index + " [character " + character + " line " + line + "]";
     }
     
     /** 
@@ -0,0 +1,67 @@
+package com.augur.json;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A JSONVectorScanner is a JSONScanner that uses the Vector API to compare
+ * as many chars or bytes at once as the CPU's preferred SIMD register holds
+ * (e.g. 32 bytes with AVX2, 64 with AVX-512), in the spirit of simdjson.
+ * The text left over after the last whole register is scanned by the scalar
+ * code.  It is only loaded (reflectively, by JSONScanner) when the
+ * jdk.incubator.vector module is present.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONVectorScanner extends JSONScanner
+{
+	private static final VectorSpecies<Short> CHARS = ShortVector.SPECIES_PREFERRED;
+	private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+
+
+	@Override
+	int scanString(char[] a, int from, int to, char quote)
+	{
+		int i = from;
+		for (int bound = from + CHARS.loopBound(to - from); i < bound; i += CHARS.length())
+		{
+			ShortVector v = ShortVector.fromCharArray(CHARS, a, i);
+			VectorMask<Short> m = v.eq((short)quote).or(v.eq((short)'\\')).or(v.and((short)0xFFE0).eq((short)0)); // the last: c < ' '
+			if (m.anyTrue()) { return i + m.firstTrue(); }
+		}
+		return super.scanString(a, i, to, quote);
+	}
+
+
+	@Override
+	int scanString(byte[] a, int from, int to, char quote)
+	{
+		int i = from;
+		for (int bound = from + BYTES.loopBound(to - from); i < bound; i += BYTES.length())
+		{
+			ByteVector v = ByteVector.fromArray(BYTES, a, i);
+			VectorMask<Byte> m = v.eq((byte)quote).or(v.eq((byte)'\\')).or(v.lt((byte)' ')); // a non-ASCII byte is negative
+			if (m.anyTrue()) { return i + m.firstTrue(); }
+		}
+		return super.scanString(a, i, to, quote);
+	}
+
+
+	@Override
+	int scanString(ByteBuffer a, int from, int to, char quote)
+	{
+		int i = from;
+		for (int bound = from + BYTES.loopBound(to - from); i < bound; i += BYTES.length())
+		{
+			ByteVector v = ByteVector.fromByteBuffer(BYTES, a, i, ByteOrder.nativeOrder());
+			VectorMask<Byte> m = v.eq((byte)quote).or(v.eq((byte)'\\')).or(v.lt((byte)' '));
+			if (m.anyTrue()) { return i + m.firstTrue(); }
+		}
+		return super.scanString(a, i, to, quote);
+	}
+
+}
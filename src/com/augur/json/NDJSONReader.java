@@ -0,0 +1,315 @@
+package com.augur.json;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * An NDJSONReader reads newline-delimited JSON (NDJSON, also known as JSON
+ * Lines): a stream with one JSON value, usually an object, per line.  One
+ * tokener reads the whole stream, through its own block buffer, so nothing
+ * is made per line except the values themselves; and next(JSONObject) can
+ * even reuse one JSONObject for every line, e.g. in a filter loop:
+ * <pre>
+ * try (NDJSONReader in = new NDJSONReader(new File("audit.ndjson")))
+ * {
+ *   JSONObject event = new JSONObject();
+ *   while (in.next(event) != null) { if (wanted(event)) { ... } }
+ * }</pre>
+ * Blank lines (and '#' comments) are skipped.  A value must end its line;
+ * a syntax error leaves the reader within the bad line, and skipLine() may
+ * be called to go on with the next one.  An NDJSONReader is not thread-safe.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+public class NDJSONReader implements Closeable
+{
+	private final Reader reader;
+	private final BlockTokener x;
+
+
+	/**
+	 * Construct an NDJSONReader of text from a Reader.
+	 * @param reader The source, which need not be buffered
+	 */
+	public NDJSONReader(Reader reader)
+	{
+		this.reader = reader;
+		this.x = new BlockTokener(reader);
+	}
+
+
+	/**
+	 * Construct an NDJSONReader of UTF-8 text from an InputStream.
+	 * @param in The source, which need not be buffered
+	 */
+	public NDJSONReader(InputStream in)
+	{
+		this(new InputStreamReader(in, StandardCharsets.UTF_8));
+	}
+
+
+	/**
+	 * Construct an NDJSONReader of a UTF-8 file.
+	 * @param file The source file
+	 * @throws IOException If the file cannot be opened.
+	 */
+	public NDJSONReader(File file) throws IOException
+	{
+		this(new FileInputStream(file));
+	}
+
+
+	/**
+	 * Set the cache of canonical keys to be used when parsing; see JSONKeyCache.
+	 * @param cache The JSONKeyCache, or null
+	 */
+	public void setKeyCache(JSONKeyCache cache)
+	{
+		this.x.setKeyCache(cache);
+	}
+
+
+	/**
+	 * Read the next line's value.
+	 * @return A JSONObject, JSONArray, String, Boolean, Number, or null (for
+	 * a JSON null); or null at the end of the stream (see end() to tell them apart).
+	 * @throws JSONException If there is a syntax error, or the value does not end its line.
+	 */
+	public Object nextValue() throws JSONException
+	{
+		if (!more()) { return null; }
+		Object value = this.x.nextValue();
+		endLine(this.x);
+		return value;
+	}
+
+
+	/**
+	 * Read the next line's object into a new JSONObject.
+	 * @return The JSONObject, or null at the end of the stream.
+	 * @throws JSONException If there is a syntax error, the line is not an
+	 * object, or the object does not end its line.
+	 */
+	public JSONObject next() throws JSONException
+	{
+		return more() ? read(new JSONObject()) : null;
+	}
+
+
+	/**
+	 * Read the next line's object into a JSONObject, which is first cleared;
+	 * so one JSONObject may be reused for every line.
+	 * @param jo The JSONObject to receive the line's keys and values
+	 * @return The JSONObject, or null at the end of the stream.
+	 * @throws JSONException If there is a syntax error, the line is not an
+	 * object, or the object does not end its line.
+	 */
+	public JSONObject next(JSONObject jo) throws JSONException
+	{
+		if (!more()) { return null; }
+		jo.clear();
+		return read(jo);
+	}
+
+
+	private JSONObject read(JSONObject jo) throws JSONException
+	{
+		jo.parse(this.x);
+		endLine(this.x);
+		return jo;
+	}
+
+
+	/** @return True if there is another value, skipping blank lines and comments. */
+	private boolean more() throws JSONException
+	{
+		if (this.x.nextClean() == 0) { return false; }
+		this.x.back();
+		return true;
+	}
+
+
+	/** Read the rest of the line after a value, which may be only spaces or a comment. */
+	static void endLine(JSONTokener x) throws JSONException
+	{
+		for (;;)
+		{
+			char c = x.next();
+			switch (c)
+			{
+				case 0:
+				case '\n':
+					return;
+				case ' ':
+				case '\t':
+				case '\r':
+					break;
+				case '#':
+					x.back();
+					x.nextClean(); // to the end of the comment, and beyond
+					x.back();
+					return;
+				default:
+					throw x.syntaxError("Expected the end of the line after a value but found '"+JSONTokener.toString(c)+"'");
+			}
+		}
+	}
+
+
+	/**
+	 * Skip the rest of the current line, e.g. to go on after a syntax error.
+	 * @throws JSONException If the source cannot be read.
+	 */
+	public void skipLine() throws JSONException
+	{
+		for (char c = this.x.next(); c != '\n' && c != 0; c = this.x.next()) { }
+	}
+
+
+	/**
+	 * @return True if the end of the stream has been reached.
+	 * @throws JSONException If the source cannot be read.
+	 */
+	public boolean end() throws JSONException
+	{
+		return !more();
+	}
+
+
+	/**
+	 * @return A description of the position in the stream, for messages.
+	 */
+	@Override
+	public String toString()
+	{
+		return this.x.toString();
+	}
+
+
+	/**
+	 * Close the source.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		this.reader.close();
+	}
+
+
+
+	/**
+	 * A JSONTokener that reads a Reader a block at a time into its own char[],
+	 * rather than one char at a time through a (locking) BufferedReader, and
+	 * so can also read the plain chars of strings in bulk.
+	 */
+	private static final class BlockTokener extends JSONTokener
+	{
+		private final Reader reader;
+		private char[] block = new char[8192];
+		private int position;
+		private int limit;
+		/** The offset in the block of the mark, or -1. */
+		private int mark = -1;
+
+
+		BlockTokener(Reader reader)
+		{
+			super();
+			this.reader = reader;
+		}
+
+
+		/** @return True if there is at least one more char in the block, reading another block if need be. */
+		private boolean fill() throws JSONException
+		{
+			if (this.position < this.limit) { return true; }
+			int keep = 0;
+			if (this.mark >= 0)
+			{
+				// keep the chars from the mark, to be read again after reset()
+				keep = this.limit - this.mark;
+				if (keep == this.block.length) { this.block = Arrays.copyOf(this.block, this.block.length * 2); }
+				System.arraycopy(this.block, this.mark, this.block, 0, keep);
+				this.mark = 0;
+			}
+			this.position = this.limit = keep;
+			try
+			{
+				int n = this.reader.read(this.block, keep, this.block.length - keep);
+				if (n <= 0) { return false; }
+				this.limit += n;
+				return true;
+			}
+			catch (IOException e) { throw new JSONException(e); }
+		}
+
+
+		@Override
+		protected int read() throws JSONException
+		{
+			return fill() ? this.block[this.position++] : -1;
+		}
+
+
+		@Override
+		protected void mark()
+		{
+			this.mark = this.position;
+		}
+
+
+		@Override
+		protected void reset()
+		{
+			this.position = this.mark;
+			this.mark = -1;
+		}
+
+
+		@Override
+		void skipPlain(char quote)
+		{
+			int start = this.position;
+			int end = JSONScanner.INSTANCE.scanString(this.block, start, this.limit, quote);
+			if (end > start)
+			{
+				skipped(end - start, this.block[end - 1]);
+				this.position = end;
+			}
+		}
+
+
+		@Override
+		String nextPlain(char quote)
+		{
+			int start = this.position;
+			int end = JSONScanner.INSTANCE.scanString(this.block, start, this.limit, quote);
+			if (end == start) { return null; }
+			skipped(end - start, this.block[end - 1]);
+			this.position = end;
+			return new String(this.block, start, end - start);
+		}
+
+
+		@Override
+		void appendPlain(char quote, StringBuilder sb)
+		{
+			int start = this.position;
+			int end = JSONScanner.INSTANCE.scanString(this.block, start, this.limit, quote);
+			if (end > start)
+			{
+				sb.append(this.block, start, end - start);
+				skipped(end - start, this.block[end - 1]);
+				this.position = end;
+			}
+		}
+	}
+
+}
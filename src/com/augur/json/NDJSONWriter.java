@@ -0,0 +1,171 @@
+package com.augur.json;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An NDJSONWriter writes newline-delimited JSON (NDJSON, also known as JSON
+ * Lines): one compact JSON value per line, as read by NDJSONReader.  Output
+ * is buffered, and flushed to the destination after every
+ * <code>flushEvery</code> values (or only when the buffer is full, if that
+ * is 0), as well as by flush() and close(); so a log can trade latency for
+ * fewer, larger writes.  An NDJSONWriter is not thread-safe.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+public class NDJSONWriter implements Closeable, Flushable
+{
+	/** The default size of the buffer, in chars. */
+	public static final int BUFFER_SIZE = 65536;
+
+	private final Writer writer;
+	private final int flushEvery;
+	/** The count of values written since the last flush. */
+	private int unflushed;
+
+
+	/**
+	 * Construct an NDJSONWriter that flushes only when its buffer is full.
+	 * @param writer The destination
+	 */
+	public NDJSONWriter(Writer writer)
+	{
+		this(writer, 0);
+	}
+
+
+	/**
+	 * Construct an NDJSONWriter.
+	 * @param writer The destination
+	 * @param flushEvery The count of values after which the buffer is flushed,
+	 *  e.g. 1 to flush each line; or 0 to flush only when the buffer is full
+	 */
+	public NDJSONWriter(Writer writer, int flushEvery)
+	{
+		this(writer, flushEvery, BUFFER_SIZE);
+	}
+
+
+	/**
+	 * Construct an NDJSONWriter.
+	 * @param writer The destination
+	 * @param flushEvery The count of values after which the buffer is flushed,
+	 *  e.g. 1 to flush each line; or 0 to flush only when the buffer is full
+	 * @param bufferSize The size of the buffer, in chars
+	 * @throws IllegalArgumentException If flushEvery is negative, or bufferSize is not positive.
+	 */
+	public NDJSONWriter(Writer writer, int flushEvery, int bufferSize)
+	{
+		if (flushEvery < 0) { throw new IllegalArgumentException("Negative flushEvery: " + flushEvery); }
+		this.writer = new BufferedWriter(writer, bufferSize);
+		this.flushEvery = flushEvery;
+	}
+
+
+	/**
+	 * Construct an NDJSONWriter of UTF-8 text to an OutputStream.
+	 * @param out The destination
+	 * @param flushEvery The count of values after which the buffer is flushed, or 0
+	 */
+	public NDJSONWriter(OutputStream out, int flushEvery)
+	{
+		this(new OutputStreamWriter(out, StandardCharsets.UTF_8), flushEvery);
+	}
+
+
+	/**
+	 * Construct an NDJSONWriter of a UTF-8 file.
+	 * @param file The destination file
+	 * @param append True to append to the file, or false to replace it
+	 * @param flushEvery The count of values after which the buffer is flushed, or 0
+	 * @throws IOException If the file cannot be opened.
+	 */
+	public NDJSONWriter(File file, boolean append, int flushEvery) throws IOException
+	{
+		this(new FileOutputStream(file, append), flushEvery);
+	}
+
+
+	/**
+	 * Write a JSONObject as a line.
+	 * @param jo The JSONObject
+	 * @return this.
+	 * @throws JSONException If the value cannot be written.
+	 */
+	public NDJSONWriter write(JSONObject jo) throws JSONException
+	{
+		jo.write(this.writer);
+		return endLine();
+	}
+
+
+	/**
+	 * Write a JSONArray as a line.
+	 * @param ja The JSONArray
+	 * @return this.
+	 * @throws JSONException If the value cannot be written.
+	 */
+	public NDJSONWriter write(JSONArray ja) throws JSONException
+	{
+		ja.write(this.writer);
+		return endLine();
+	}
+
+
+	/**
+	 * Write any value as a line, as it would be written within a JSONObject.
+	 * @param value A JSONObject, JSONArray, String, Boolean, Number, JSONString, or null
+	 * @return this.
+	 * @throws JSONException If the value cannot be written.
+	 */
+	public NDJSONWriter write(Object value) throws JSONException
+	{
+		if (value instanceof JSONObject jo) { return write(jo); }
+		if (value instanceof JSONArray ja) { return write(ja); }
+		try { this.writer.write(JSONObject.valueToString(value)); }
+		catch (IOException e) { throw new JSONException(e); }
+		return endLine();
+	}
+
+
+	private NDJSONWriter endLine() throws JSONException
+	{
+		try
+		{
+			this.writer.write('\n');
+			if (this.flushEvery > 0 && ++this.unflushed >= this.flushEvery) { flush(); }
+		}
+		catch (IOException e) { throw new JSONException(e); }
+		return this;
+	}
+
+
+	/**
+	 * Write any buffered lines to the destination, and flush it.
+	 */
+	@Override
+	public void flush() throws IOException
+	{
+		this.unflushed = 0;
+		this.writer.flush();
+	}
+
+
+	/**
+	 * Flush, and close the destination.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		this.writer.close();
+	}
+
+}
@@ -14,7 +14,10 @@ public class RPCRequest extends JSONObject //implements Externalizable
 	public static final long serialVersionUID = 8335194366852795448L;
 	public static final String VERSION = "2.0";
 	public static final String JSONRPC="jsonrpc", ID="id", METHOD="method", PARAMS="params";
-	public static final JSONObject NULL_PARAMS = new JSONObject();
+	/** The empty params of a request that has none; frozen, so no caller can put into it. */
+	public static final JSONObject NULL_PARAMS = new JSONObject().freeze();
+	/** Selects just the keys needed to route a request; see RPCRequest(JSONTokener, JSONProjection). */
+	public static final JSONProjection ROUTING = new JSONProjection(JSONRPC, ID, METHOD);
 	
 	JSONObject params;
 	String jsonrpc, id, method;
@@ -62,14 +65,65 @@ public class RPCRequest extends JSONObject //implements Externalizable
 	 */
 	public RPCRequest(String request) throws JSONException
 	{
-		super(request);
+		this(new JSONTokener(request));
+	}
+
+
+	/**
+	 * Used to parse a JSON-RPC request from a tokener; for example, a 
+	 * JSONByteTokener reading the UTF-8 body of an HTTP POST.
+	 *
+	 * @param x The JSONTokener positioned at the request object
+	 * @throws JSONException
+	 */
+	public RPCRequest(JSONTokener x) throws JSONException
+	{
+		super(x);
+		init();
+	}
+
+
+	/**
+	 * Used to parse just part of a JSON-RPC request; for example, with 
+	 * the ROUTING projection, only the version, id, and method are parsed,
+	 * and the params are skipped without being converted to Java objects.
+	 * The RPC params will then hold only the params selected by the projection.
+	 *
+	 * @param x The JSONTokener positioned at the request object
+	 * @param projection The paths to be kept, which should include "method"
+	 * @throws JSONException
+	 */
+	public RPCRequest(JSONTokener x, JSONProjection projection) throws JSONException
+	{
+		super();
+		parse(x, projection);
+		init();
+	}
+
+
+	/**
+	 * Used to parse just part of a JSON-RPC request.
+	 * @see #RPCRequest(JSONTokener, JSONProjection)
+	 *
+	 * @param request
+	 * @param projection The paths to be kept, which should include "method"
+	 * @throws JSONException
+	 */
+	public RPCRequest(String request, JSONProjection projection) throws JSONException
+	{
+		this(new JSONTokener(request), projection);
+	}
+
+
+	private void init() throws JSONException
+	{
 		// read all KEYS now so JSONExceptions are squeezed out during construction...
 		params = optJSONObject(PARAMS,null);
 		if (params==null) params = new JSONObject(); // for GET request, params are at top level; need to copy into params object
 		jsonrpc=VERSION; // just assume this version, if missing
 		id = null; // default, a "notification"
 		
-		for (String k : keySet())
+		for (String k : keySet().toArray(new String[0])) // a copy, since extras are removed
 		{
 			switch(k)
 			{
@@ -124,8 +178,8 @@ public class RPCRequest extends JSONObject //implements Externalizable
 
 	/** 
 	 * @return The JSONObject containing the RPC parameters; an empty JSONObject
-	 * will be returned if the params are actually null; do not use this JSONObject
-	 * to 'put' new data, since you may be writing to a shared "null params" object.
+	 * will be returned if the params are actually null: the shared NULL_PARAMS,
+	 * which is frozen, so a 'put' into it throws an UnsupportedOperationException.
 	 */
 	public JSONObject getRpcParams()
 	{
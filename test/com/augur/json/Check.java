@@ -0,0 +1,49 @@
+package com.augur.json;
+
+import java.util.Objects;
+
+/**
+ * The assertions of the tests (see TestRunner), each of which throws an
+ * AssertionError if it does not hold.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class Check
+{
+	/** A block of code that may throw anything. */
+	interface Block
+	{
+		void run() throws Exception;
+	}
+
+
+	private Check() { }
+
+
+	static void that(boolean condition, String message)
+	{
+		if (!condition) { throw new AssertionError(message); }
+	}
+
+
+	static void equal(Object expected, Object actual)
+	{
+		if (!Objects.equals(expected, actual)) { throw new AssertionError("expected <" + expected + "> but was <" + actual + ">"); }
+	}
+
+
+	/**
+	 * @return The exception the block threw, which must be of the given type.
+	 */
+	static <T extends Throwable> T fails(Class<T> type, Block block)
+	{
+		try { block.run(); }
+		catch (Throwable t)
+		{
+			if (type.isInstance(t)) { return type.cast(t); }
+			throw new AssertionError("expected " + type.getName() + " but threw " + t, t);
+		}
+		throw new AssertionError("expected " + type.getName() + " but nothing was thrown");
+	}
+
+}
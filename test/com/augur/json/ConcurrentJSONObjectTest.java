@@ -0,0 +1,181 @@
+package com.augur.json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tests of ConcurrentJSONObject, with many threads changing one at once.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class ConcurrentJSONObjectTest
+{
+	private static final int THREADS = 8;
+
+
+	/** A task for each of the threads, given its number. */
+	private interface Task
+	{
+		void run(int thread) throws Exception;
+	}
+
+
+	/** Run the task in each of the threads, started at once, and fail if any of them failed. */
+	private static void inThreads(Task task) throws Exception
+	{
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		List<Throwable> failures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t += 1)
+		{
+			int thread = t;
+			Thread th = new Thread(() ->
+			{
+				try
+				{
+					start.await();
+					task.run(thread);
+				}
+				catch (Throwable e) { synchronized (failures) { failures.add(e); } }
+			});
+			th.start();
+			threads.add(th);
+		}
+		start.countDown();
+		for (Thread th : threads) { th.join(); }
+		if (!failures.isEmpty()) { throw new AssertionError(failures.get(0)); }
+	}
+
+
+	static void testIncrementTotals() throws Exception
+	{
+		ConcurrentJSONObject c = new ConcurrentJSONObject("{\"old\":5,\"d\":0.5}");
+		inThreads(thread ->
+		{
+			for (int i = 0; i < 20000; i += 1)
+			{
+				c.increment("hits");
+				c.increment("k" + (i % 4));
+				c.add("old", 2);
+				if (i % 100 == 0) { c.add("d", 1); }
+			}
+		});
+		Check.equal(THREADS * 20000L, c.getLong("hits"));
+		for (int k = 0; k < 4; k += 1) { Check.equal(THREADS * 5000, c.getInt("k" + k)); }
+		Check.equal(5 + THREADS * 40000L, c.getLong("old"));
+		Check.equal(0.5 + THREADS * 200, c.getDouble("d"));
+		Check.fails(IllegalArgumentException.class, () -> c.put("s", "x").increment("s"));
+	}
+
+
+	static void testAccumulateAndAppendInThreads() throws Exception
+	{
+		ConcurrentJSONObject c = new ConcurrentJSONObject();
+		int count = 50000;
+		JSONArray[] seen = new JSONArray[1];
+		inThreads(thread ->
+		{
+			for (int i = 0; i < count; i += 1)
+			{
+				c.accumulate("acc", thread * count + i);
+				c.append("app", "t" + thread);
+				if (thread == 0 && i == count / 2) { seen[0] = c.getJSONArray("app"); }
+			}
+		});
+		JSONArray acc = c.getJSONArray("acc");
+		JSONArray app = c.getJSONArray("app");
+		Check.equal(THREADS * count, acc.length());
+		Check.equal(THREADS * count, app.length());
+		Check.that(acc.isFrozen() && app.isFrozen(), "frozen");
+		int[] last = new int[THREADS];
+		Arrays.fill(last, -1);
+		for (int i = 0; i < acc.length(); i += 1)
+		{
+			int v = acc.getInt(i);
+			Check.that(v % count > last[v / count], "each thread's values in order");
+			last[v / count] = v % count;
+		}
+		int length = seen[0].length();
+		Check.that(length > count / 2 && length < THREADS * count, "a version read on the way: " + length);
+		for (int i = 0; i < length; i += 1) { Check.equal(app.get(i), seen[0].get(i)); }
+		Check.fails(IndexOutOfBoundsException.class, () -> seen[0].toArrayList().get(length));
+		Check.equal(length, seen[0].toArrayList().size());
+	}
+
+
+	static void testAppendedVersionsDoNotChange() throws Exception
+	{
+		JSONArray a = new JSONArray().put("a").freeze();
+		JSONArray b = a.with(1, "b");
+		JSONArray c = b.with(2, "c");
+		JSONArray d = b.with(2, "d"); // b has been appended to already, so this copies
+		JSONArray e = c.with(1, "e");
+		Check.equal("[\"a\"]", a.toString());
+		Check.equal("[\"a\",\"b\"]", b.toString());
+		Check.equal("[\"a\",\"b\",\"c\"]", c.toString());
+		Check.equal("[\"a\",\"b\",\"d\"]", d.toString());
+		Check.equal("[\"a\",\"e\",\"c\"]", e.toString());
+		Check.equal("[\"a\",\"b\",\"d\",4]", d.with(3, 4).toString());
+		Check.fails(UnsupportedOperationException.class, () -> c.put("x"));
+	}
+
+
+	static void testNullValues() throws Exception
+	{
+		ConcurrentJSONObject c = new ConcurrentJSONObject("{\"a\":null,\"b\":1}");
+		Check.that(c.has("a") && c.opt("a") == null, "a null value is held");
+		c.accumulate("n", null);
+		Check.that(c.has("n") && c.opt("n") == null, "a null accumulated");
+		c.accumulate("n", 2); // as in a JSONObject, a null is as good as none
+		Check.equal(2, c.get("n"));
+		c.putNull("n").accumulate("n", new JSONArray().put(1));
+		Check.equal("[[1]]", c.get("n").toString());
+		c.putNull("p");
+		Check.equal(null, c.putIfAbsent("p", 3));
+		Check.that(c.opt("p") == null, "not replaced");
+		Check.equal(1, c.putIfAbsent("b", 3));
+		Check.equal(null, c.putIfAbsent("q", 3));
+		Check.equal(3, c.get("q"));
+		int nulls = 0;
+		for (String key : c.keySet()) { if (c.opt(key) == null) { nulls += 1; } }
+		Check.equal(2, nulls); // a and p
+		Check.equal(new JSONObject(c.toString()).toString(), new JSONObject(c).toString());
+	}
+
+
+	static void testComputeRemoves() throws Exception
+	{
+		ConcurrentJSONObject c = new ConcurrentJSONObject("{\"a\":1,\"b\":2}");
+		Check.equal(2, c.compute("a", (k, v) -> (Integer)v + 1));
+		Check.equal(2, c.getInt("a"));
+		Check.equal(null, c.compute("b", (k, v) -> null));
+		Check.that(!c.has("b"), "removed");
+		Check.equal(null, c.compute("none", (k, v) -> null));
+		Check.that(!c.has("none"), "not added");
+		Check.fails(IllegalArgumentException.class, () -> c.compute("a", (k, v) -> Double.NaN));
+		Check.equal(2, c.getInt("a"));
+		Check.fails(NullPointerException.class, () -> c.compute(null, (k, v) -> 1));
+	}
+
+
+	static void testCountersAreWrittenAsNumbers() throws Exception
+	{
+		ConcurrentJSONObject c = new ConcurrentJSONObject();
+		c.increment("hits").increment("hits").add("hits", 40);
+		Check.that(c.get("hits") instanceof LongAdder, "a LongAdder");
+		Check.equal("{\"hits\":42}", c.toString());
+		JSONObject copy = new JSONObject(c);
+		Check.equal(Long.class, copy.get("hits").getClass());
+		Check.equal(42L, copy.get("hits"));
+		JSONObject frozen = c.freeze();
+		Check.equal(Long.class, frozen.get("hits").getClass());
+		c.increment("hits");
+		Check.equal(42, frozen.getInt("hits"));
+		Check.equal(43, c.getInt("hits"));
+		Check.equal(42, new JSONObject(frozen.toString()).getInt("hits"));
+	}
+
+}
@@ -0,0 +1,185 @@
+package com.augur.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Tests of JSONByteTokener, which must decode UTF-8 as an InputStreamReader would.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONByteTokenerTest
+{
+	private static byte[] bytes(int... values)
+	{
+		byte[] bytes = new byte[values.length];
+		for (int i = 0; i < values.length; i += 1) { bytes[i] = (byte)values[i]; }
+		return bytes;
+	}
+
+
+	private static byte[] utf8(String text)
+	{
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+
+
+	/** @return The range of bytes decoded by an InputStreamReader. */
+	private static String decoded(byte[] bytes, int offset, int length) throws IOException
+	{
+		StringBuilder sb = new StringBuilder();
+		try (Reader r = new InputStreamReader(new ByteArrayInputStream(bytes, offset, length), StandardCharsets.UTF_8))
+		{
+			for (int c; (c = r.read()) >= 0; ) { sb.append((char)c); }
+		}
+		return sb.toString();
+	}
+
+
+	/** @return Every char the tokener reads, up to the end of its text. */
+	private static String chars(JSONTokener x) throws JSONException
+	{
+		StringBuilder sb = new StringBuilder();
+		for (char c = x.next(); !x.end(); c = x.next()) { sb.append(c); }
+		return sb.toString();
+	}
+
+
+	/** The bytes, read char by char and as a string literal, must decode as an InputStreamReader decodes them. */
+	private static void same(byte[] bytes) throws Exception
+	{
+		String expected = decoded(bytes, 0, bytes.length);
+		Check.equal(expected, chars(new JSONByteTokener(bytes)));
+		byte[] literal = new byte[bytes.length + 4];
+		literal[0] = '[';
+		literal[1] = '"';
+		System.arraycopy(bytes, 0, literal, 2, bytes.length);
+		literal[bytes.length + 2] = '"';
+		literal[bytes.length + 3] = ']';
+		Check.equal(expected, new JSONArray(new JSONByteTokener(literal)).getString(0));
+	}
+
+
+	static void testMultiByteChars() throws Exception
+	{
+		String[] texts = {
+			"caf\u00e9", "\u20ac5", "\u65e5\u672c\u8a9e", "\u0080\u07ff\u0800\uffff", "\ufffe\ufeff",
+			"plain ascii long enough to be scanned in bulk, then \u00fc\u00f1\u00ee\u00e7\u00f8d\u00e9 and plain again",
+			"\u00e9".repeat(100), "x\u0100".repeat(50) + "tail"};
+		for (String text : texts)
+		{
+			same(utf8(text));
+			Check.equal(text, new JSONObject(new JSONByteTokener(utf8("{\"" + text + "\":\"" + text + "\"}"))).getString(text));
+		}
+		Check.equal("\u00e9", new JSONArray(new JSONByteTokener(utf8("[\"\\u00e9\"]"))).getString(0));
+	}
+
+
+	static void testSurrogatePairs() throws Exception
+	{
+		String face = "\uD83D\uDE00";
+		String max = new String(Character.toChars(Character.MAX_CODE_POINT));
+		same(utf8(face));
+		same(utf8("a" + face + "b" + max + "\uD800\uDC00" + face + face));
+		same(utf8(("ascii run " + face).repeat(20)));
+		same(bytes(0xF0, 0x90, 0x80, 0x80, 0xF4, 0x8F, 0xBF, 0xBF));
+		JSONByteTokener x = new JSONByteTokener(utf8(face + "abc"));
+		Check.equal('\uD83D', x.next());
+		Check.equal((char)0, x.skipTo('q')); // not found, so back to the low surrogate still owed
+		Check.equal('\uDE00', x.next());
+		x.back();
+		Check.equal('\uDE00', x.next());
+		Check.equal('c', x.skipTo('c'));
+		Check.equal("c", chars(x));
+		Check.equal(face, new JSONObject(new JSONByteTokener(utf8("{\"k\":\"\\ud83d\\ude00\"}"))).getString("k"));
+	}
+
+
+	static void testMalformedSequences() throws Exception
+	{
+		byte[][] malformed = {
+			bytes(0x80), bytes(0xBF), bytes(0x80, 0x80, 0x41), bytes(0xF8, 0x88, 0x80, 0x80, 0x80), bytes(0xFC), bytes(0xFE), bytes(0xFF),
+			bytes(0xC0, 0x80), bytes(0xC1, 0xBF), bytes(0xE0, 0x80, 0x80), bytes(0xE0, 0x9F, 0xBF), bytes(0xF0, 0x80, 0x80, 0x80),
+			bytes(0xF0, 0x8F, 0xBF, 0xBF), bytes(0xED, 0xA0, 0x80), bytes(0xED, 0xBF, 0xBF), bytes(0xED, 0xA0, 0xBD, 0xED, 0xB8, 0x80),
+			bytes(0xF4, 0x90, 0x80, 0x80), bytes(0xF5, 0x80, 0x80, 0x80), bytes(0xF7, 0xBF, 0xBF, 0xBF),
+			bytes(0xC3, 0x41), bytes(0xE2, 0x41), bytes(0xE2, 0x82, 0x41), bytes(0xF0, 0x9F, 0x41), bytes(0xF0, 0x9F, 0x98, 0x41),
+			bytes(0xE2, 0x82, 0xE2, 0x82, 0xAC), bytes(0xC3, 0xC3, 0xA9), bytes(0xF0, 0x9F, 0x98, 0xF0, 0x9F, 0x98, 0x80),
+			bytes(0xC3), bytes(0xE2, 0x82), bytes(0xF0, 0x9F, 0x98), bytes(0x41, 0xF0), bytes(0x41, 0xED, 0xA0), bytes(0xED, 0xA0, 0x41), bytes(0xE0, 0x80)};
+		for (byte[] bytes : malformed) { same(bytes); }
+		// one U+FFFD for each byte that cannot start a character, or for the longest start of one
+		Check.equal("a\uFFFD\uFFFDb", chars(new JSONByteTokener(bytes('a', 0xC0, 0x80, 'b'))));
+		Check.equal("a\uFFFD\uFFFD\uFFFDb", chars(new JSONByteTokener(bytes('a', 0xE0, 0x80, 0x80, 'b'))));
+		Check.equal("a\uFFFDb", chars(new JSONByteTokener(bytes('a', 0xED, 0xA0, 0x80, 'b')))); // a surrogate, as the JDK does
+		Check.equal("a\uFFFDb", chars(new JSONByteTokener(bytes('a', 0xF0, 0x9F, 0x98, 'b'))));
+	}
+
+
+	/** Random bytes, mostly well-formed, must decode as an InputStreamReader decodes them. */
+	static void testRandomBytes() throws Exception
+	{
+		Random random = new Random(42);
+		int[] leads = {0x80, 0xC0, 0xC2, 0xDF, 0xE0, 0xE1, 0xED, 0xEE, 0xEF, 0xF0, 0xF1, 0xF4, 0xF5, 0xFF};
+		for (int round = 0; round < 20000; round += 1)
+		{
+			byte[] bytes = new byte[1 + random.nextInt(12)];
+			for (int i = 0; i < bytes.length; i += 1)
+			{
+				int kind = random.nextInt(4);
+				if (kind == 0) { bytes[i] = (byte)('a' + random.nextInt(26)); }
+				else if (kind == 1) { bytes[i] = (byte)leads[random.nextInt(leads.length)]; }
+				else { bytes[i] = (byte)(0x80 + random.nextInt(64)); }
+			}
+			if (random.nextInt(4) == 0) { bytes = utf8(new String(bytes, StandardCharsets.UTF_8)); } // well-formed
+			same(bytes);
+		}
+	}
+
+
+	static void testSlicesOfArraysAndBuffers() throws Exception
+	{
+		byte[] text = utf8("{\"k\":\"\u00e9\uD83D\uDE00\"}");
+		byte[] padded = new byte[text.length + 10];
+		Arrays.fill(padded, (byte)'x');
+		System.arraycopy(text, 0, padded, 5, text.length);
+		Check.equal("\u00e9\uD83D\uDE00", new JSONObject(new JSONByteTokener(padded, 5, text.length)).getString("k"));
+		Check.equal(decoded(padded, 5, text.length), chars(new JSONByteTokener(padded, 5, text.length)));
+		// a slice that ends in the middle of a character
+		byte[] euro = utf8("\"\u20ac\u20ac\"");
+		for (int length = 0; length <= euro.length; length += 1)
+		{
+			Check.equal(decoded(euro, 0, length), chars(new JSONByteTokener(euro, 0, length)));
+			Check.equal(decoded(euro, 2, euro.length - 2), chars(new JSONByteTokener(euro, 2, euro.length - 2)));
+		}
+		// a byte order mark at the start of the slice is skipped, and only there
+		byte[] bom = bytes('x', 0xEF, 0xBB, 0xBF, '[', '1', ']');
+		Check.equal("[1]", chars(new JSONByteTokener(bom, 1, 6)));
+		Check.equal("x\uFEFF[1]", chars(new JSONByteTokener(bom)));
+		Check.equal(1, new JSONArray(new JSONByteTokener(bom, 1, 6)).getInt(0));
+		Check.fails(IndexOutOfBoundsException.class, () -> new JSONByteTokener(text, -1, 2));
+		Check.fails(IndexOutOfBoundsException.class, () -> new JSONByteTokener(text, 0, text.length + 1));
+		Check.fails(IndexOutOfBoundsException.class, () -> new JSONByteTokener(text, text.length + 1, 0));
+		Check.fails(IndexOutOfBoundsException.class, () -> new JSONByteTokener(text, 2, Integer.MAX_VALUE));
+		Check.equal("", chars(new JSONByteTokener(text, text.length, 0)));
+
+		ByteBuffer heap = ByteBuffer.wrap(padded, 3, text.length + 2).slice(); // an array offset of 3
+		heap.position(2);
+		ByteBuffer direct = ByteBuffer.allocateDirect(padded.length).put(padded);
+		direct.position(5).limit(5 + text.length);
+		for (ByteBuffer buffer : new ByteBuffer[] {heap, direct})
+		{
+			int position = buffer.position();
+			Check.equal("\u00e9\uD83D\uDE00", new JSONObject(new JSONByteTokener(buffer)).getString("k"));
+			Check.equal(decoded(text, 0, text.length), chars(new JSONByteTokener(buffer)));
+			Check.equal(position, buffer.position());
+		}
+		direct.limit(direct.limit() - 4); // in the middle of the pair
+		Check.equal(decoded(text, 0, text.length - 4), chars(new JSONByteTokener(direct)));
+	}
+
+}
@@ -0,0 +1,170 @@
+package com.augur.json;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+
+/**
+ * Tests of the copy constructors, JSONObject(JSONObject) and JSONArray(JSONArray),
+ * from ordinary, lazy, frozen and concurrent sources.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONCopyTest
+{
+	private static final String TEXT = "{\"s\":\"x\",\"n\":1,\"o\":{\"a\":[1,2],\"b\":{\"c\":true}},\"a\":[{\"d\":null},[3.5,\"y\"],4]}";
+
+
+	/** Every nested object and array of the copy must be a new one, equal to that of the source. */
+	private static void same(Object source, Object copy)
+	{
+		if (source instanceof JSONObject jo)
+		{
+			JSONObject co = (JSONObject)copy;
+			Check.that(co != jo && !co.isFrozen(), "a new, unfrozen object");
+			Check.equal(jo.length(), co.length());
+			for (String key : jo.keySet()) { same(jo.opt(key), co.opt(key)); }
+		}
+		else if (source instanceof JSONArray ja)
+		{
+			JSONArray ca = (JSONArray)copy;
+			Check.that(ca != ja && !ca.isFrozen(), "a new, unfrozen array");
+			Check.equal(ja.length(), ca.length());
+			for (int i = 0; i < ja.length(); i += 1) { same(ja.opt(i), ca.opt(i)); }
+		}
+		else
+		{
+			Check.equal(source, copy);
+			Check.equal(source == null ? null : source.getClass(), copy == null ? null : copy.getClass());
+		}
+	}
+
+
+	/** Changing the copy must not change the source, nor the other way around. */
+	private static void independent(JSONObject source, JSONObject copy) throws Exception
+	{
+		String before = source.toString();
+		copy.put("new", 1).getJSONObject("o").put("a", "changed").getJSONObject("b").put("c", false);
+		copy.getJSONArray("a").getJSONObject(0).put("d", 2);
+		copy.getJSONArray("a").getJSONArray(1).put(0, "changed");
+		copy.getJSONArray("a").put(5);
+		Check.equal(before, source.toString());
+		if (!source.isFrozen())
+		{
+			String after = copy.toString();
+			source.getJSONObject("o").getJSONArray("a").put(3);
+			source.getJSONArray("a").getJSONArray(1).remove(1);
+			Check.equal(after, copy.toString());
+		}
+	}
+
+
+	static void testCopyIsIndependent() throws Exception
+	{
+		JSONObject source = new JSONObject(TEXT);
+		JSONObject copy = new JSONObject(source);
+		same(source, copy);
+		Check.equal(source.toString(), copy.toString());
+		Check.that(copy.get("s") == source.get("s"), "an immutable value is shared");
+		independent(source, copy);
+		JSONArray array = new JSONArray("[[1,2],{\"a\":[3]},\"s\",[]]");
+		JSONArray arrayCopy = new JSONArray(array);
+		same(array, arrayCopy);
+		arrayCopy.getJSONArray(0).put(0, 9);
+		arrayCopy.getJSONObject(1).getJSONArray("a").put(4);
+		arrayCopy.getJSONArray(3).put("x");
+		Check.equal("[[1,2],{\"a\":[3]},\"s\",[]]", array.toString());
+		JSONObject big = new JSONObject();
+		for (int i = 0; i <= JSONSmallMap.THRESHOLD; i += 1) { big.put("k" + i, new JSONArray().put(i)); }
+		JSONObject bigCopy = new JSONObject(big);
+		same(big, bigCopy);
+		bigCopy.getJSONArray("k0").put(1);
+		Check.equal(1, big.getJSONArray("k0").length());
+	}
+
+
+	static void testLeavesKeepTheirType() throws Exception
+	{
+		Date other = new Date(0);
+		JSONObject source = new JSONObject()
+			.put("long", 5L).put("int", 5).put("big", new BigInteger("123456789012345678901234567890"))
+			.put("decimal", new BigDecimal("1.50")).put("double", 1.0).put("float", 2.5f)
+			.put("true", true).putNull("null").put("other", other)
+			.put("array", new JSONArray().put(6L).put(1, new BigInteger("18446744073709551616")).put(2, new BigDecimal("0.10")).put(7).put(4, (Object)null))
+			.put("longs", new JSONArray().put(1L).put(Long.MAX_VALUE))
+			.put("doubles", new JSONArray().put(1.0).put(0.5));
+		JSONObject copy = new JSONObject(source);
+		same(source, copy);
+		Check.equal(Long.class, copy.get("long").getClass());
+		Check.equal(new BigDecimal("1.50"), copy.get("decimal")); // with its scale, which text might not keep
+		Check.that(copy.get("other") == other, "any other object is shared");
+		Check.equal(Long.class, copy.getJSONArray("array").get(0).getClass());
+		Check.equal(BigInteger.class, copy.getJSONArray("array").get(1).getClass());
+		Check.equal(source.getJSONArray("longs").isNumeric(), copy.getJSONArray("longs").isNumeric());
+		Check.equal(source.getJSONArray("doubles").isNumeric(), copy.getJSONArray("doubles").isNumeric());
+		Check.equal(Long.MAX_VALUE, copy.getJSONArray("longs").getLong(1));
+		JSONArray numbers = new JSONArray("[1,2,3]");
+		JSONArray numbersCopy = new JSONArray(numbers);
+		Check.that(numbers.isNumeric() && numbersCopy.isNumeric(), "held as primitives");
+		numbersCopy.put(0, 9);
+		Check.equal("[1,2,3]", numbers.toString());
+	}
+
+
+	static void testCopyOfLazy() throws Exception
+	{
+		JSONObject lazy = JSONObject.newLazy(TEXT);
+		JSONObject copy = new JSONObject(lazy);
+		same(new JSONObject(TEXT), copy);
+		Check.equal(new JSONObject(TEXT).toString(), copy.toString());
+		independent(lazy, copy);
+		JSONArray lazyArray = JSONArray.newLazy("[{\"a\":1},[2],\"s\",3]");
+		JSONArray arrayCopy = new JSONArray(lazyArray);
+		same(lazyArray, arrayCopy);
+		arrayCopy.getJSONObject(0).put("a", 9);
+		arrayCopy.put(4);
+		Check.equal("[{\"a\":1},[2],\"s\",3]", lazyArray.toString());
+	}
+
+
+	static void testCopyOfFrozen() throws Exception
+	{
+		JSONObject frozen = new JSONObject(TEXT).freeze();
+		JSONObject copy = new JSONObject(frozen);
+		same(frozen, copy);
+		independent(frozen, copy);
+		JSONArray versions = new JSONArray().put("a").freeze().with(1, new JSONObject().put("b", 1)).with(2, "c"); // appended, so sharing an array
+		JSONArray arrayCopy = new JSONArray(versions);
+		same(versions, arrayCopy);
+		arrayCopy.getJSONObject(1).put("b", 2);
+		arrayCopy.put("d");
+		Check.equal("[\"a\",{\"b\":1},\"c\"]", versions.toString());
+		Check.equal("[\"a\",{\"b\":1},\"c\",\"e\"]", versions.with(3, "e").toString());
+		Check.equal("[\"a\",{\"b\":2},\"c\",\"d\"]", arrayCopy.toString());
+		JSONArray numbers = new JSONArray("[1,2.5]").freeze();
+		JSONArray numbersCopy = new JSONArray(numbers);
+		Check.that(numbersCopy.isNumeric() && !numbersCopy.isFrozen(), "a copy of frozen numbers is held as primitives");
+	}
+
+
+	static void testCopyOfConcurrent() throws Exception
+	{
+		ConcurrentJSONObject c = new ConcurrentJSONObject(TEXT);
+		c.increment("hits").add("hits", 2).accumulate("acc", "p").accumulate("acc", new JSONObject().put("q", 1));
+		JSONObject copy = new JSONObject(c);
+		Check.that(!(copy instanceof ConcurrentJSONObject), "an ordinary JSONObject");
+		Check.equal(Long.class, copy.get("hits").getClass());
+		Check.equal(3L, copy.get("hits"));
+		copy.remove("hits");
+		same(c.getJSONObject("o"), copy.getJSONObject("o"));
+		same(c.getJSONArray("acc"), copy.getJSONArray("acc"));
+		independent(c, copy);
+		copy.getJSONArray("acc").getJSONObject(1).put("q", 2);
+		c.increment("hits").append("acc", "r");
+		Check.equal(4, c.getInt("hits"));
+		Check.equal("[\"p\",{\"q\":1},\"r\"]", c.getJSONArray("acc").toString());
+		Check.equal("[\"p\",{\"q\":2}]", copy.getJSONArray("acc").toString());
+		Check.that(!copy.has("hits"), "removed from the copy only");
+	}
+
+}
@@ -0,0 +1,171 @@
+package com.augur.json;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Tests of JSONFrozenMap, the hash array mapped trie behind a frozen
+ * JSONObject, with keys whose hashes collide in whole or in part.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONFrozenMapTest
+{
+	/** Keys with the same String.hashCode(). */
+	private static final String[] SAME_HASH = {"Aa", "BB", "AaAa", "BBBB", "AaBB", "BBAa"};
+
+
+	/** The map must have exactly the entries of the expected one, by get(), containsKey(), iteration and size(). */
+	private static void same(Map<String,Object> expected, JSONFrozenMap map)
+	{
+		Check.equal(expected.size(), map.size());
+		Set<String> seen = new HashSet<>();
+		for (Map.Entry<String,Object> e : map.entrySet())
+		{
+			Check.that(seen.add(e.getKey()), "iterated once: " + e.getKey());
+			Check.equal(expected.get(e.getKey()), e.getValue());
+		}
+		Check.equal(expected.size(), seen.size());
+		for (Map.Entry<String,Object> e : expected.entrySet())
+		{
+			Check.that(map.containsKey(e.getKey()), "has " + e.getKey());
+			Check.equal(e.getValue(), map.get(e.getKey()));
+		}
+		Check.equal(expected, map);
+	}
+
+
+	static void testCollidingKeys() throws Exception
+	{
+		Check.equal("Aa".hashCode(), "BB".hashCode());
+		Check.equal("AaAa".hashCode(), "BBAa".hashCode());
+		Map<String,Object> expected = new HashMap<>();
+		JSONFrozenMap map = JSONFrozenMap.EMPTY;
+		for (int i = 0; i < SAME_HASH.length; i += 1)
+		{
+			map = map.with(SAME_HASH[i], i);
+			expected.put(SAME_HASH[i], i);
+			same(expected, map);
+		}
+		Check.that(!map.containsKey("Ab") && map.get("Ab") == null, "a key of another hash");
+		Check.that(!map.containsKey("AaAb"), "a key of another hash");
+		map = map.with("BB", "b");
+		expected.put("BB", "b");
+		same(expected, map);
+		for (String key : new String[] {"AaBB", "Aa", "BBBB", "BB", "BBAa"})
+		{
+			map = map.without(key);
+			expected.remove(key);
+			same(expected, map);
+			Check.that(map.without(key) == map, "without a key it has not");
+		}
+		Check.equal(2, map.get("AaAa"));
+		Check.that(map.without("AaAa") == JSONFrozenMap.EMPTY, "empty again");
+	}
+
+
+	static void testRemovingDownToEmpty() throws Exception
+	{
+		List<String> keys = new ArrayList<>();
+		for (int i = 0; i < 3000; i += 1) { keys.add("k" + i); }
+		JSONFrozenMap map = JSONFrozenMap.EMPTY;
+		for (String key : keys) { map = map.with(key, key); }
+		Check.equal(keys.size(), map.size());
+		Map<String,Object> expected = new HashMap<>();
+		for (String key : keys) { expected.put(key, key); }
+		same(expected, map);
+		for (int i = 0; i < keys.size(); i += 1)
+		{
+			String key = keys.get((i * 7) % keys.size()); // 7 and 3000 are coprime, so each key once
+			map = map.without(key);
+			expected.remove(key);
+			Check.equal(expected.size(), map.size());
+			Check.that(!map.containsKey(key), "removed " + key);
+			if (i % 250 == 0) { same(expected, map); }
+		}
+		Check.that(map == JSONFrozenMap.EMPTY, "empty again");
+		Check.that(!map.entrySet().iterator().hasNext(), "nothing to iterate");
+	}
+
+
+	static void testUnchangedVersionsAreShared() throws Exception
+	{
+		Object value = new Object();
+		JSONFrozenMap map = JSONFrozenMap.EMPTY.with("a", value).with("Aa", 1).with("BB", 2);
+		Check.that(map.with("a", value) == map, "the same value");
+		Check.that(map.with("BB", 2) == map, "the same value in a collision");
+		Check.that(map.without("b") == map, "no such key");
+		Check.that(map.without("AaBB") == map, "no such key, of a colliding hash");
+		JSONFrozenMap changed = map.with("a", new Object());
+		Check.that(changed != map && changed.size() == map.size(), "a new version of the same size");
+		Check.that(map.get("a") == value, "the old version is unchanged");
+		Check.fails(UnsupportedOperationException.class, () -> map.put("c", 3));
+		Check.fails(UnsupportedOperationException.class, () -> map.remove("a"));
+		Check.fails(UnsupportedOperationException.class, () -> map.clear());
+	}
+
+
+	/** Random with() and without() on every version must agree with a HashMap copied at each step. */
+	static void testSameAsHashMap() throws Exception
+	{
+		Random random = new Random(42);
+		List<String> keys = new ArrayList<>(List.of(SAME_HASH));
+		for (int i = 0; i < 200; i += 1) { keys.add("k" + i); }
+		for (int round = 0; round < 20; round += 1)
+		{
+			JSONFrozenMap map = JSONFrozenMap.EMPTY;
+			Map<String,Object> expected = new HashMap<>();
+			for (int step = 0; step < 1000; step += 1)
+			{
+				String key = keys.get(random.nextInt(random.nextBoolean() ? SAME_HASH.length : keys.size()));
+				JSONFrozenMap before = map;
+				Map<String,Object> then = new HashMap<>(expected);
+				if (random.nextInt(3) == 0)
+				{
+					map = map.without(key);
+					expected.remove(key);
+				}
+				else
+				{
+					Integer value = random.nextInt(4);
+					map = map.with(key, value);
+					expected.put(key, value);
+				}
+				Check.equal(expected.size(), map.size());
+				if (step % 50 == 0)
+				{
+					same(expected, map);
+					same(then, before);
+				}
+			}
+			same(expected, map);
+		}
+	}
+
+
+	static void testFrozenJSONObject() throws Exception
+	{
+		JSONObject jo = new JSONObject().put("Aa", 1).put("BB", new JSONObject().put("c", 2)).freeze();
+		Check.that(jo.isFrozen(), "frozen");
+		JSONObject next = jo.with("BBBB", 3).without("Aa");
+		Check.equal(2, jo.length());
+		Check.equal(2, next.length());
+		Check.equal(3, next.getInt("BBBB"));
+		Check.equal(2, next.getJSONObject("BB").getInt("c"));
+		Check.that(next.getJSONObject("BB") == jo.getJSONObject("BB"), "the unchanged value is shared");
+		Check.equal(1, jo.getInt("Aa"));
+		Check.equal(5, jo.with("Aa", 5).getInt("Aa"));
+		Object same = jo.get("Aa");
+		Check.that(jo.with("Aa", same) == jo, "the very same value");
+		Check.that(jo.without("missing") == jo, "no such key");
+		Check.that(next.without("BB").without("BBBB").length() == 0, "empty");
+		Check.fails(UnsupportedOperationException.class, () -> next.put("d", 4));
+		Check.fails(NullPointerException.class, () -> jo.with(null, 1));
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.augur.json;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests of JSONIncrementalParser, which feed the same text in chunks split
+ * at every offset, and check that the values do not depend on where the
+ * chunks end.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONIncrementalParserTest
+{
+	/** @return The text of each value parsed from the text fed as two chunks, split at the offset. */
+	private static List<String> parse(String text, int split, boolean elements) throws JSONException
+	{
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		JSONIncrementalParser parser = new JSONIncrementalParser(elements);
+		List<String> values = new ArrayList<>();
+		parser.feed(bytes, 0, split);
+		while (parser.hasNext()) { values.add(String.valueOf(parser.next())); }
+		parser.feed(ByteBuffer.wrap(bytes, split, bytes.length - split));
+		parser.end();
+		while (parser.hasNext()) { values.add(String.valueOf(parser.next())); }
+		return values;
+	}
+
+
+	/** @return The text of each value parsed from the text fed one byte at a time. */
+	private static List<String> parseBytes(String text, boolean elements) throws JSONException
+	{
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		JSONIncrementalParser parser = new JSONIncrementalParser(elements);
+		for (int i = 0; i < bytes.length; i += 1) { parser.feed(bytes, i, 1); }
+		parser.end();
+		List<String> values = new ArrayList<>();
+		while (parser.hasNext()) { values.add(String.valueOf(parser.next())); }
+		return values;
+	}
+
+
+	private static void checkEverySplit(String text, boolean elements, String... expected) throws JSONException
+	{
+		List<String> values = List.of(expected);
+		int length = text.getBytes(StandardCharsets.UTF_8).length;
+		for (int split = 0; split <= length; split += 1)
+		{
+			List<String> actual = parse(text, split, elements);
+			Check.that(values.equals(actual), "split at " + split + ": expected " + values + " but was " + actual);
+		}
+		Check.equal(values, parseBytes(text, elements));
+	}
+
+
+	static void testValuesSplitAnywhere() throws Exception
+	{
+		checkEverySplit("{\"a\":\"x\\\"}y\",\"b\":[1,{}]} [2]\n\"s\\\\\" 42\ntrue {'c'=>'d'; e=f}",
+			false, "{\"a\":\"x\\\"}y\",\"b\":[1,{}]}", "[2]", "s\\", "42", "true", "{\"c\":\"d\",\"e\":\"f\"}");
+	}
+
+
+	static void testEscapeSplitAcrossChunks() throws Exception
+	{
+		checkEverySplit("[\"a\\\"b\", \"\\u00e9\\\\\"]", true, "a\"b", "\u00e9\\");
+		checkEverySplit("\"caf\u00e9 \\\" \u20ac\"", false, "caf\u00e9 \" \u20ac");
+	}
+
+
+	static void testArrowSplitAcrossChunks() throws Exception
+	{
+		checkEverySplit("{a=>1}{b=>{c=>[2]}}", false, "{\"a\":1}", "{\"b\":{\"c\":[2]}}");
+		checkEverySplit("[{a=>1},{b => 2}]", true, "{\"a\":1}", "{\"b\":2}");
+	}
+
+
+	static void testElidedElements() throws Exception
+	{
+		checkEverySplit("[1,,3, ,4,]", true, "1", "null", "3", "null", "4");
+		checkEverySplit("[,1] [] [x;y]", true, "null", "1", "x", "y");
+		// as for JSONArray, an elided element cannot be the last
+		Check.fails(JSONException.class, () -> parseBytes("[1,,]", true));
+		Check.fails(JSONException.class, () -> parseBytes("[,]", true));
+	}
+
+
+	static void testCommentsAndUnquotedAtEnd() throws Exception
+	{
+		checkEverySplit("# a comment, with [ and \"\n1 # another\n-2.5e3", false, "1", "-2500.0");
+		Check.fails(JSONException.class, () -> parseBytes("{\"a\":1", false));
+		Check.fails(JSONException.class, () -> parseBytes("1 ]", false));
+	}
+
+}
@@ -0,0 +1,132 @@
+package com.augur.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Tests of the JSONIndex behind JSONObject.newLazy() and JSONArray.newLazy().
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONIndexTest
+{
+	static void testLenientGrammar() throws Exception
+	{
+		JSONObject o = JSONObject.newLazy("{a=1; b=>[1,,2;]; 'c':'x\\ty',}");
+		Check.equal(1, o.getInt("a"));
+		Check.equal("x\ty", o.getString("c"));
+		JSONArray b = o.getJSONArray("b");
+		Check.equal(3, b.length());
+		Check.equal(null, b.opt(1));
+		Check.equal(2, b.getInt(2));
+		Check.equal(new JSONObject("{a=1; b=>[1,,2;]; 'c':'x\\ty',}").toString(), o.toString());
+	}
+
+
+	static void testStrictRejectsWhatLenientAccepts() throws Exception
+	{
+		String[] texts = {"{\"a\"=1}", "{\"a\"=>1}", "{\"a\":1;\"b\":2}", "{\"a\":1,}", "[1,,2]", "[1,2,]",
+			"{a:1}", "{\"a\":'x'}", "[012]", "[tru]", "[\"a\tb\"]"};
+		for (String text : texts)
+		{
+			String source = text.startsWith("{") ? text : "{\"k\":" + text + "}";
+			JSONObject.newLazy(source);
+			Check.fails(JSONException.class, () -> JSONObject.newLazy(source, JSONParserOptions.strict()));
+		}
+		JSONObject o = JSONObject.newLazy("{\"a\":[1,2.5,true,null,\"x\\u0041\"]}", JSONParserOptions.strict());
+		Check.equal("[1,2.5,true,null,\"xA\"]", o.getJSONArray("a").toString());
+	}
+
+
+	static void testDeepNestingFailsAtMaxDepth() throws Exception
+	{
+		int depth = 100000;
+		String deep = "[".repeat(depth) + "]".repeat(depth);
+		JSONParserOptions options = new JSONParserOptions().setMaxDepth(64);
+		Check.fails(JSONException.class, () -> JSONArray.newLazy(deep, options));
+		Check.fails(JSONException.class, () -> JSONObject.newLazy("{\"a\":" + deep + "}", options));
+		String shallow = "[".repeat(64) + "]".repeat(64);
+		Check.equal(1, JSONArray.newLazy(shallow, options).length());
+		Check.fails(JSONException.class, () -> JSONArray.newLazy("[" + shallow + "]", options));
+	}
+
+
+	static void testLimits() throws Exception
+	{
+		Check.fails(JSONException.class, () -> JSONObject.newLazy("{\"a\":1,\"b\":2,\"c\":3}", new JSONParserOptions().setMaxKeys(2)));
+		Check.equal(2, JSONObject.newLazy("{\"a\":1,\"b\":2}", new JSONParserOptions().setMaxKeys(2)).length());
+		Check.fails(JSONException.class, () -> JSONArray.newLazy("[\"abcdef\"]", new JSONParserOptions().setMaxStringLength(5)));
+		Check.fails(JSONException.class, () -> JSONArray.newLazy("[123456]", new JSONParserOptions().setMaxNumberLength(5)));
+		Check.fails(JSONException.class, () -> JSONArray.newLazy("[1, 2, 3]", new JSONParserOptions().setMaxLength(5)));
+	}
+
+
+
+	/** @return How many values of the lazy map have been decoded. */
+	private static int decoded(JSONLazyMap map) throws Exception
+	{
+		Field field = JSONLazyMap.class.getDeclaredField("values");
+		field.setAccessible(true);
+		Object[] values = (Object[])field.get(map);
+		Field undecoded = JSONLazyMap.class.getDeclaredField("UNDECODED");
+		undecoded.setAccessible(true);
+		int count = 0;
+		for (Object value : values) { if (value != undecoded.get(null)) { count += 1; } }
+		return count;
+	}
+
+
+	static void testKeysDecodeNoValues() throws Exception
+	{
+		JSONLazyMap map = new JSONLazyMap(new JSONIndex("{\"a\":\"x\",\"b\":[1,2],\"c\":{\"d\":3},\"a\":\"y\"}".toCharArray(), null), 0);
+		List<String> keys = new ArrayList<>();
+		for (String key : map.keySet()) { keys.add(key); }
+		Check.equal(List.of("a", "b", "c"), keys); // a duplicate key keeps the place of the first
+		Check.that(map.keySet().contains("c") && !map.keySet().contains("d"), "contains");
+		Check.that(map.containsKey("a"), "containsKey");
+		Map.Entry<String,Object> c = null;
+		for (Map.Entry<String,Object> e : map.entrySet()) { if (e.getKey().equals("c")) { c = e; } }
+		Check.equal(0, decoded(map));
+		Check.equal(3, ((JSONObject)c.getValue()).getInt("d"));
+		Check.equal(1, decoded(map));
+		Check.equal("y", map.get("a"));
+		Check.equal(2, decoded(map));
+		Check.equal(Map.entry("a", "y"), map.entrySet().iterator().next());
+		Check.equal(new HashMap<>(map), map);
+		map.put("e", 5);
+		Check.equal(3, ((JSONObject)c.getValue()).getInt("d")); // an entry still reads the map once it has changed
+		Check.equal(List.of("a", "b", "c", "e"), new ArrayList<>(new TreeSet<>(map.keySet())));
+	}
+
+
+	static void testLazyObjectsAndArraysSerialize() throws Exception
+	{
+		JSONObject o = JSONObject.newLazy("{\"a\":1,\"b\":\"x\"}");
+		JSONLazyMap map = new JSONLazyMap(new JSONIndex("{\"a\":1,\"b\":\"x\"}".toCharArray(), null), 0);
+		JSONLazyList list = new JSONLazyList(new JSONIndex("[1,\"x\",null]".toCharArray(), null), 0);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+		{
+			out.writeObject(o);
+			out.writeObject(map);
+			out.writeObject(list);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+		{
+			Check.equal("x", ((JSONObject)in.readObject()).getString("b"));
+			Check.equal(Map.of("a", 1, "b", "x"), in.readObject());
+			Object copy = in.readObject();
+			Check.equal(ArrayList.class, copy.getClass());
+			Check.equal(list, copy);
+		}
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.augur.json;
+
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests of JSONKeyCache: that it returns canonical instances, and stays bounded.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONKeyCacheTest
+{
+	/** @return The slots of the cache. */
+	private static String[] slots(JSONKeyCache cache) throws Exception
+	{
+		Field keys = JSONKeyCache.class.getDeclaredField("keys");
+		keys.setAccessible(true);
+		return (String[])keys.get(cache);
+	}
+
+
+	static void testSameInstance() throws Exception
+	{
+		JSONKeyCache cache = new JSONKeyCache();
+		char[] text = "xxkeyxkey".toCharArray();
+		String key = cache.intern(text, 2, 5);
+		Check.equal("key", key);
+		Check.that(cache.intern(text, 6, 9) == key, "the same instance for the same chars elsewhere");
+		Check.that(cache.intern(new String("key")) == key, "the same instance for an equal String");
+		String other = new String("other");
+		Check.that(cache.intern(other) == other, "a new key is itself cached");
+		Check.that(cache.intern("other".toCharArray(), 0, 5) == other, "and found from chars");
+		Check.equal("", cache.intern(text, 3, 3));
+		Check.that(cache.intern(text, 3, 3) == cache.intern(new String("")), "the empty key is cached too");
+	}
+
+
+	/** Every way a tokener reads a key must give the cached instance. */
+	static void testKeysFromTokeners() throws Exception
+	{
+		JSONKeyCache cache = new JSONKeyCache();
+		String key = cache.intern(new String("key"));
+		String text = "\"key\" 'key' key \"k\\u0065y\" 'k\\u0065y' \"key\"";
+		JSONTokener[] sources = {new JSONTokener(text), new JSONTokener(new StringReader(text)), new JSONByteTokener(text.getBytes(StandardCharsets.UTF_8))};
+		for (JSONTokener x : sources)
+		{
+			x.setKeyCache(cache);
+			for (int i = 0; i < 6; i += 1) { Check.that(x.nextKey() == key, "key " + i + " from " + x.getClass().getSimpleName()); }
+		}
+		JSONTokener x = new JSONTokener("{\"fresh\":1}");
+		x.setKeyCache(cache);
+		new JSONObject(x);
+		String fresh = new String("fresh");
+		Check.that(cache.intern(fresh) != fresh, "a parsed key is cached");
+	}
+
+
+	/** Keys whose slots collide replace each other, and keys with the same hash are never confused. */
+	static void testCollisionsAndEviction() throws Exception
+	{
+		JSONKeyCache one = new JSONKeyCache(1);
+		Check.equal(1, slots(one).length);
+		String a = one.intern(new String("a"));
+		Check.that(one.intern(new String("a")) == a, "cached");
+		String b = one.intern(new String("b"));
+		Check.that(one.intern(new String("b")) == b, "b replaced a");
+		Check.that(one.intern(new String("a")) != a, "a was evicted");
+		Check.equal("Aa".hashCode(), "BB".hashCode());
+		JSONKeyCache cache = new JSONKeyCache();
+		String aa = cache.intern("Aa".toCharArray(), 0, 2);
+		Check.equal("BB", cache.intern("BB".toCharArray(), 0, 2));
+		Check.equal("Aa", cache.intern("Aa".toCharArray(), 0, 2));
+		Check.equal("BB", cache.intern(new String("BB")));
+		Check.that(aa != cache.intern(new String("Aa")), "Aa was evicted by BB, which has the same slot");
+		cache.clear();
+		String bb = new String("BB");
+		Check.that(cache.intern(bb) == bb, "nothing cached after clear()");
+	}
+
+
+	static void testBounds() throws Exception
+	{
+		Check.equal(1024, slots(new JSONKeyCache()).length);
+		Check.equal(1024, slots(new JSONKeyCache(1000)).length);
+		Check.equal(1024, slots(new JSONKeyCache(1024)).length);
+		Check.equal(2048, slots(new JSONKeyCache(1025)).length);
+		for (int capacity : new int[] {0, -1, (1 << 30) + 1, Integer.MAX_VALUE})
+		{
+			Check.fails(IllegalArgumentException.class, () -> new JSONKeyCache(capacity));
+		}
+		JSONKeyCache cache = new JSONKeyCache(64);
+		for (int i = 0; i < 100000; i += 1) { cache.intern("id" + i); }
+		Check.equal(64, slots(cache).length);
+		String longest = "k".repeat(JSONKeyCache.MAX_LENGTH);
+		String tooLong = longest + "k";
+		Check.that(cache.intern(new String(longest)) == cache.intern(longest.toCharArray(), 0, longest.length()), "the longest key is cached");
+		Check.that(cache.intern(tooLong.toCharArray(), 0, tooLong.length()) != cache.intern(tooLong.toCharArray(), 0, tooLong.length()), "a longer key is not");
+		String s = new String(tooLong);
+		Check.that(cache.intern(s) == s, "a longer String is returned as it is");
+		Check.that(cache.intern(new String(tooLong)) != s, "but not cached");
+		cache.clear();
+		for (String slot : slots(cache)) { Check.equal(null, slot); }
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.augur.json;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Tests of JSONMappedTokener, and of reading files in any Charset through
+ * JSONObject(File, Charset) and JSONArray(File, Charset).
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONMappedTokenerTest
+{
+	private static final String TEXT = "{\"name\":\"Z\u00fcrich \u20ac \ud83d\ude00\",\"list\":[1,\"\u00e9\"]}";
+
+
+	private static File write(byte[] bytes) throws Exception
+	{
+		File file = File.createTempFile("mapped", ".json");
+		file.deleteOnExit();
+		Files.write(file.toPath(), bytes);
+		return file;
+	}
+
+
+	static void testSegmentsSplitAnywhere() throws Exception
+	{
+		byte[] utf8 = TEXT.getBytes(StandardCharsets.UTF_8);
+		byte[] bom = new byte[utf8.length + 3];
+		bom[0] = (byte)0xEF;
+		bom[1] = (byte)0xBB;
+		bom[2] = (byte)0xBF;
+		System.arraycopy(utf8, 0, bom, 3, utf8.length);
+		for (byte[] bytes : new byte[][] {utf8, bom})
+		{
+			File file = write(bytes);
+			for (int segment = 1; segment <= bytes.length; segment += 1)
+			{
+				Check.equal(new JSONObject(TEXT).toString(), new JSONObject(new JSONMappedTokener(file, segment)).toString());
+			}
+			file.delete();
+		}
+	}
+
+
+	/** Malformed UTF-8 is replaced as an InputStreamReader replaces it, wherever the segments split it. */
+	static void testMalformedBytes() throws Exception
+	{
+		int[] values = {'[', '"', 0xC0, 0x80, 'a', 0xE0, 0x80, 0x80, 0xED, 0xA0, 0x80, 0xF4, 0x90, 0x80, 0x80, 0xF5,
+			0xE2, 0x82, 'b', 0xF0, 0x9F, 0x98, 0x80, 0xF0, 0x9F, 0x98, '"', ']'};
+		byte[] bytes = new byte[values.length];
+		for (int i = 0; i < values.length; i += 1) { bytes[i] = (byte)values[i]; }
+		String expected = new String(bytes, 2, bytes.length - 4, StandardCharsets.UTF_8);
+		File file = write(bytes);
+		for (int segment = 1; segment <= bytes.length; segment += 1)
+		{
+			Check.equal(expected, new JSONArray(new JSONMappedTokener(file, segment)).getString(0));
+		}
+		file.delete();
+	}
+
+
+	static void testOtherCharsetsAreStreamed() throws Exception
+	{
+		for (Charset charset : new Charset[] {StandardCharsets.UTF_8, StandardCharsets.UTF_16, StandardCharsets.UTF_16LE, Charset.forName("UTF-32")})
+		{
+			File file = write(TEXT.getBytes(charset));
+			Check.equal(new JSONObject(TEXT).toString(), new JSONObject(file, charset).toString());
+			Check.equal("[1,\"\u00e9\"]", new JSONArray(write("[1,\"\u00e9\"]".getBytes(charset)), charset).toString());
+			file.delete();
+		}
+		File latin1 = write("{\"a\":\"caf\u00e9\"}".getBytes(StandardCharsets.ISO_8859_1));
+		Check.equal("caf\u00e9", new JSONObject(latin1, StandardCharsets.ISO_8859_1).getString("a"));
+	}
+
+
+	static void testFileIsClosedOnASyntaxError() throws Exception
+	{
+		for (Charset charset : new Charset[] {StandardCharsets.UTF_8, StandardCharsets.UTF_16})
+		{
+			File file = write("{\"a\":1,,}".getBytes(charset));
+			Check.fails(JSONException.class, () -> new JSONObject(file, charset));
+			Check.that(file.delete(), "the file can be deleted"); // not on every platform, if it were still open
+		}
+	}
+
+}
@@ -0,0 +1,142 @@
+package com.augur.json;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+/**
+ * Tests of JSONNumberLexer against Double.valueOf(), Long.valueOf(),
+ * BigInteger and BigDecimal, at the bounds of its fast paths.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONNumberLexerTest
+{
+	private static Number lex(String text)
+	{
+		return JSONNumberLexer.parse(text.toCharArray(), 0, text.length());
+	}
+
+
+	/** @return What the lexer should make of a number: the narrowest of Integer, Long and BigInteger; or a Double, or a BigDecimal if it is too big for one. */
+	private static Number expected(String text)
+	{
+		if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0)
+		{
+			BigInteger big = new BigInteger(text);
+			if (big.bitLength() >= 64) { return big; }
+			long value = big.longValue();
+			return value == (int)value ? (Number)(int)value : (Number)value;
+		}
+		double d = Double.parseDouble(text);
+		return Double.isInfinite(d) ? new BigDecimal(text) : (Number)d;
+	}
+
+
+	private static void same(String text)
+	{
+		Number n = lex(text);
+		Number e = expected(text);
+		Check.that(e.equals(n), text + ": expected " + e + " (" + e.getClass().getSimpleName() + ") but was " + n + (n == null ? "" : " (" + n.getClass().getSimpleName() + ")"));
+	}
+
+
+	static void testDigitCounts() throws Exception
+	{
+		String[] texts = {
+			"0", "7", "-7", "+7", "2147483647", "2147483648", "-2147483648", "-2147483649",
+			"123456789012345678", "-123456789012345678", "999999999999999999", "1234567890123456789",
+			"9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+			"000000000000000000000000012", "100000000000000000000000000000",
+			"12345678901234567.8", "1234567890123456789.5", "0.123456789012345678", "0.1234567890123456789",
+			"99999999999999999.9", "999999999999999999.9", "0.000000000000000000001234567890123456789",
+			"1.", ".5", "-.5", "+.5e1", "00.25", "1.000000000000000000000000000000000000001"};
+		for (String text : texts) { same(text); }
+	}
+
+
+	static void testExactMantissa() throws Exception
+	{
+		String[] texts = {
+			"9007199254740991", "9007199254740992", "9007199254740993", "9007199254740993.0",
+			"9007199254740992e1", "9007199254740993e-1", "9007199254740991e22", "9007199254740993e22",
+			"9007199254740991e-22", "9007199254740993e-22", "4503599627370497.5", "18014398509481985.0"};
+		for (String text : texts) { same(text); }
+	}
+
+
+	static void testPowersOfTen() throws Exception
+	{
+		String[] texts = {
+			"1e22", "1e23", "1e-22", "1e-23", "123e20", "123e21", "4.5e22", "4.5e23", "8.5e-22", "8.5e-23",
+			"1.7976931348623157e308", "1.7976931348623159e308", "4.9e-324", "2.4e-324", "2.5e-324",
+			"0.1", "0.2", "0.3", "2.2250738585072011e-308", "2.2250738585072012e-308", "1E5", "1e+5", "1e-0"};
+		for (String text : texts) { same(text); }
+	}
+
+
+	static void testZeros() throws Exception
+	{
+		Check.equal(0, lex("-0"));
+		Check.equal(0, lex("+0"));
+		Check.equal(-0.0, lex("-0.0"));
+		Check.equal(-0.0, lex("-0e5"));
+		Check.equal(0.0, lex("0e-5"));
+		Check.equal(0.0, lex("+0.0"));
+		Check.equal(-0.0, lex("-0.000e99999999999999"));
+		Check.that(!Double.valueOf(0.0).equals(lex("-0.0")), "a negative zero");
+	}
+
+
+	static void testHugeExponents() throws Exception
+	{
+		same("1e400");
+		same("-1e400");
+		same("123.456e1000");
+		Check.equal(new BigDecimal("1e2147483647"), lex("1e2147483647"));
+		Check.equal(0.0, lex("1e-400"));
+		Check.equal(-0.0, lex("-1e-400"));
+		Check.equal(0.0, lex("1e-99999999999"));
+		Check.equal(0.0, lex("1e-99999999999999999999999999"));
+		Check.equal(10.0, lex("1e0000000000001"));
+		Check.equal(0.0, lex("0e99999999999"));
+		Check.equal(null, lex("1e2147483648")); // too big even for a BigDecimal
+		Check.equal(null, lex("1e99999999999999999999999999"));
+		Check.equal("1e99999999999", JSONObject.stringToValue("1e99999999999"));
+		Check.equal(new BigDecimal("1e400"), JSONObject.stringToValue("1e400"));
+		Check.equal(new BigDecimal("1e400"), new JSONArray("[1e400]").get(0));
+		JSONTokener x = new JSONTokener("[1e99999999999]");
+		x.setOptions(JSONParserOptions.strict());
+		Check.fails(JSONException.class, () -> new JSONArray(x));
+	}
+
+
+	static void testNotNumbers() throws Exception
+	{
+		for (String text : new String[] {"", "-", "+", ".", "-.", "e5", ".e5", "1e", "1e+", "1e-", "1.2.3", "1x", "1e5x", "0x1F", "1f", "--1", "1 "})
+		{
+			Check.equal(null, lex(text));
+		}
+		Check.equal(31, JSONObject.stringToValue("0x1F"));
+	}
+
+
+	/** Random decimals, many of them on the fast path, must be the correctly rounded double. */
+	static void testRandomDecimals() throws Exception
+	{
+		Random random = new Random(42);
+		for (int i = 0; i < 100000; i += 1)
+		{
+			StringBuilder text = new StringBuilder();
+			if (random.nextBoolean()) { text.append('-'); }
+			int digits = 1 + random.nextInt(20);
+			for (int d = 0; d < digits; d += 1) { text.append((char)('0' + random.nextInt(10))); }
+			int point = random.nextInt(digits + 1);
+			if (point < digits) { text.insert(text.length() - point, '.'); }
+			else if (random.nextBoolean()) { text.append(".0"); }
+			if (random.nextInt(3) == 0) { text.append('e').append(random.nextInt(70) - 35); }
+			same(text.toString());
+		}
+	}
+
+}
@@ -0,0 +1,153 @@
+package com.augur.json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests of JSONNumberList, the List of primitives behind a JSONArray of numbers.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONNumberListTest
+{
+	private static String types(JSONArray a) throws JSONException
+	{
+		StringBuilder types = new StringBuilder();
+		for (int i = 0; i < a.length(); i += 1) { types.append(a.get(i).getClass().getSimpleName()).append(' '); }
+		return types.toString().trim();
+	}
+
+
+	static void testTypesAreKept() throws Exception
+	{
+		JSONArray a = new JSONArray("[1, 5000000000, -2]");
+		Check.equal("Integer Long Integer", types(a));
+		Check.equal("[1,5000000000,-2]", a.toString());
+		Check.that(a.isNumeric(), "held as primitives");
+		JSONArray b = new JSONArray("[0.5, 1, 2.0E300]");
+		Check.equal("Double Integer Double", types(b));
+		Check.equal("[0.5,1,2.0E300]", b.toString());
+		Check.that(b.isNumeric(), "held as primitives");
+		Check.equal(new JSONArray("[1, 5000000000, -2]").toString(), new JSONArray().put(1).put(5000000000L).put(-2).toString());
+	}
+
+
+	static void testLongAmongDoublesIsExact() throws Exception
+	{
+		long exact = (1L << 53) + 1; // not a double
+		JSONArray a = new JSONArray().put(0.5).put(exact);
+		Check.that(!a.isNumeric(), "held in an ArrayList");
+		Check.equal(exact, a.getLong(1));
+		Check.equal("Double Long", types(a));
+		JSONArray b = new JSONArray().put(exact).put(0.5);
+		Check.equal(exact, b.getLong(0));
+		Check.equal("[9007199254740993,0.5]", b.toString());
+	}
+
+
+	static void testOtherValuesInflate() throws Exception
+	{
+		JSONArray a = new JSONArray().put(1).put(2L << 40).put(3);
+		a.put("x");
+		Check.that(!a.isNumeric(), "held in an ArrayList");
+		Check.equal("[1,2199023255552,3,\"x\"]", a.toString());
+		Check.equal("Integer Long Integer String", types(a));
+	}
+
+
+	static void testArraysOfPrimitives() throws Exception
+	{
+		JSONArray a = new JSONArray("[1, 2, 3]");
+		Check.that(Arrays.equals(new int[] {1, 2, 3}, a.toIntArray()), "ints");
+		Check.that(Arrays.equals(new long[] {1, 2, 3}, a.toLongArray()), "longs");
+		Check.that(Arrays.equals(new double[] {1, 2, 3}, a.toDoubleArray()), "doubles");
+		JSONArray b = new JSONArray("[1.5, 2]");
+		Check.that(Arrays.equals(new double[] {1.5, 2}, b.toDoubleArray()), "doubles");
+	}
+
+
+	static void testCopyAndFreezeAreIndependent() throws Exception
+	{
+		JSONArray a = new JSONArray("[1, 2.5, 3]");
+		JSONArray copy = new JSONArray(a);
+		JSONArray frozen = a.freeze();
+		a.put(0, 9).remove(2);
+		Check.equal("[9,2.5]", a.toString());
+		Check.equal("[1,2.5,3]", copy.toString());
+		Check.equal("[1,2.5,3]", frozen.toString());
+		Check.equal("Integer Double Integer", types(copy));
+		Check.fails(UnsupportedOperationException.class, () -> frozen.put(4));
+	}
+
+
+	static void testFrozenNumbersStayPrimitive() throws Exception
+	{
+		JSONArray frozen = new JSONArray("[1, 2.5, 3]").freeze();
+		Check.that(frozen.isNumeric(), "a frozen array is held as primitives");
+		Check.equal(2.5, frozen.getDouble(1));
+		Check.that(Arrays.equals(new double[] {1, 2.5, 3}, frozen.toDoubleArray()), "doubles");
+		Check.equal("[1,2.5,3]", frozen.toString());
+		JSONArray copy = new JSONArray(frozen);
+		Check.that(copy.isNumeric() && !copy.isFrozen(), "a copy is held as primitives");
+		copy.put(4);
+		Check.equal("[1,2.5,3,4]", copy.toString());
+		Check.equal("[1,2.5,3]", frozen.toString());
+		JSONArray next = frozen.with(3, 4).with(0, 0);
+		Check.that(next.isNumeric() && next.isFrozen(), "with() keeps the numbers as primitives");
+		Check.equal("[0,2.5,3,4]", next.toString());
+		Check.equal("Integer Double Integer Integer", types(next));
+		Check.fails(UnsupportedOperationException.class, () -> frozen.put(5));
+		Check.fails(UnsupportedOperationException.class, () -> frozen.put(5.5));
+		Check.fails(UnsupportedOperationException.class, () -> frozen.putAll(new long[] {5, 6}));
+		Check.equal("[1,2.5,3]", frozen.toString());
+		Check.that(!frozen.with(3, "x").isNumeric(), "not all numbers");
+		Check.equal("[1,2.5,3,\"x\"]", frozen.with(3, "x").toString());
+	}
+
+
+	/** Random adds, sets, and removes must leave a JSONNumberList equal to an ArrayList that had the same. */
+	static void testSameAsArrayList() throws Exception
+	{
+		Random random = new Random(42);
+		for (int round = 0; round < 500; round += 1)
+		{
+			JSONNumberList numbers = new JSONNumberList();
+			List<Object> list = new ArrayList<>();
+			for (int step = 0; step < 40; step += 1)
+			{
+				int kind = random.nextInt(20);
+				Object value = kind < 8 ? (Object)random.nextInt(100) : kind < 12 ? (Object)(random.nextLong() >> random.nextInt(64)) : kind < 19 ? (Object)(random.nextInt(100) / 4.0) : "s";
+				int op = random.nextInt(10);
+				if (op < 6 || list.isEmpty())
+				{
+					numbers.add(value);
+					list.add(value);
+				}
+				else if (op < 8)
+				{
+					int i = random.nextInt(list.size());
+					Check.equal(list.set(i, value), numbers.set(i, value));
+				}
+				else if (op < 9)
+				{
+					Check.equal(list.remove(list.size() - 1), numbers.remove(numbers.size() - 1));
+				}
+				else
+				{
+					int i = random.nextInt(list.size());
+					Check.equal(list.remove(i), numbers.remove(i));
+				}
+				Check.equal(list, numbers);
+				if (random.nextInt(40) == 0)
+				{
+					numbers.clear();
+					list.clear();
+				}
+			}
+			for (int i = 0; i < list.size(); i += 1) { Check.equal(list.get(i).getClass(), numbers.get(i).getClass()); }
+		}
+	}
+
+}
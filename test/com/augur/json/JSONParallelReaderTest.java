@@ -0,0 +1,147 @@
+package com.augur.json;
+
+import java.io.File;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tests of JSONParallelReader, with chunks small enough that lines and
+ * elements are split across them at every offset.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONParallelReaderTest
+{
+	/** Lines of NDJSON of many lengths, with a blank line, a comment, and CRLF. */
+	private static String ndjson()
+	{
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 60; i += 1)
+		{
+			text.append("{\"i\":").append(i).append(",\"s\":\"").append("x".repeat(i % 7)).append("\\n\"}");
+			text.append(i % 10 == 3 ? "\r\n\n" : i % 10 == 5 ? " # a comment\n" : "\n");
+		}
+		return text.toString();
+	}
+
+
+	private static List<String> strings(Stream<?> values)
+	{
+		try (values) { return values.map(String::valueOf).collect(Collectors.toList()); }
+	}
+
+
+	private static ByteBuffer utf8(String text)
+	{
+		return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+
+	static void testLinesSplitAtEveryOffset() throws Exception
+	{
+		String text = ndjson();
+		List<String> expected = new ArrayList<>();
+		NDJSONReader in = new NDJSONReader(new StringReader(text));
+		for (JSONObject jo = in.next(); jo != null; jo = in.next()) { expected.add(jo.toString()); }
+		Check.equal(60, expected.size());
+		for (int chunk = 1; chunk <= 40; chunk += 1)
+		{
+			List<String> actual = strings(new JSONParallelReader().setChunkSize(chunk).lines(utf8(text)));
+			Check.that(expected.equals(actual), "chunk size " + chunk + ": " + actual);
+		}
+		List<String> unordered = strings(new JSONParallelReader().setChunkSize(16).setOrdered(false).lines(utf8(text)));
+		unordered.sort(null);
+		List<String> sorted = new ArrayList<>(expected);
+		sorted.sort(null);
+		Check.equal(sorted, unordered);
+	}
+
+
+	static void testLinesWithoutFinalNewline() throws Exception
+	{
+		for (int chunk = 1; chunk <= 12; chunk += 1)
+		{
+			Check.equal(List.of("{\"a\":1}", "{\"b\":2}"), strings(new JSONParallelReader().setChunkSize(chunk).lines(utf8("{\"a\":1}\n{\"b\":2}"))));
+		}
+	}
+
+
+	static void testElementsSplitAtEveryOffset() throws Exception
+	{
+		String text = "[1, \"a,b]\", {\"c\":[2,3]}, [], null, \"\\\"\", 4.5, {}]";
+		List<String> expected = List.of("1", "a,b]", "{\"c\":[2,3]}", "[]", "null", "\"", "4.5", "{}");
+		for (int chunk = 1; chunk <= text.length(); chunk += 1)
+		{
+			List<String> actual = strings(new JSONParallelReader().setChunkSize(chunk).elements(utf8(text)));
+			Check.that(expected.equals(actual), "chunk size " + chunk + ": " + actual);
+		}
+	}
+
+
+	static void testBadLineInAStream() throws Exception
+	{
+		String text = ndjson().replace("{\"i\":31,", "{\"i\":31 ");
+		Throwable e = Check.fails(CompletionException.class, () -> strings(new JSONParallelReader().setChunkSize(16).lines(utf8(text))));
+		while (e instanceof CompletionException && e.getCause() != null) { e = e.getCause(); } // the pool may wrap it twice
+		Check.that(e instanceof JSONException, "caused by " + e);
+	}
+
+
+	static void testBadLineWithAPool() throws Exception
+	{
+		File file = File.createTempFile("parallel", ".ndjson");
+		file.deleteOnExit();
+		Files.write(file.toPath(), ndjson().replace("{\"i\":31,", "{\"i\":31 ").getBytes(StandardCharsets.UTF_8));
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try
+		{
+			for (boolean ordered : new boolean[] {true, false})
+			{
+				JSONParallelReader reader = new JSONParallelReader().setChunkSize(16).setPool(pool).setOrdered(ordered);
+				JSONException e = Check.fails(JSONException.class, () -> reader.forEachLine(file, jo -> { }));
+				Check.that(e.getMessage().contains("Expected a ',' or '}'"), e.getMessage());
+			}
+			Files.write(file.toPath(), ndjson().getBytes(StandardCharsets.UTF_8));
+			ConcurrentLinkedQueue<JSONObject> lines = new ConcurrentLinkedQueue<>();
+			new JSONParallelReader().setChunkSize(16).setPool(pool).setOrdered(false).forEachLine(file, lines::add);
+			Check.equal(60, lines.size());
+		}
+		finally
+		{
+			pool.shutdown();
+			file.delete();
+		}
+	}
+
+
+	static void testBadElementWithAPool() throws Exception
+	{
+		File file = File.createTempFile("parallel", ".json");
+		file.deleteOnExit();
+		Files.write(file.toPath(), "[1, 2, {\"a\" 3}, 4]".getBytes(StandardCharsets.UTF_8));
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try
+		{
+			JSONParallelReader reader = new JSONParallelReader().setChunkSize(2).setPool(pool);
+			Check.fails(JSONException.class, () -> reader.forEachElement(file, value -> { }));
+			Files.write(file.toPath(), "[1, 2, 3, 4]".getBytes(StandardCharsets.UTF_8));
+			IllegalStateException e = Check.fails(IllegalStateException.class, () -> reader.forEachElement(file, value -> { throw new IllegalStateException("from the consumer"); }));
+			Check.that(e.getMessage().contains("from the consumer"), e.getMessage());
+		}
+		finally
+		{
+			pool.shutdown();
+			file.delete();
+		}
+	}
+
+}
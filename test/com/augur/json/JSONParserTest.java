@@ -0,0 +1,167 @@
+package com.augur.json;
+
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests of JSONParser: the callbacks it makes to a JSONHandler, in order,
+ * and the values a handler skips by returning false.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONParserTest
+{
+	/** A JSONHandler that records its callbacks, and skips what it is told to. */
+	private static class Recorder implements JSONHandler
+	{
+		final List<String> events = new ArrayList<>();
+		/** The key whose values to skip, or null. */
+		String skipKey;
+		/** Skip every object (or array) at this depth, counting the top level as 1; or 0. */
+		int skipObjects, skipArrays;
+		int depth;
+
+		@Override public boolean startObject()
+		{
+			this.events.add("{");
+			if (this.depth + 1 == this.skipObjects) { return false; }
+			this.depth += 1;
+			return true;
+		}
+
+		@Override public void endObject()
+		{
+			this.depth -= 1;
+			this.events.add("}");
+		}
+
+		@Override public boolean startArray()
+		{
+			this.events.add("[");
+			if (this.depth + 1 == this.skipArrays) { return false; }
+			this.depth += 1;
+			return true;
+		}
+
+		@Override public void endArray()
+		{
+			this.depth -= 1;
+			this.events.add("]");
+		}
+
+		@Override public boolean key(String key)
+		{
+			this.events.add(key + ":");
+			return !key.equals(this.skipKey);
+		}
+
+		@Override public void value(long value) { this.events.add("long " + value); }
+		@Override public void value(double value) { this.events.add("double " + value); }
+		@Override public void value(Number value) { this.events.add(value.getClass().getSimpleName() + " " + value); }
+		@Override public void value(CharSequence value) { this.events.add("\"" + value + "\""); }
+		@Override public void value(boolean value) { this.events.add(String.valueOf(value)); }
+		@Override public void nullValue() { this.events.add("null"); }
+	}
+
+
+	private static List<String> events(String text, Recorder recorder) throws JSONException
+	{
+		JSONParser.parse(text, recorder);
+		return recorder.events;
+	}
+
+
+	private static List<String> events(String text) throws JSONException
+	{
+		return events(text, new Recorder());
+	}
+
+
+	static void testCallbackSequence() throws Exception
+	{
+		String text = "{\"a\":1,\"b\":[true,false,null,\"s\"],\"c\":{\"d\":-2.5,\"e\":{}},\"f\":[[],[1e2]]}";
+		List<String> expected = List.of("{", "a:", "long 1", "b:", "[", "true", "false", "null", "\"s\"", "]",
+			"c:", "{", "d:", "double -2.5", "e:", "{", "}", "}", "f:", "[", "[", "]", "[", "double 100.0", "]", "]", "}");
+		Check.equal(expected, events(text));
+		Recorder fromReader = new Recorder();
+		JSONParser.parse(new StringReader(text), fromReader);
+		Check.equal(expected, fromReader.events);
+		Recorder fromBytes = new Recorder();
+		JSONParser.parse(text.getBytes(StandardCharsets.UTF_8), fromBytes);
+		Check.equal(expected, fromBytes.events);
+	}
+
+
+	static void testNumbers() throws Exception
+	{
+		Check.equal(List.of("[", "long 0", "long -7", "long 2147483648", "long 9223372036854775807", "double 0.5", "double -0.0",
+			"BigInteger 9223372036854775808", "BigDecimal 1E+400", "]"),
+			events("[0,-7,2147483648,9223372036854775807,0.5,-0.0,9223372036854775808,1e400]"));
+		// by default, a big number is passed on as a double
+		double[] seen = new double[1];
+		JSONParser.parse("123456789012345678901234567890", new JSONHandler()
+		{
+			@Override public void value(double value) { seen[0] = value; }
+		});
+		Check.equal(new BigInteger("123456789012345678901234567890").doubleValue(), seen[0]);
+	}
+
+
+	static void testLenientTextAndManyValues() throws Exception
+	{
+		Check.equal(List.of("{", "a:", "\"b\"", "c:", "[", "long 1", "null", "long 2", "]", "}"), events("{a:b, c:[1,,2]}"));
+		Check.equal(List.of("[", "long 1", "]", "{", "}", "long 3", "\"x\""), events("[1] {} 3 \"x\""));
+		Check.equal(List.of(), events(""));
+		Check.equal(List.of(), events("  # a comment only\n"));
+	}
+
+
+	static void testSkipObjectsArraysAndValues() throws Exception
+	{
+		String text = "{\"keep\":1,\"skip\":{\"a\":[1,{\"b\":2}],\"skip\":3},\"o\":{\"x\":[4]},\"skip\":[5,[6]],\"last\":7}";
+		Recorder keys = new Recorder();
+		keys.skipKey = "skip";
+		Check.equal(List.of("{", "keep:", "long 1", "skip:", "o:", "{", "x:", "[", "long 4", "]", "}", "skip:", "last:", "long 7", "}"),
+			events(text, keys));
+		Recorder objects = new Recorder();
+		objects.skipObjects = 2;
+		Check.equal(List.of("{", "keep:", "long 1", "skip:", "{", "o:", "{", "skip:", "[", "long 5", "[", "long 6", "]", "]", "last:", "long 7", "}"),
+			events(text, objects)); // no callbacks inside a skipped object, not even its end
+		Recorder arrays = new Recorder();
+		arrays.skipArrays = 3;
+		Check.equal(List.of("{", "keep:", "long 1", "skip:", "{", "a:", "[", "skip:", "long 3", "}", "o:", "{", "x:", "[", "}",
+			"skip:", "[", "long 5", "[", "]", "last:", "long 7", "}"), events(text, arrays));
+		Recorder all = new Recorder();
+		all.skipObjects = 1;
+		Check.equal(List.of("{", "[", "long 1", "]", "{"), events(text + " [1] {\"a\":2}", all));
+		Recorder strings = new Recorder();
+		strings.skipKey = "s";
+		Check.equal(List.of("{", "s:", "t:", "long 1", "}"), events("{\"s\":\"a}]\\\"{[\",\"t\":1}", strings));
+	}
+
+
+	static void testHandlerAbortsTheParse() throws Exception
+	{
+		List<String> events = new ArrayList<>();
+		JSONException e = Check.fails(JSONException.class, () -> JSONParser.parse("[1,2,3,{\"a\":4}]", new JSONHandler()
+		{
+			@Override public void value(long value) throws JSONException
+			{
+				events.add("long " + value);
+				if (value == 2) { throw new JSONException("enough"); }
+			}
+		}));
+		Check.equal("enough", e.getMessage());
+		Check.equal(List.of("long 1", "long 2"), events);
+		Recorder recorder = new Recorder();
+		Check.fails(JSONException.class, () -> JSONParser.parse("{\"a\":[1,2}", recorder));
+		Check.equal(List.of("{", "a:", "[", "long 1", "long 2"), recorder.events);
+		Recorder skipping = new Recorder();
+		skipping.skipKey = "a";
+		Check.fails(JSONException.class, () -> JSONParser.parse("{\"a\":[1,2}", skipping)); // skipped text must still be well-formed
+	}
+
+}
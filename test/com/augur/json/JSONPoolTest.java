@@ -0,0 +1,63 @@
+package com.augur.json;
+
+import java.io.StringReader;
+
+/**
+ * Tests of JSONPool, and of restarting a JSONTokener on new texts.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONPoolTest
+{
+	static void testRestartAndRecycle() throws Exception
+	{
+		JSONPool pool = new JSONPool();
+		JSONTokener x = new JSONTokener("");
+		x.setPool(pool);
+		JSONObject event = new JSONObject();
+		JSONObject nested = null;
+		for (int i = 0; i < 4; i += 1)
+		{
+			pool.clear(event);
+			String text = "{\"i\":" + i + ",\"o\":{\"a\":[1,{\"b\":2}]}}";
+			if (i % 2 == 0) { x.restart(text); } else { x.restart(new StringReader(text)); }
+			event.parse(x);
+			Check.equal(i, event.getInt("i"));
+			Check.equal(2, event.getJSONObject("o").getJSONArray("a").getJSONObject(1).getInt("b"));
+			if (nested != null) { Check.that(event.get("o") == nested, "the nested object is taken from the pool"); }
+			nested = event.getJSONObject("o");
+		}
+	}
+
+
+	static void testRestartKeepsMaxLength()
+	{
+		JSONTokener x = new JSONTokener("");
+		x.setOptions(new JSONParserOptions().setMaxLength(8));
+		Check.fails(JSONException.class, () -> x.restart(new StringReader("[1,2,3,4,5,6,7,8]")));
+		x.restart("[1,2,3,4,5,6,7,8]");
+		Check.fails(JSONException.class, () -> new JSONArray(x));
+	}
+
+
+	static void testRestartOfSubclassFails()
+	{
+		JSONTokener x = new JSONByteTokener(new byte[] {'1'});
+		Check.fails(UnsupportedOperationException.class, () -> x.restart("2"));
+	}
+
+
+	static void testFrozenIsLeftAlone() throws Exception
+	{
+		JSONPool pool = new JSONPool();
+		JSONObject frozen = new JSONObject("{\"a\":{\"b\":[1,2]}}").freeze();
+		pool.clear(frozen);
+		pool.clear(frozen.getJSONObject("a").getJSONArray("b"));
+		JSONObject holder = new JSONObject().put("f", frozen);
+		pool.clear(holder);
+		Check.equal(0, holder.length());
+		Check.equal("{\"a\":{\"b\":[1,2]}}", frozen.toString());
+		Check.that(pool.newObject() != frozen.get("a"), "a frozen object is not recycled");
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.augur.json;
+
+/**
+ * Tests of JSONProjection, and of RPCRequest parsed with one.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONProjectionTest
+{
+	private static final String TEXT = "{\"method\":\"buy\",\"params\":{\"user\":{\"id\":7,\"name\":\"Ann\"},"
+		+ "\"items\":[{\"sku\":\"a1\",\"qty\":2},{\"sku\":\"b2\",\"qty\":1},\"not an object\"],\"note\":\"x\"},"
+		+ "\"tags\":[\"t0\",\"t1\",[\"t2\"],{\"t\":3}]}";
+
+
+	static void testNestedKeys() throws Exception
+	{
+		JSONObject jo = new JSONObject(TEXT, new JSONProjection("method", "params.user.id", "params.items[*].sku"));
+		Check.equal("{\"method\":\"buy\",\"params\":{\"user\":{\"id\":7},\"items\":[{\"sku\":\"a1\"},{\"sku\":\"b2\"}]}}", jo.toString());
+		Check.that(!jo.has("tags") && !jo.getJSONObject("params").has("note"), "the rest is absent");
+		Check.that(!jo.getJSONObject("params").getJSONObject("user").has("name"), "the rest is absent");
+	}
+
+
+	static void testWholeValues() throws Exception
+	{
+		JSONObject jo = new JSONObject(TEXT, new JSONProjection("params.user", "tags"));
+		JSONObject all = new JSONObject(TEXT);
+		Check.equal(all.getJSONObject("params").getJSONObject("user").toString(), jo.getJSONObject("params").getJSONObject("user").toString());
+		Check.equal(all.getJSONArray("tags").toString(), jo.getJSONArray("tags").toString());
+		Check.that(!jo.has("method") && jo.getJSONObject("params").length() == 1, "the rest is absent");
+	}
+
+
+	static void testIndexes() throws Exception
+	{
+		JSONObject jo = new JSONObject(TEXT, new JSONProjection("tags[1]", "tags[3].t", "params.items[1].qty"));
+		Check.equal("[null,\"t1\",null,{\"t\":3}]", jo.getJSONArray("tags").toString());
+		Check.equal("[null,{\"qty\":1}]", jo.getJSONObject("params").getJSONArray("items").toString());
+		JSONObject past = new JSONObject(TEXT, new JSONProjection("tags[9]", "method[0]", "params.user.id.x"));
+		Check.equal("{\"params\":{\"user\":{}},\"tags\":[]}", past.toString());
+	}
+
+
+	/** An element that is not selected is skipped without being decoded, so a limit on decoded strings is not met. */
+	static void testUnselectedElementsAreNotDecoded() throws Exception
+	{
+		String text = "{\"a\":[\"a string too long\",2,\"another too long\",[\"too long\"]],\"b\":\"too long\"}";
+		JSONParserOptions options = new JSONParserOptions().setMaxStringLength(5);
+		JSONTokener x = new JSONTokener(text);
+		x.setOptions(options);
+		JSONObject jo = new JSONObject();
+		jo.parse(x, new JSONProjection("a[1]"));
+		Check.equal("{\"a\":[null,2]}", jo.toString());
+		JSONTokener y = new JSONTokener(text);
+		y.setOptions(options);
+		Check.fails(JSONException.class, () -> new JSONObject().parse(y, new JSONProjection("a[2]")));
+	}
+
+
+	/** Elided elements, and a trailing comma, count as they do in a full parse. */
+	static void testLenientArrays() throws Exception
+	{
+		for (String array : new String[] {"[1,,3]", "[,1]", "[1,2,]", "[]", "[ ]", "[1;2]", "[#c\n1]"})
+		{
+			JSONArray all = new JSONObject("{\"a\":" + array + "}").getJSONArray("a");
+			Check.equal(all.toString(), new JSONObject("{\"a\":" + array + "}", new JSONProjection("a[*]")).getJSONArray("a").toString());
+			JSONArray last = new JSONObject("{\"a\":" + array + ",\"b\":1}", new JSONProjection("a[" + Math.max(0, all.length() - 1) + "]", "b")).getJSONArray("a");
+			Check.equal(all.length(), last.length());
+			if (all.length() > 0) { Check.equal(all.opt(all.length() - 1), last.opt(all.length() - 1)); }
+		}
+	}
+
+
+	static void testBadPaths()
+	{
+		for (String path : new String[] {"", "a.", ".a", "a..b", "a[", "a[x]", "a[-1]", "a[0]b"})
+		{
+			Check.fails(IllegalArgumentException.class, () -> new JSONProjection(path));
+		}
+	}
+
+
+	static void testRoutingOfARequest() throws Exception
+	{
+		String text = "{\"jsonrpc\":\"2.0\",\"id\":\"9\",\"method\":\"sum\",\"params\":{\"values\":[1,2,3],\"big\":\"" + "x".repeat(1000) + "\"}}";
+		RPCRequest routed = new RPCRequest(new JSONTokener(text), RPCRequest.ROUTING);
+		Check.equal("sum", routed.getRpcMethod());
+		Check.equal("9", routed.getRpcID());
+		Check.equal("2.0", routed.getRpcVersion());
+		Check.equal(0, routed.getRpcParams().length());
+		Check.that(!routed.has("params"), "the params are absent");
+		RPCRequest some = new RPCRequest(text, new JSONProjection("method", "params.values[1]"));
+		Check.equal("{\"values\":[null,2]}", some.getRpcParams().toString());
+		Check.equal(null, some.getRpcID());
+		Check.fails(JSONException.class, () -> new RPCRequest(text, new JSONProjection("id")));
+		RPCRequest full = new RPCRequest(text);
+		Check.equal(3, full.getRpcParams().getJSONArray("values").length());
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.augur.json;
+
+/**
+ * Tests of JSONReader.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONReaderTest
+{
+	static void testQuotedStrings() throws Exception
+	{
+		JSONReader r = new JSONReader("[\"a\", 'b', 1]");
+		Check.equal(JSONReader.Event.START_ARRAY, r.next());
+		Check.equal(JSONReader.Event.VALUE_STRING, r.next());
+		Check.equal("a", r.getString());
+		Check.equal(JSONReader.Event.VALUE_STRING, r.next());
+		Check.equal("b", r.getString());
+		Check.equal(JSONReader.Event.VALUE_NUMBER, r.next());
+		Check.equal(1, r.getInt());
+		Check.equal(JSONReader.Event.END_ARRAY, r.next());
+	}
+
+
+	static void testSingleQuoteIsAnErrorWhenStrict() throws Exception
+	{
+		JSONTokener x = new JSONTokener("[\"a\", 'b']");
+		x.setOptions(JSONParserOptions.strict());
+		JSONReader r = new JSONReader(x);
+		Check.equal(JSONReader.Event.START_ARRAY, r.next());
+		Check.equal(JSONReader.Event.VALUE_STRING, r.next());
+		Check.fails(JSONException.class, r::next);
+	}
+
+}
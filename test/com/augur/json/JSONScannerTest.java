@@ -0,0 +1,147 @@
+package com.augur.json;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Tests of JSONVectorScanner against the scalar JSONScanner, with the chars
+ * they look for at every offset around the width of a SIMD register.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONScannerTest
+{
+	/** More chars or bytes than any SIMD register holds (64 bytes with AVX-512). */
+	private static final int LANES = 64;
+
+	/** The lengths of text to scan: around each width a SIMD register may have, in chars or bytes, and twice the widest. */
+	private static final int[] LENGTHS = {0, 1, 2, 3, 7, 8, 9, 15, 16, 17, 31, 32, 33, 63, 64, 65, 127, 128, 129, 131};
+
+	/** Chars that end a run of plain chars in a string quoted by '"', or (for the last few) that do not. */
+	private static final char[] CHARS = {'"', '\\', '\0', '\n', '\u001f', '\'', ' ', '\u007f', '\u0080', '\u00ff', '\u0100', '\u2028', '\uffe0', '\uffff'};
+
+	/** Bytes that end a run of plain bytes in a string quoted by '"', or (for the last few) that do not. */
+	private static final byte[] BYTES = {'"', '\\', 0, '\n', 0x1f, (byte)0x80, (byte)0xc3, (byte)0xff, '\'', ' ', 0x7f};
+
+
+	private static JSONScanner vector()
+	{
+		Check.equal(JSONVectorScanner.class, JSONScanner.INSTANCE.getClass()); // the tests run with jdk.incubator.vector
+		return JSONScanner.INSTANCE;
+	}
+
+
+	/** @return The offsets within text of the given length of those given. */
+	private static int[] within(int length, int... offsets)
+	{
+		return Arrays.stream(offsets).filter(i -> i >= 0 && i <= length).distinct().toArray();
+	}
+
+
+	/** @return Offsets at which to start a scan of text of the given length, with a char of interest at the given offset. */
+	private static int[] starts(int length, int at)
+	{
+		return within(length, 0, 1, LANES / 4 - 1, LANES / 2 - 1, LANES - 1, LANES + 1, at);
+	}
+
+
+	/** @return Offsets at which to stop a scan of text of the given length, with a char of interest at the given offset. */
+	private static int[] ends(int length, int at)
+	{
+		return within(length, length, length - 1, at + 1);
+	}
+
+
+	static void testChars() throws Exception
+	{
+		JSONScanner scalar = new JSONScanner();
+		JSONScanner vector = vector();
+		for (int length : LENGTHS)
+		{
+			char[] text = new char[length];
+			for (int at = 0; at < Math.max(length, 1); at += 1)
+			{
+				for (char c : CHARS)
+				{
+					Arrays.fill(text, 'a');
+					if (at < length) { text[at] = c; }
+					for (int from : starts(length, at))
+					{
+						for (int to : ends(length, at))
+						{
+							if (to < from) { continue; }
+							char quote = (at + from) % 2 == 0 ? '"' : '\''; // so each of the quotes is and is not the char
+							{
+								int expected = at >= from && at < to && (c == quote || c == '\\' || c < ' ') ? at : to;
+								Check.equal(expected, scalar.scanString(text, from, to, quote));
+								Check.equal(expected, vector.scanString(text, from, to, quote));
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+
+	static void testBytes() throws Exception
+	{
+		JSONScanner scalar = new JSONScanner();
+		JSONScanner vector = vector();
+		for (int length : LENGTHS)
+		{
+			byte[] text = new byte[length];
+			ByteBuffer heap = ByteBuffer.wrap(text);
+			ByteBuffer direct = ByteBuffer.allocateDirect(length);
+			for (int at = 0; at < Math.max(length, 1); at += 1)
+			{
+				for (byte b : BYTES)
+				{
+					Arrays.fill(text, (byte)'a');
+					if (at < length) { text[at] = b; }
+					direct.clear();
+					direct.put(text);
+					for (int from : starts(length, at))
+					{
+						for (int to : ends(length, at))
+						{
+							if (to < from) { continue; }
+							char quote = (at + from) % 2 == 0 ? '"' : '\''; // so each of the quotes is and is not the char
+							{
+								int expected = at >= from && at < to && (b == quote || b == '\\' || b < ' ') ? at : to;
+								Check.equal(expected, scalar.scanString(text, from, to, quote));
+								Check.equal(expected, vector.scanString(text, from, to, quote));
+								Check.equal(expected, vector.scanString(heap, from, to, quote));
+								Check.equal(expected, vector.scanString(direct, from, to, quote));
+								Check.equal(expected, scalar.scanString(direct, from, to, quote));
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+
+	/** The first of several chars of interest is found, however many registers are scanned before it. */
+	static void testFirstOfMany() throws Exception
+	{
+		JSONScanner vector = vector();
+		char[] chars = new char[3 * LANES];
+		byte[] bytes = new byte[3 * LANES];
+		for (int first = 0; first < chars.length; first += 1)
+		{
+			Arrays.fill(chars, 'a');
+			Arrays.fill(bytes, (byte)'a');
+			for (int i = first; i < chars.length; i += 3)
+			{
+				chars[i] = i % 2 == 0 ? '"' : '\t';
+				bytes[i] = i % 2 == 0 ? (byte)'\\' : (byte)0xe2;
+			}
+			Check.equal(first, vector.scanString(chars, 0, chars.length, '"'));
+			Check.equal(first, vector.scanString(bytes, 0, bytes.length, '"'));
+			Check.equal(first, vector.scanString(ByteBuffer.wrap(bytes), 0, bytes.length, '"'));
+		}
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.augur.json;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests of JSONShape, the shared keys of JSONObjects.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONShapeTest
+{
+	/** Start a new tree of shapes, as the other tests may have filled the fan-out of the root. */
+	private static void newTree() throws Exception
+	{
+		Constructor<JSONShape> shape = JSONShape.class.getDeclaredConstructor(String[].class, AtomicInteger.class);
+		shape.setAccessible(true);
+		Field root = JSONShape.class.getDeclaredField("root");
+		root.setAccessible(true);
+		root.set(null, shape.newInstance(new String[0], new AtomicInteger()));
+	}
+
+
+	static void testObjectsWithTheSameKeysShareAShape() throws Exception
+	{
+		newTree();
+		JSONShape ab = JSONShape.empty().with("a").with("b");
+		Check.that(ab == JSONShape.empty().with("a").with("b"), "the same shape");
+		Check.that(ab != JSONShape.empty().with("b").with("a"), "another shape for another order");
+		Check.equal(1, ab.slot("b"));
+		Check.equal(-1, ab.slot("c"));
+		Check.that(ab.without(0) == JSONShape.empty().with("b"), "the shape without a key is from the tree");
+	}
+
+
+	/** Filling the tree with shapes that are never used again starts a new tree, in which shapes are shared again. */
+	static void testAFullTreeIsReplaced() throws Exception
+	{
+		newTree();
+		JSONShape first = JSONShape.empty();
+		JSONShape kept = first.with("kept");
+		int made = 0;
+		for (int i = 0; JSONShape.empty() == first; i += 1)
+		{
+			// 32 keys under each of 32 keys under each of 32 keys, more than a tree holds
+			first.with("x" + (i >> 10)).with("y" + ((i >> 5) & 31)).with("z" + (i & 31));
+			made += 1;
+			Check.that(made <= JSONShape.MAX_SHAPES, "a new tree by the time the old one is full");
+		}
+		JSONShape second = JSONShape.empty();
+		Check.that(second.size() == 0 && second != first, "a new empty tree");
+		Check.that(second.with("a").with("b") == second.with("a").with("b"), "shapes are shared in the new tree");
+		Check.that(kept == first.with("kept"), "shapes of the old tree are still found in it");
+		Check.equal(0, kept.slot("kept"));
+
+		JSONObject o = new JSONObject().put("p", 1).put("q", 2);
+		JSONObject p = new JSONObject().put("p", 3).put("q", 4);
+		Check.equal("{\"p\":1,\"q\":2}", o.toString());
+		Check.equal("{\"p\":3,\"q\":4}", p.toString());
+	}
+
+}
@@ -0,0 +1,227 @@
+package com.augur.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Tests of JSONSmallMap, the Map behind a JSONObject with few keys.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONSmallMapTest
+{
+	/** @return True if the map has switched to holding its entries in a HashMap. */
+	private static boolean inflated(JSONSmallMap map) throws Exception
+	{
+		Field delegate = JSONSmallMap.class.getDeclaredField("delegate");
+		delegate.setAccessible(true);
+		return delegate.get(map) != null;
+	}
+
+
+	private static JSONSmallMap map(String... keys)
+	{
+		JSONSmallMap map = new JSONSmallMap();
+		for (int i = 0; i < keys.length; i += 1) { map.put(keys[i], i); }
+		return map;
+	}
+
+
+	private static List<String> keys(Map<String,Object> map)
+	{
+		return new ArrayList<>(map.keySet());
+	}
+
+
+	static void testRemoveThroughTheIteratorOfKeys() throws Exception
+	{
+		JSONObject jo = new JSONObject("{\"a\":1,\"b\":2,\"c\":3,\"d\":4}");
+		Iterator<?> keys = jo.keys();
+		while (keys.hasNext())
+		{
+			Object key = keys.next();
+			if (key.equals("b") || key.equals("d")) { keys.remove(); }
+		}
+		Check.equal("{\"a\":1,\"c\":3}", jo.toString());
+		JSONSmallMap map = map("a", "b", "c");
+		Iterator<String> it = map.keySet().iterator();
+		Check.fails(IllegalStateException.class, it::remove);
+		it.next();
+		it.remove();
+		Check.fails(IllegalStateException.class, it::remove);
+		Check.equal("b", it.next());
+		Check.equal(List.of("b", "c"), keys(map));
+		Check.equal(1, map.get("b"));
+		Iterator<Object> values = map.values().iterator();
+		values.next();
+		values.remove();
+		Check.equal(Map.of("c", 2), map);
+	}
+
+
+	static void testSetValueOfAnEntry() throws Exception
+	{
+		JSONSmallMap map = map("a", "b", "c");
+		Map.Entry<String,Object> c = null;
+		for (Map.Entry<String,Object> e : map.entrySet())
+		{
+			if (e.getKey().equals("b")) { Check.equal(1, e.setValue("B")); }
+			if (e.getKey().equals("c")) { c = e; }
+		}
+		Check.equal("B", map.get("b"));
+		map.remove("a"); // so c is no longer in the slot the entry was for
+		Check.equal(2, c.setValue("C"));
+		Check.equal(List.of("b", "c"), keys(map));
+		Check.equal("B", map.get("b"));
+		Check.equal("C", map.get("c"));
+	}
+
+
+	static void testRemoveThenPutMovesTheKeyToTheEnd() throws Exception
+	{
+		JSONSmallMap map = map("a", "b", "c");
+		Check.equal(0, map.remove("a"));
+		Check.equal(null, map.remove("a"));
+		map.put("a", 9);
+		Check.equal(List.of("b", "c", "a"), keys(map));
+		map.put("b", 8); // replacing a value keeps the order
+		Check.equal(List.of("b", "c", "a"), keys(map));
+		Check.equal(List.of(8, 2, 9), new ArrayList<>(map.values()));
+		JSONObject jo = new JSONObject("{\"x\":1,\"y\":2}");
+		jo.remove("x");
+		jo.put("x", 3);
+		Check.equal("{\"y\":2,\"x\":3}", jo.toString());
+	}
+
+
+	static void testSwitchToHashMapPastThreshold() throws Exception
+	{
+		JSONSmallMap map = new JSONSmallMap();
+		Map<String,Object> expected = new HashMap<>();
+		for (int i = 0; i < JSONSmallMap.THRESHOLD; i += 1)
+		{
+			map.put("key" + i, i);
+			expected.put("key" + i, i);
+		}
+		Check.that(!inflated(map), "no HashMap at the threshold");
+		Check.equal(expected, map);
+		map.put("key0", -1);
+		expected.put("key0", -1);
+		Check.that(!inflated(map), "replacing a value adds no key");
+		map.put("more", "x");
+		expected.put("more", "x");
+		Check.that(inflated(map), "a HashMap past the threshold");
+		Check.equal(expected, map);
+		Check.equal(JSONSmallMap.THRESHOLD + 1, map.size());
+		Check.equal(-1, map.remove("key0"));
+		expected.remove("key0");
+		Check.equal(expected, map);
+		map.clear();
+		Check.that(map.isEmpty() && inflated(map), "a HashMap, emptied");
+		map.put("a", 1);
+		Check.equal(Map.of("a", 1), map);
+	}
+
+
+	static void testClearAndReuse() throws Exception
+	{
+		JSONSmallMap map = map("a", "b", "c", "d", "e");
+		map.clear();
+		Check.that(map.isEmpty() && !map.containsKey("a") && map.get("a") == null, "empty");
+		Check.that(!map.entrySet().iterator().hasNext(), "nothing to iterate");
+		map.put("e", 1);
+		map.put("a", 2);
+		Check.equal(List.of("e", "a"), keys(map));
+		Check.equal(List.of(1, 2), new ArrayList<>(map.values()));
+		Check.that(!inflated(map), "no HashMap");
+	}
+
+
+	static void testConcurrentModification() throws Exception
+	{
+		JSONSmallMap map = map("a", "b", "c");
+		Iterator<String> keys = map.keySet().iterator();
+		keys.next();
+		map.put("a", 5); // not a structural change
+		keys.next();
+		map.put("d", 6);
+		Check.fails(ConcurrentModificationException.class, keys::next);
+		Iterator<Map.Entry<String,Object>> entries = map.entrySet().iterator();
+		entries.next();
+		map.remove("d");
+		Check.fails(ConcurrentModificationException.class, entries::next);
+		Check.fails(ConcurrentModificationException.class, entries::remove);
+		Iterator<Object> values = map.values().iterator();
+		values.next();
+		for (int i = 0; i < JSONSmallMap.THRESHOLD; i += 1) { map.put("k" + i, i); }
+		Check.that(inflated(map), "a HashMap past the threshold");
+		Check.fails(ConcurrentModificationException.class, values::next);
+	}
+
+
+	static void testSerialization() throws Exception
+	{
+		JSONSmallMap small = map("a", "b");
+		small.put("n", null);
+		JSONSmallMap big = new JSONSmallMap();
+		for (int i = 0; i <= JSONSmallMap.THRESHOLD; i += 1) { big.put("k" + i, i); }
+		JSONObject jo = new JSONObject("{\"x\":1,\"y\":[1,2],\"z\":{\"w\":\"v\"}}");
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+		{
+			out.writeObject(small);
+			out.writeObject(big);
+			out.writeObject(jo.getJSONObject("z"));
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+		{
+			Object copy = in.readObject();
+			Check.equal(HashMap.class, copy.getClass());
+			Check.equal(small, copy);
+			Check.that(((Map<?,?>)copy).containsKey("n"), "the null value is kept");
+			Check.equal(big, in.readObject());
+			Check.equal("v", ((JSONObject)in.readObject()).getString("w"));
+		}
+	}
+
+
+	/** Random puts and removes must leave a JSONSmallMap equal to a LinkedHashMap, in the same order until it switches to a HashMap. */
+	static void testSameAsLinkedHashMap() throws Exception
+	{
+		Random random = new Random(42);
+		for (int round = 0; round < 200; round += 1)
+		{
+			JSONSmallMap map = new JSONSmallMap();
+			Map<String,Object> expected = new LinkedHashMap<>();
+			int keys = 4 + random.nextInt(round % 2 == 0 ? 20 : 100);
+			for (int step = 0; step < 300; step += 1)
+			{
+				String key = "k" + random.nextInt(keys);
+				int op = random.nextInt(10);
+				if (op < 6) { Check.equal(expected.put(key, step), map.put(key, step)); }
+				else if (op < 9) { Check.equal(expected.remove(key), map.remove(key)); }
+				else if (random.nextInt(20) == 0)
+				{
+					expected.clear();
+					map.clear();
+				}
+				Check.equal(expected.size(), map.size());
+				Check.equal(expected.containsKey(key), map.containsKey(key));
+				if (!inflated(map)) { Check.equal(new ArrayList<>(expected.entrySet()), new ArrayList<>(map.entrySet())); }
+			}
+			Check.equal(expected, map);
+		}
+	}
+
+}
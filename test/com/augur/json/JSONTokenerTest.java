@@ -0,0 +1,194 @@
+package com.augur.json;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests of JSONTokener.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class JSONTokenerTest
+{
+	/**
+	 * @return A tokener for a subclass that supplies '[', then spaces, then "1]", of the given length in all.
+	 */
+	private static JSONTokener spaces(long length)
+	{
+		return new JSONTokener()
+		{
+			private long count;
+
+			@Override protected int read()
+			{
+				long n = ++this.count;
+				if (n == 1) { return '['; }
+				if (n < length - 1) { return ' '; }
+				if (n == length - 1) { return '1'; }
+				return n == length ? ']' : -1;
+			}
+		};
+	}
+
+
+	/**
+	 * @return A tokener for a subclass that supplies "[1", then counts its index on past 2^31
+	 * chars in a few jumps, as if it had read that many spaces, then supplies "]".
+	 */
+	private static JSONTokener past2GChars()
+	{
+		return new JSONTokener()
+		{
+			private int count;
+
+			@Override protected int read()
+			{
+				int n = ++this.count;
+				if (n == 1) { return '['; }
+				if (n == 2) { return '1'; }
+				if (n < 6)
+				{
+					skipped(1 << 30, ' ');
+					return ' ';
+				}
+				return n == 6 ? ']' : -1;
+			}
+		};
+	}
+
+
+	static void testReadPast2GChars() throws Exception
+	{
+		JSONTokener x = past2GChars();
+		x.setOptions(new JSONParserOptions()); // no limit on the length, though there are options
+		JSONArray a = new JSONArray(x);
+		Check.equal(1, a.length());
+		Check.equal(1, a.getInt(0));
+		JSONTokener y = past2GChars();
+		y.setOptions(new JSONParserOptions().setMaxLength(Integer.MAX_VALUE - 1));
+		Check.fails(JSONException.class, () -> new JSONArray(y));
+	}
+
+
+	static void testMaxLengthOfReader() throws Exception
+	{
+		JSONTokener x = new JSONTokener(new StringReader("[1, 2, 3, 4, 5, 6, 7, 8]"));
+		x.setOptions(new JSONParserOptions().setMaxLength(10));
+		Check.fails(JSONException.class, () -> new JSONArray(x));
+		Check.equal(8, new JSONArray(new JSONTokener(new StringReader("[1, 2, 3, 4, 5, 6, 7, 8]"))).length());
+		for (int max = 6; max <= 8; max += 1)
+		{
+			// the end of a text of exactly maxLength chars is not a char past it
+			JSONParserOptions options = new JSONParserOptions().setMaxLength(max);
+			JSONTokener reader = new JSONTokener(new StringReader("[1,2,3]"));
+			reader.setOptions(options);
+			JSONTokener string = new JSONTokener("[1,2,3]");
+			string.setOptions(options);
+			if (max < 7)
+			{
+				Check.fails(JSONException.class, () -> new JSONArray(reader));
+				Check.fails(JSONException.class, () -> new JSONArray(string));
+			}
+			else
+			{
+				Check.equal(3, new JSONArray(reader).length());
+				Check.equal(3, new JSONArray(string).length());
+			}
+		}
+	}
+
+
+	static void testMaxLengthOfSubclass()
+	{
+		JSONTokener x = spaces(100);
+		x.setOptions(new JSONParserOptions().setMaxLength(50));
+		Check.fails(JSONException.class, () -> new JSONArray(x));
+	}
+
+
+	/** @return The message of the syntax error in the text, parsed as an object by the tokener. */
+	private static String error(JSONTokener x)
+	{
+		return Check.fails(JSONException.class, () -> new JSONObject(x)).getMessage();
+	}
+
+
+	static void testPositionOfReaderMatchesString()
+	{
+		for (String s : new String[] {"{\n  \"a\" 1}", "[1,\n2\n", "{\"a\":\n}", "{\r\n\"a\":1\r\n\"b\"}"})
+		{
+			Check.equal(error(new JSONTokener(s)), error(new JSONTokener(new StringReader(s))));
+		}
+		Check.that(error(new JSONTokener("{\n  \"a\" 1}")).endsWith("[character 7 line 2]"), "column of the char stepped back over");
+	}
+
+
+	/** @return Tokeners of the text from a String, a Reader and UTF-8 bytes. */
+	private static JSONTokener[] sources(String text)
+	{
+		return new JSONTokener[] {new JSONTokener(text), new JSONTokener(new StringReader(text)), new JSONByteTokener(text.getBytes(StandardCharsets.UTF_8))};
+	}
+
+
+	/** @return The rest of the text, which the tokener has not read. */
+	private static String rest(JSONTokener x) throws JSONException
+	{
+		StringBuilder sb = new StringBuilder();
+		for (char c = x.next(); !x.end(); c = x.next()) { sb.append(c); }
+		return sb.toString();
+	}
+
+
+	/** skipValue() must leave the tokener just past the value, where nextValue() leaves it. */
+	static void testSkipValue() throws Exception
+	{
+		String[][] cases = { // a value, and the text after it
+			{"{\"a\":{\"b\":[1,{\"c\":[]}]},\"d\":2}", ",next"},
+			{"[[[]],[{}],{\"a\":[[]]}]", "]"},
+			{"\"quoted \\\" } ] { [\"", ":1"},
+			{"'single \" ] }'", ",x"},
+			{"{\"s\":\"} ] \\\" { [\",\"t\":'\\' ]'}", " ,x"},
+			{"[\"\\\\\",\"a\\\\\\\"b\"]", "}"},
+			{"{a:b, c:[1,2], 'e':\"\\u005d\"}", ","},
+			{"[1, # a comment with ] } \" and '\n 2]", "\n]"},
+			{"  # a comment first ]\n [1]", ","},
+			{"{\"k\":\"\u00e9\ud83d\ude00 ]\"}", "\u00e9"},
+			{"[\"" + "x".repeat(10000) + "\\\"]\"]", "]"},
+			{"12.5e-3", ",2]"},
+			{"true", "}"},
+			{"-0", "#c\n]"},
+			{"unquoted text", ":v"}};
+		for (String[] c : cases)
+		{
+			for (JSONTokener x : sources(c[0] + c[1]))
+			{
+				x.skipValue();
+				Check.equal(c[1], rest(x));
+			}
+			for (JSONTokener x : sources(c[0] + c[1]))
+			{
+				x.nextValue();
+				Check.equal(c[1], rest(x));
+			}
+		}
+		JSONTokener x = new JSONTokener("[1,{\"a\":[2]},\"]\",4]");
+		Check.equal('[', x.next());
+		x.skipValue();
+		Check.equal(',', x.nextClean());
+		x.skipValue();
+		Check.equal(',', x.nextClean());
+		x.skipValue();
+		Check.equal(',', x.nextClean());
+		Check.equal(4, x.nextValue());
+	}
+
+
+	static void testSkipValueOfBadText()
+	{
+		for (String text : new String[] {"", "  # only a comment", "}", ",1", "[1,{\"a\":2]", "{\"a\":[1}", "\"abc", "'abc\"", "\"a\nb\"", "[\"a\\\"]"})
+		{
+			for (JSONTokener x : sources(text)) { Check.fails(JSONException.class, x::skipValue); }
+		}
+	}
+
+}
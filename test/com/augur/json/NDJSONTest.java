@@ -0,0 +1,127 @@
+package com.augur.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests of NDJSONReader and NDJSONWriter.
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+final class NDJSONTest
+{
+	/** A Reader that returns at most one char per read, as a slow stream may. */
+	private static Reader trickle(String text)
+	{
+		return new FilterReader(new StringReader(text))
+		{
+			@Override public int read(char[] buffer, int offset, int length) throws IOException
+			{
+				return super.read(buffer, offset, Math.min(length, 1));
+			}
+		};
+	}
+
+
+	static void testLinesBlanksAndComments() throws Exception
+	{
+		String text = "{\"a\":1}\n\n  # a comment\n{\"a\":2} # after\r\n[3]\n\"s\"\nnull\n";
+		for (Reader source : new Reader[] {new StringReader(text), trickle(text)})
+		{
+			NDJSONReader in = new NDJSONReader(source);
+			Check.equal("{\"a\":1}", in.nextValue().toString());
+			Check.equal("{\"a\":2}", in.nextValue().toString());
+			Check.equal("[3]", in.nextValue().toString());
+			Check.equal("s", in.nextValue());
+			Check.that(!in.end(), "not at the end before null");
+			Check.equal(null, in.nextValue());
+			Check.that(in.end(), "at the end");
+			Check.equal(null, in.nextValue());
+		}
+	}
+
+
+	static void testNextReusesTheObject() throws Exception
+	{
+		NDJSONReader in = new NDJSONReader(new ByteArrayInputStream("{\"a\":1,\"b\":2}\n{\"c\":3}".getBytes(StandardCharsets.UTF_8)));
+		JSONObject jo = new JSONObject();
+		Check.that(in.next(jo) == jo, "the same object");
+		Check.equal(2, jo.length());
+		Check.that(in.next(jo) == jo, "the same object");
+		Check.equal("{\"c\":3}", jo.toString());
+		Check.equal(null, in.next(jo));
+	}
+
+
+	static void testSkipLineAfterAnError() throws Exception
+	{
+		NDJSONReader in = new NDJSONReader(trickle("{\"a\":1} {\"b\":2}\n{\"a\" 1}\n{\"c\":3}\n"));
+		Check.fails(JSONException.class, in::next);
+		in.skipLine();
+		Check.fails(JSONException.class, in::next);
+		in.skipLine();
+		Check.equal("{\"c\":3}", in.next().toString());
+		Check.equal(null, in.next());
+	}
+
+
+	static void testLineNotAnObject() throws Exception
+	{
+		NDJSONReader in = new NDJSONReader(new StringReader("[1]\n{\"a\":1}\n"));
+		Check.fails(JSONException.class, in::next);
+		in.skipLine();
+		Check.equal("{\"a\":1}", in.next().toString());
+	}
+
+
+	static void testWriteAndReadBack() throws Exception
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (NDJSONWriter out = new NDJSONWriter(bytes, 0))
+		{
+			out.write(new JSONObject().put("text", "two\nlines \u00e9"));
+			out.write(new JSONArray().put(1).put("x"));
+			out.write((Object)null);
+			out.write(2.5);
+		}
+		String text = new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+		Check.equal("{\"text\":\"two\\nlines \u00e9\"}\n[1,\"x\"]\nnull\n2.5\n", text);
+		NDJSONReader in = new NDJSONReader(new ByteArrayInputStream(bytes.toByteArray()));
+		Check.equal("two\nlines \u00e9", in.next().getString("text"));
+		Check.equal("[1,\"x\"]", in.nextValue().toString());
+		Check.equal(null, in.nextValue());
+		Check.equal(2.5, in.nextValue());
+		Check.that(in.end(), "at the end");
+	}
+
+
+	static void testFlushEvery() throws Exception
+	{
+		int[] flushes = new int[1];
+		StringWriter sink = new StringWriter();
+		Writer counting = new Writer()
+		{
+			@Override public void write(char[] buffer, int offset, int length) { sink.write(buffer, offset, length); }
+			@Override public void flush() { flushes[0] += 1; }
+			@Override public void close() { }
+		};
+		NDJSONWriter out = new NDJSONWriter(counting, 2);
+		out.write(1);
+		Check.equal("", sink.toString());
+		out.write(2);
+		Check.equal("1\n2\n", sink.toString());
+		Check.equal(1, flushes[0]);
+		out.write(3);
+		Check.equal("1\n2\n", sink.toString());
+		out.close();
+		Check.equal("1\n2\n3\n", sink.toString());
+	}
+
+}
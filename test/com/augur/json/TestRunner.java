@@ -0,0 +1,80 @@
+package com.augur.json;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Runs the tests, with no framework: every static method named test...()
+ * with no parameters, of every class named ...Test under a directory of
+ * compiled classes.  A test fails by throwing (see Check).  The count of
+ * failures is printed, and the exit status is 1 if there were any.  The
+ * "test" target of the build runs this; or run it directly, e.g.
+ * <pre>java -cp classes com.augur.json.TestRunner classes [ClassNameTest ...]</pre>
+ *
+ * Copyright 2026 Augur Systems, Inc.  All rights reserved.
+ */
+public final class TestRunner
+{
+	private TestRunner() { }
+
+
+	/**
+	 * @param args The directory of the compiled test classes; then, optionally, the simple names of the test classes to run
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		Path root = Paths.get(args[0]);
+		List<String> only = Arrays.asList(args).subList(1, args.length);
+		List<String> names = new ArrayList<>();
+		try (Stream<Path> files = Files.walk(root))
+		{
+			files.map(p -> root.relativize(p).toString())
+				.filter(s -> s.endsWith("Test.class") && s.indexOf('$') < 0)
+				.map(s -> s.substring(0, s.length() - ".class".length()).replace('/', '.').replace('\\', '.'))
+				.filter(s -> only.isEmpty() || only.contains(s.substring(s.lastIndexOf('.') + 1)))
+				.sorted()
+				.forEach(names::add);
+		}
+		int run = 0, failed = 0;
+		for (String name : names)
+		{
+			Class<?> c;
+			try { c = Class.forName(name); }
+			catch (ClassNotFoundException e) { throw new IOException(e); }
+			Method[] methods = c.getDeclaredMethods();
+			Arrays.sort(methods, Comparator.comparing(Method::getName));
+			for (Method m : methods)
+			{
+				if (!m.getName().startsWith("test") || !Modifier.isStatic(m.getModifiers()) || m.getParameterCount() != 0) { continue; }
+				run += 1;
+				m.setAccessible(true);
+				long start = System.nanoTime();
+				try
+				{
+					m.invoke(null);
+					System.out.printf("ok   %s.%s (%d ms)%n", c.getSimpleName(), m.getName(), (System.nanoTime() - start) / 1000000);
+				}
+				catch (InvocationTargetException e)
+				{
+					failed += 1;
+					System.out.printf("FAIL %s.%s%n", c.getSimpleName(), m.getName());
+					e.getCause().printStackTrace(System.out);
+				}
+				catch (IllegalAccessException e) { throw new IllegalStateException(e); }
+			}
+		}
+		System.out.printf("%d tests, %d failed%n", run, failed);
+		if (failed > 0) { System.exit(1); }
+	}
+
+}